@@ -34,6 +34,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -106,6 +107,14 @@ public interface DiscordGuildMember extends JDAEntity<Member>, Mentionable {
      */
     CompletableFuture<Void> removeRole(@NotNull DiscordRole role);
 
+    /**
+     * Gives and takes the given roles from this member in a single request.
+     * @param rolesToAdd the roles to give
+     * @param rolesToRemove the roles to take
+     * @return a future
+     */
+    CompletableFuture<Void> modifyRoles(@NotNull Collection<DiscordRole> rolesToAdd, @NotNull Collection<DiscordRole> rolesToRemove);
+
     /**
      * Gets the effective name of this Discord server member.
      * @return the Discord server member's effective name
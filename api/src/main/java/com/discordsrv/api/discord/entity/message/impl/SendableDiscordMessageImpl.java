@@ -388,6 +388,11 @@ public class SendableDiscordMessageImpl implements SendableDiscordMessage {
                 throw new IllegalStateException("DiscordSRVApi not available");
             }
 
+            // The same placeholders are often used in multiple fields, only look them up once
+            return api.placeholderService().withLookupCache(() -> build(api));
+        }
+
+        private SendableDiscordMessage build(DiscordSRVApi api) {
             Function<String, String> placeholders = input -> {
                 if (input == null) {
                     return null;
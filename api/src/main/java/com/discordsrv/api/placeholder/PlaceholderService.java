@@ -28,6 +28,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -58,4 +59,15 @@ public interface PlaceholderService {
     @NotNull
     CharSequence getResultAsCharSequence(@Nullable Object result);
 
+    /**
+     * Runs the given supplier with placeholder lookups being cached on the current thread,
+     * placeholders that are looked up multiple times with the same context {@link Set} instance are only resolved once.
+     * Useful when replacing placeholders in multiple inputs with the same context, for example all the fields of a message.
+     *
+     * @param supplier the supplier to run with the lookup cache
+     * @return the value returned by the supplier
+     * @param <T> the type of the value
+     */
+    <T> T withLookupCache(@NotNull Supplier<T> supplier);
+
 }
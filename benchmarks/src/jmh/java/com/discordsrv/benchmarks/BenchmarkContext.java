@@ -0,0 +1,49 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.benchmarks;
+
+import com.discordsrv.api.placeholder.annotation.Placeholder;
+import com.discordsrv.api.placeholder.annotation.PlaceholderPrefix;
+
+/**
+ * Placeholder context resembling the player context used for chat messages.
+ */
+@PlaceholderPrefix("player_")
+public class BenchmarkContext {
+
+    @Placeholder("name")
+    public String name() {
+        return "Vankka";
+    }
+
+    @Placeholder("display_name")
+    public String displayName() {
+        return "[Admin] Vankka";
+    }
+
+    @Placeholder("uuid")
+    public String uuid() {
+        return "6c983d46-0631-48b8-9baf-5e33eb5ffec4";
+    }
+
+    @Placeholder("avatar_url")
+    public String avatarUrl() {
+        return "https://mc-heads.net/avatar/6c983d46-0631-48b8-9baf-5e33eb5ffec4";
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.benchmarks;
+
+import com.discordsrv.common.MockDiscordSRV;
+import com.discordsrv.common.channel.ChannelConfigHelper;
+import com.discordsrv.common.config.main.channels.base.BaseChannelConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Channel config lookups done for every forwarded message, from many threads at once.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class ChannelConfigBenchmark {
+
+    private ChannelConfigHelper channelConfig;
+
+    @Setup
+    public void setup() throws SerializationException {
+        channelConfig = MockDiscordSRV.INSTANCE.channelConfig();
+        channelConfig.reload();
+    }
+
+    @Benchmark
+    public void getAllChannels(Blackhole blackhole) {
+        for (BaseChannelConfig config : channelConfig.getAllChannels()) {
+            blackhole.consume(config);
+        }
+    }
+
+    @Benchmark
+    public BaseChannelConfig resolveDifferentCase() {
+        // Misses the exact lookup, uses the case-insensitive lookup
+        return channelConfig.resolve("discordsrv", "GLOBAL");
+    }
+}
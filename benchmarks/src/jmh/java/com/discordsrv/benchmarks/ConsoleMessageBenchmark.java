@@ -0,0 +1,60 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.benchmarks;
+
+import com.discordsrv.common.DiscordSRV;
+import com.discordsrv.common.MockDiscordSRV;
+import com.discordsrv.common.console.message.ConsoleMessage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConsoleMessage} parses every console line forwarded to a Discord console channel.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConsoleMessageBenchmark {
+
+    private static final String PLAIN = "[12:00:00 INFO]: Vankka joined the game";
+    private static final String ANSI = "\u001B[0;33;1m[12:00:00 \u001B[0;32;22mINFO\u001B[0;33;1m]: \u001B[0;37;22mVankka joined the game\u001B[m";
+    private static final String LEGACY = "§e[12:00:00 §aINFO§e]: §x§f§f§0§0§0§0Vankka §rjoined the game";
+
+    private DiscordSRV discordSRV;
+
+    @Setup
+    public void setup() {
+        discordSRV = MockDiscordSRV.INSTANCE;
+    }
+
+    @Benchmark
+    public String plainToMarkdown() {
+        return new ConsoleMessage(discordSRV, PLAIN).asMarkdown();
+    }
+
+    @Benchmark
+    public String ansiToAnsi() {
+        return new ConsoleMessage(discordSRV, ANSI).asAnsi();
+    }
+
+    @Benchmark
+    public String legacyToPlain() {
+        return new ConsoleMessage(discordSRV, LEGACY).asPlain();
+    }
+}
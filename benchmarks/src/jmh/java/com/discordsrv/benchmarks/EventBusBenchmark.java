@@ -0,0 +1,151 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.benchmarks;
+
+import com.discordsrv.api.event.bus.EventBus;
+import com.discordsrv.api.event.bus.EventPriority;
+import com.discordsrv.api.event.bus.Subscribe;
+import com.discordsrv.api.event.events.Cancellable;
+import com.discordsrv.api.event.events.Event;
+import com.discordsrv.common.MockDiscordSRV;
+import net.dv8tion.jda.api.events.GenericEvent;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EventBus#publish(GenericEvent)} is called for every gateway event received from Discord,
+ * {@link EventBus#publish(Event)} for every message being forwarded.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EventBusBenchmark {
+
+    /**
+     * The amount of listeners that are subscribed to unrelated events.
+     */
+    @Param({"10", "200"})
+    public int unrelatedListeners;
+
+    private final List<Object> subscribed = new ArrayList<>();
+    private EventBus eventBus;
+    private MatchingListener matchingListener;
+
+    @Setup
+    public void setup() {
+        eventBus = MockDiscordSRV.INSTANCE.eventBus();
+
+        for (int i = 0; i < unrelatedListeners; i++) {
+            subscribe(new UnrelatedListener());
+        }
+        subscribe(matchingListener = new MatchingListener());
+    }
+
+    private void subscribe(Object listener) {
+        eventBus.subscribe(listener);
+        subscribed.add(listener);
+    }
+
+    @TearDown
+    public void tearDown() {
+        subscribed.forEach(eventBus::unsubscribe);
+        subscribed.clear();
+    }
+
+    @Benchmark
+    public void publishGenericEvent(Blackhole blackhole) {
+        eventBus.publish(new BenchmarkGatewayEvent());
+        blackhole.consume(matchingListener.received);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public void publishGenericEventBurst(Blackhole blackhole) {
+        for (int i = 0; i < 100; i++) {
+            eventBus.publish(new BenchmarkGatewayEvent());
+        }
+        blackhole.consume(matchingListener.received);
+    }
+
+    @Benchmark
+    public void publishCancellableEvent(Blackhole blackhole) {
+        BenchmarkCancellableEvent event = new BenchmarkCancellableEvent();
+        eventBus.publish(event);
+        blackhole.consume(event.isCancelled());
+    }
+
+    public static class BenchmarkGatewayEvent extends net.dv8tion.jda.api.events.Event {
+
+        @SuppressWarnings("DataFlowIssue") // JDA isn't used by the listeners
+        public BenchmarkGatewayEvent() {
+            super(null, 0);
+        }
+    }
+
+    public static class BenchmarkCancellableEvent implements Cancellable {
+
+        private boolean cancelled;
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void setCancelled(boolean cancelled) {
+            this.cancelled = cancelled;
+        }
+    }
+
+    public static class UnrelatedEvent implements Event {}
+
+    public static class UnrelatedListener {
+
+        @Subscribe
+        public void onUnrelated(UnrelatedEvent event) {}
+    }
+
+    public static class MatchingListener {
+
+        public long received = 0;
+
+        @Subscribe(priority = EventPriority.EARLY)
+        public void onGatewayEvent(BenchmarkGatewayEvent event) {
+            received++;
+        }
+
+        @Subscribe
+        public void onGenericEvent(GenericEvent event) {
+            received++;
+        }
+
+        @Subscribe(priority = EventPriority.EARLY)
+        public void onCancellableEarly(BenchmarkCancellableEvent event) {
+            event.setCancelled(true);
+        }
+
+        @Subscribe(priority = EventPriority.LATE, ignoreCancelled = true)
+        public void onCancellableLate(BenchmarkCancellableEvent event) {
+            received++;
+        }
+    }
+}
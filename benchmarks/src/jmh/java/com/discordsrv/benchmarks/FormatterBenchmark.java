@@ -0,0 +1,81 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.benchmarks;
+
+import com.discordsrv.api.discord.entity.message.DiscordMessageEmbed;
+import com.discordsrv.api.discord.entity.message.SendableDiscordMessage;
+import com.discordsrv.common.MockDiscordSRV;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SendableDiscordMessage.Formatter#build()} runs for every message forwarded to Discord.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FormatterBenchmark {
+
+    private SendableDiscordMessage.Builder chatFormat;
+    private SendableDiscordMessage.Builder embedFormat;
+    private BenchmarkContext context;
+
+    @Setup
+    public void setup() {
+        // Make sure the API instance is available
+        MockDiscordSRV.INSTANCE.placeholderService();
+        context = new BenchmarkContext();
+
+        chatFormat = SendableDiscordMessage.builder()
+                .setContent("%message%")
+                .setWebhookUsername("%player_display_name%")
+                .setWebhookAvatarUrl("%player_avatar_url%");
+
+        embedFormat = SendableDiscordMessage.builder()
+                .addEmbed(
+                        DiscordMessageEmbed.builder()
+                                .setAuthor("%player_display_name% joined", null, "%player_avatar_url%")
+                                .setTitle("%player_name%", null)
+                                .setDescription("**%player_display_name%** (%player_uuid%) joined the server")
+                                .addField("Player", "%player_name%", true)
+                                .addField("UUID", "%player_uuid%", true)
+                                .setFooter("%player_name%", "%player_avatar_url%")
+                                .build()
+                )
+                .setWebhookUsername("%player_display_name%")
+                .setWebhookAvatarUrl("%player_avatar_url%");
+    }
+
+    @Benchmark
+    public SendableDiscordMessage buildChatMessage() {
+        return chatFormat.toFormatter()
+                .addContext(context)
+                .addPlaceholder("message", "Hello **world**, this is a chat message")
+                .applyPlaceholderService()
+                .build();
+    }
+
+    @Benchmark
+    public SendableDiscordMessage buildEmbedMessage() {
+        return embedFormat.toFormatter()
+                .addContext(context)
+                .applyPlaceholderService()
+                .build();
+    }
+}
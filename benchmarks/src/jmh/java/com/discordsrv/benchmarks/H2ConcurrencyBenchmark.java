@@ -0,0 +1,132 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.benchmarks;
+
+import com.discordsrv.common.MockDiscordSRV;
+import com.discordsrv.common.storage.impl.sql.SQLStorage;
+import com.discordsrv.common.storage.impl.sql.file.H2ConnectionPool;
+import com.discordsrv.common.storage.impl.sql.file.H2Storage;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many threads looking up linked accounts from an embedded H2 database at the same time (like during a join storm),
+ * with a single connection versus a pool of connections.
+ */
+@State(Scope.Benchmark)
+@Threads(8)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class H2ConcurrencyBenchmark {
+
+    private static final int LINKS = 100_000;
+
+    /**
+     * The amount of connections in the pool, {@code 1} behaves like the previous single connection.
+     */
+    @Param({"1", "4"})
+    public int poolSize;
+
+    private H2ConnectionPool connectionPool;
+    private SQLStorage storage;
+    private UUID[] players;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        String url = "jdbc:h2:mem:concurrency_" + poolSize + ";DB_CLOSE_DELAY=-1";
+        connectionPool = new H2ConnectionPool(poolSize, () -> DriverManager.getConnection(url));
+        storage = new BenchmarkStorage(connectionPool);
+        storage.initialize();
+
+        players = new UUID[LINKS];
+        Connection connection = connectionPool.acquire();
+        try (PreparedStatement statement = connection.prepareStatement("insert into linked_accounts (PLAYER_UUID, USER_ID) values (?, ?);")) {
+            for (int i = 0; i < LINKS; i++) {
+                players[i] = UUID.randomUUID();
+                statement.setString(1, players[i].toString());
+                statement.setLong(2, i);
+                statement.addBatch();
+                if (i % 10_000 == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        } finally {
+            connectionPool.release(connection);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        Connection connection = connectionPool.acquire();
+        try (PreparedStatement statement = connection.prepareStatement("shutdown")) {
+            statement.execute();
+        }
+        connectionPool.close();
+    }
+
+    @Benchmark
+    public Long getUserId() {
+        return storage.getUserId(players[ThreadLocalRandom.current().nextInt(LINKS)]);
+    }
+
+    private static class BenchmarkStorage extends SQLStorage {
+
+        private final H2ConnectionPool connectionPool;
+
+        public BenchmarkStorage(H2ConnectionPool connectionPool) {
+            super(MockDiscordSRV.INSTANCE);
+            this.connectionPool = connectionPool;
+        }
+
+        @Override
+        protected String tablePrefix() {
+            return "";
+        }
+
+        @Override
+        public Connection getConnection() {
+            return connectionPool.acquire();
+        }
+
+        @Override
+        protected void releaseConnection(Connection connection) {
+            connectionPool.release(connection);
+        }
+
+        @Override
+        public boolean isAutoCloseConnections() {
+            return false;
+        }
+
+        @Override
+        public void createTables(Connection connection, String tablePrefix) throws SQLException {
+            new H2Storage(discordSRV).createTables(connection, tablePrefix);
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.benchmarks;
+
+import com.discordsrv.common.MockDiscordSRV;
+import com.discordsrv.common.storage.impl.sql.SQLStorage;
+import com.discordsrv.common.storage.impl.sql.file.H2Storage;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looking up linked accounts from an embedded H2 database, with and without the indexes added by the schema migrations.
+ * Also compares looking up every online player one by one against a single bulk lookup.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LinkStorageBenchmark {
+
+    private static final int LINKS = 500_000;
+    private static final int ONLINE_PLAYERS = 300;
+
+    /**
+     * If the schema migrations (and thus the indexes) should be applied.
+     */
+    @Param({"true", "false"})
+    public boolean migrated;
+
+    private Connection connection;
+    private SQLStorage storage;
+    private UUID[] players;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:links_" + migrated + ";DB_CLOSE_DELAY=-1");
+        storage = new BenchmarkStorage(connection);
+        if (migrated) {
+            storage.initialize();
+        } else {
+            storage.createTables(connection, "");
+        }
+
+        players = new UUID[LINKS];
+        try (PreparedStatement statement = connection.prepareStatement("insert into linked_accounts (PLAYER_UUID, USER_ID) values (?, ?);")) {
+            for (int i = 0; i < LINKS; i++) {
+                players[i] = UUID.randomUUID();
+                statement.setString(1, players[i].toString());
+                statement.setLong(2, i);
+                statement.addBatch();
+                if (i % 10_000 == 0) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("shutdown")) {
+            statement.execute();
+        }
+    }
+
+    @Benchmark
+    public Long getUserId() {
+        return storage.getUserId(players[ThreadLocalRandom.current().nextInt(LINKS)]);
+    }
+
+    @Benchmark
+    public UUID getPlayerUUID() {
+        return storage.getPlayerUUID(ThreadLocalRandom.current().nextInt(LINKS));
+    }
+
+    @Benchmark
+    public List<Long> getUserIdForOnlinePlayers() {
+        List<Long> userIds = new ArrayList<>(ONLINE_PLAYERS);
+        for (UUID player : onlinePlayers()) {
+            userIds.add(storage.getUserId(player));
+        }
+        return userIds;
+    }
+
+    @Benchmark
+    public Map<UUID, Long> getUserIdsForOnlinePlayers() {
+        return storage.getUserIds(onlinePlayers());
+    }
+
+    private List<UUID> onlinePlayers() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<UUID> onlinePlayers = new ArrayList<>(ONLINE_PLAYERS);
+        for (int i = 0; i < ONLINE_PLAYERS; i++) {
+            onlinePlayers.add(players[random.nextInt(LINKS)]);
+        }
+        return onlinePlayers;
+    }
+
+    private static class BenchmarkStorage extends SQLStorage {
+
+        private final Connection connection;
+
+        public BenchmarkStorage(Connection connection) {
+            super(MockDiscordSRV.INSTANCE);
+            this.connection = connection;
+        }
+
+        @Override
+        protected String tablePrefix() {
+            return "";
+        }
+
+        @Override
+        public Connection getConnection() {
+            return connection;
+        }
+
+        @Override
+        public boolean isAutoCloseConnections() {
+            return false;
+        }
+
+        @Override
+        public void createTables(Connection connection, String tablePrefix) throws SQLException {
+            new H2Storage(discordSRV).createTables(connection, tablePrefix);
+        }
+
+        @Override
+        public void close() {}
+    }
+}
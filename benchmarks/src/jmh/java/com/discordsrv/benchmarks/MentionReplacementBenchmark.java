@@ -0,0 +1,93 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.benchmarks;
+
+import com.discordsrv.api.placeholder.util.Placeholders;
+import com.discordsrv.common.messageforwarding.game.minecrafttodiscord.MentionCachingModule;
+import com.discordsrv.common.messageforwarding.game.minecrafttodiscord.MentionMatcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Converting Minecraft mentions (eg. {@code @Vankka}) to Discord mentions, as done for every chat message.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MentionReplacementBenchmark {
+
+    private static final String MESSAGE = "hey @user5 and @user123, have a look at #channel7 @role2";
+
+    /**
+     * The amount of cached member mentions in the guild.
+     */
+    @Param({"100", "10000"})
+    public int members;
+
+    private List<MentionCachingModule.CachedMention> orderedMentions;
+    private List<Pattern> orderedPatterns;
+    private MentionMatcher matcher;
+
+    @Setup
+    public void setup() {
+        List<MentionCachingModule.CachedMention> mentions = new ArrayList<>();
+        long id = 0;
+        for (int i = 0; i < members; i++) {
+            mentions.add(new MentionCachingModule.CachedMention("@user" + i, "<@" + id + ">", id++));
+        }
+        for (int i = 0; i < 50; i++) {
+            mentions.add(new MentionCachingModule.CachedMention("@role" + i, "<@&" + id + ">", id++));
+            mentions.add(new MentionCachingModule.CachedMention("#channel" + i, "<#" + id + ">", id++));
+        }
+
+        // From longest to shortest, as done by MinecraftToDiscordChatModule
+        mentions.sort(Comparator.comparingInt(MentionCachingModule.CachedMention::searchLength).reversed());
+        orderedMentions = mentions;
+        orderedPatterns = new ArrayList<>(mentions.size());
+        for (MentionCachingModule.CachedMention mention : mentions) {
+            orderedPatterns.add(Pattern.compile(mention.searchString(), Pattern.LITERAL));
+        }
+
+        matcher = new MentionMatcher();
+        mentions.forEach(matcher::put);
+    }
+
+    @Benchmark
+    public String replaceMentionsMatcher() {
+        MentionCachingModule.CachedMention[] longestByStart = new MentionCachingModule.CachedMention[MESSAGE.length()];
+        matcher.findLongest(MESSAGE, longestByStart);
+        return MentionMatcher.replace(MESSAGE, longestByStart);
+    }
+
+    /**
+     * The previous approach of one literal pattern per mention, for comparison.
+     */
+    @Benchmark
+    public String replaceMentionsPatterns() {
+        Placeholders placeholders = new Placeholders(MESSAGE);
+        for (int i = 0; i < orderedMentions.size(); i++) {
+            placeholders.replaceAll(orderedPatterns.get(i), orderedMentions.get(i).mention());
+        }
+        return placeholders.toString();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.benchmarks;
+
+import com.discordsrv.api.placeholder.PlaceholderService;
+import com.discordsrv.common.MockDiscordSRV;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PlaceholderServiceBenchmark {
+
+    private static final String FORMAT = "[%player_display_name%] %player_name% (%player_uuid%): %unknown_placeholder%";
+
+    private PlaceholderService placeholderService;
+    private Set<Object> context;
+
+    @Setup
+    public void setup() {
+        placeholderService = MockDiscordSRV.INSTANCE.placeholderService();
+        context = Collections.singleton(new BenchmarkContext());
+    }
+
+    @Benchmark
+    public String replacePlaceholders() {
+        return placeholderService.replacePlaceholders(FORMAT, context);
+    }
+
+    @Benchmark
+    public String replacePlaceholdersNoMatches() {
+        return placeholderService.replacePlaceholders("A chat message without any placeholders in it", context);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.benchmarks;
+
+import com.discordsrv.api.placeholder.util.Placeholders;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PlaceholdersBenchmark {
+
+    private static final String INPUT = "%player_name%: hello there https://discord.gg/invite %message% %player_name%";
+    private static final Pattern URL_PATTERN = Pattern.compile("https?://\\S+");
+
+    @Benchmark
+    public String literalReplacements() {
+        return new Placeholders(INPUT)
+                .replace("%player_name%", "Vankka")
+                .replace("%message%", "this is a chat message")
+                .toString();
+    }
+
+    @Benchmark
+    public String patternReplacement() {
+        return new Placeholders(INPUT)
+                .replaceAll(URL_PATTERN, "<link>")
+                .toString();
+    }
+}
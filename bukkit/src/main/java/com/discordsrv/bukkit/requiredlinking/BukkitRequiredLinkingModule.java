@@ -36,6 +36,7 @@ import org.bukkit.event.player.*;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
@@ -117,11 +118,16 @@ public class BukkitRequiredLinkingModule extends ServerRequireLinkingModule<Bukk
     //
 
     private void handle(AsyncPlayerPreLoginEvent event, EventPriority priority) {
+        if (priority == EventPriority.LOWEST) {
+            prepareLogin(event.getUniqueId(), event.getName());
+        }
+
         handle(
                 "AsyncPlayerPreLoginEvent",
                 priority,
                 event.getUniqueId(),
                 event.getName(),
+                true,
                 () -> event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED ? event.getLoginResult().name() : null,
                 text -> event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER, text)
         );
@@ -134,6 +140,7 @@ public class BukkitRequiredLinkingModule extends ServerRequireLinkingModule<Bukk
                 priority,
                 player.getUniqueId(),
                 player.getName(),
+                false,
                 () -> event.getResult() != PlayerLoginEvent.Result.ALLOWED ? event.getResult().name() : null,
                 text -> event.disallow(PlayerLoginEvent.Result.KICK_OTHER, text)
         );
@@ -146,6 +153,7 @@ public class BukkitRequiredLinkingModule extends ServerRequireLinkingModule<Bukk
                 priority,
                 player.getUniqueId(),
                 player.getName(),
+                false,
                 () -> null,
                 player::kickPlayer
         );
@@ -156,6 +164,7 @@ public class BukkitRequiredLinkingModule extends ServerRequireLinkingModule<Bukk
             EventPriority priority,
             UUID playerUUID,
             String playerName,
+            boolean async,
             Supplier<String> alreadyBlocked,
             Consumer<String> disallow
     ) {
@@ -171,7 +180,9 @@ public class BukkitRequiredLinkingModule extends ServerRequireLinkingModule<Bukk
             return;
         }
 
-        Component kickReason = getBlockReason(playerUUID, playerName, true).join();
+        // Only AsyncPlayerPreLoginEvent may wait for the check (up to the configured timeout),
+        // the other events run on the main thread and use the result AsyncPlayerPreLoginEvent waited for
+        Component kickReason = getLoginBlockReason(playerUUID, playerName, true, async);
         if (kickReason != null) {
             disallow.accept(BukkitComponentSerializer.legacy().serialize(kickReason));
         }
@@ -184,6 +195,27 @@ public class BukkitRequiredLinkingModule extends ServerRequireLinkingModule<Bukk
     private final Map<UUID, Component> frozen = new ConcurrentHashMap<>();
     private final List<UUID> loginsHandled = new CopyOnWriteArrayList<>();
 
+    private void prepareLogin(UUID playerUUID, String playerName) {
+        if (discordSRV.isShutdown()) {
+            return;
+        } else if (!discordSRV.isReady()) {
+            try {
+                discordSRV.waitForStatus(DiscordSRV.Status.CONNECTED);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        BukkitRequiredLinkingConfig config = config();
+        if (!config.enabled) {
+            return;
+        }
+
+        // Wait for the check here (bounded by the configured timeout) while off the main thread,
+        // so that the PlayerLoginEvent & PlayerJoinEvent handlers see a completed result
+        prepareBlockReason(playerUUID, playerName, config.action == ServerRequiredLinkingConfig.Action.KICK).join();
+    }
+
     private boolean isFrozen(Player player) {
         return frozen.containsKey(player.getUniqueId());
     }
@@ -207,7 +239,9 @@ public class BukkitRequiredLinkingModule extends ServerRequireLinkingModule<Bukk
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerLogin(PlayerLoginEvent event) {
         if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
-            frozen.remove(event.getPlayer().getUniqueId());
+            UUID playerUUID = event.getPlayer().getUniqueId();
+            frozen.remove(playerUUID);
+            removePreparedBlockReason(playerUUID);
         }
     }
 
@@ -223,6 +257,7 @@ public class BukkitRequiredLinkingModule extends ServerRequireLinkingModule<Bukk
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerJoinMonitor(PlayerJoinEvent event) {
         UUID playerUUID = event.getPlayer().getUniqueId();
+        removePreparedBlockReason(playerUUID);
 
         Component blockReason = frozen.get(playerUUID);
         if (blockReason == null) {
@@ -240,12 +275,6 @@ public class BukkitRequiredLinkingModule extends ServerRequireLinkingModule<Bukk
     private void handleLogin(UUID playerUUID, String username) {
         if (discordSRV.isShutdown()) {
             return;
-        } else if (!discordSRV.isReady()) {
-            try {
-                discordSRV.waitForStatus(DiscordSRV.Status.CONNECTED);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
         }
 
         BukkitRequiredLinkingConfig config = config();
@@ -253,10 +282,36 @@ public class BukkitRequiredLinkingModule extends ServerRequireLinkingModule<Bukk
             return;
         }
 
-        Component blockReason = getBlockReason(playerUUID, username, false).join();
-        if (blockReason != null) {
-            frozen.put(playerUUID, blockReason);
+        // The check started during AsyncPlayerPreLoginEvent has completed by now,
+        // otherwise the player stays frozen until the check completes
+        CompletableFuture<Component> verdict = getOrPrepareBlockReason(playerUUID, username, false);
+        if (verdict.isDone()) {
+            Component blockReason = verdict.join();
+            if (blockReason != null) {
+                frozen.put(playerUUID, blockReason);
+            }
+            return;
         }
+
+        frozen.put(playerUUID, discordSRV.messagesConfig().minecraft.checkingLinkStatus.asComponent());
+        verdict.thenAccept(blockReason -> discordSRV.scheduler().runOnMainThread(() -> {
+            if (!frozen.containsKey(playerUUID)) {
+                // Login was denied while checking
+                return;
+            }
+            if (blockReason == null) {
+                frozen.remove(playerUUID);
+                return;
+            }
+
+            IPlayer player = discordSRV.playerProvider().player(playerUUID);
+            if (player != null) {
+                freeze(player, blockReason);
+            } else {
+                // Not joined yet, the message is sent on join
+                frozen.put(playerUUID, blockReason);
+            }
+        }));
     }
 
     @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
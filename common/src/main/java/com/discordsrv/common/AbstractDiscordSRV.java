@@ -32,6 +32,7 @@ import com.discordsrv.common.channel.GlobalChannelLookupModule;
 import com.discordsrv.common.channel.TimedUpdaterModule;
 import com.discordsrv.common.command.discord.DiscordCommandModule;
 import com.discordsrv.common.command.game.GameCommandModule;
+import com.discordsrv.common.command.game.commands.subcommand.reload.ConfigChangesResult;
 import com.discordsrv.common.command.game.commands.subcommand.reload.ReloadResults;
 import com.discordsrv.common.component.ComponentFactory;
 import com.discordsrv.common.config.configurate.manager.ConnectionConfigManager;
@@ -81,6 +82,7 @@ import com.discordsrv.common.placeholder.context.GlobalTextHandlingContext;
 import com.discordsrv.common.placeholder.result.ComponentResultStringifier;
 import com.discordsrv.common.presence.PresenceUpdaterModule;
 import com.discordsrv.common.profile.ProfileManager;
+import com.discordsrv.common.scheduler.StageGraph;
 import com.discordsrv.common.storage.Storage;
 import com.discordsrv.common.storage.StorageType;
 import com.discordsrv.common.storage.impl.MemoryStorage;
@@ -129,8 +131,19 @@ public abstract class AbstractDiscordSRV<
         MC extends MessagesConfig
 > implements DiscordSRV {
 
+    private static final String STAGE_SECURITY = "security";
+    private static final String STAGE_HIKARI_DEPENDENCY = "hikariDependency";
+    private static final String STAGE_STORAGE = "storage";
+    private static final String STAGE_MINECRAFTAUTH_DEPENDENCY = "minecraftAuthDependency";
+    private static final String STAGE_LINKED_ACCOUNT_PROVIDER = "linkedAccountProvider";
+    private static final String STAGE_DISCORD_CONNECTION = "discordConnection";
+    private static final String STAGE_READY = "ready";
+    private static final String STAGE_MODULES = "modules";
+    private static final String STAGE_DISCORD_COMMANDS = "discordCommands";
+
     private final AtomicReference<Status> status = new AtomicReference<>(Status.INITIALIZED);
     private final AtomicReference<Boolean> beenReady = new AtomicReference<>(false);
+    private boolean readyHeld = false;
 
     // DiscordSRVApi
     private EventBusImpl eventBus;
@@ -154,6 +167,7 @@ public abstract class AbstractDiscordSRV<
 
     private Storage storage;
     private LinkProvider linkProvider;
+    private volatile Map<String, Long> reloadTimings = Collections.emptyMap();
 
     // Version
     private UpdateChecker updateChecker;
@@ -385,6 +399,11 @@ public abstract class AbstractDiscordSRV<
         return discordConnectionManager;
     }
 
+    @Override
+    public final Map<String, Long> reloadTimings() {
+        return reloadTimings;
+    }
+
     // Config
     @Override
     public abstract ConnectionConfigManager<CC> connectionConfigManager();
@@ -489,15 +508,36 @@ public abstract class AbstractDiscordSRV<
         }
         if (status == Status.CONNECTED) {
             eventBus().publish(new DiscordSRVConnectedEvent());
-            synchronized (beenReady) {
-                if (!beenReady.get()) {
-                    eventBus.publish(new DiscordSRVReadyEvent());
-                    beenReady.set(true);
-                }
+            publishReady();
+        }
+    }
+
+    private void publishReady() {
+        synchronized (beenReady) {
+            if (!beenReady.get() && !readyHeld && status().isReady()) {
+                eventBus.publish(new DiscordSRVReadyEvent());
+                beenReady.set(true);
             }
         }
     }
 
+    /**
+     * Holds back {@link DiscordSRVReadyEvent}, which enables modules, while the Discord connection is made in parallel
+     * with setting up services the modules need.
+     */
+    private void holdReady() {
+        synchronized (beenReady) {
+            readyHeld = true;
+        }
+    }
+
+    private void releaseReady() {
+        synchronized (beenReady) {
+            readyHeld = false;
+        }
+        publishReady();
+    }
+
     @Override
     public void waitForStatus(Status statusToWaitFor, long time, TimeUnit unit) throws InterruptedException {
         long deadline = time > 0 ? System.currentTimeMillis() + unit.toMillis(time) : Long.MAX_VALUE;
@@ -627,6 +667,62 @@ public abstract class AbstractDiscordSRV<
         throw new StorageException("Unknown storage backend \"" + backend + "\"");
     }
 
+    private ReloadResult storageFailed(StorageException exception, boolean initial) {
+        exception.log(this);
+        logger().error("Failed to connect to storage");
+        if (initial) {
+            setStatus(Status.FAILED_TO_START);
+        }
+        return ReloadResults.STORAGE_CONNECTION_FAILED;
+    }
+
+    protected Storage createStorage(StorageType storageType) {
+        return storageType.storageFunction().apply(this);
+    }
+
+    private LinkedAccountConfig.Provider linkedAccountProvider() {
+        LinkedAccountConfig linkedAccountConfig = config().linkedAccounts;
+        if (linkedAccountConfig == null || !linkedAccountConfig.enabled) {
+            return null;
+        }
+
+        LinkedAccountConfig.Provider provider = linkedAccountConfig.provider;
+        if (provider == LinkedAccountConfig.Provider.AUTO) {
+            boolean permitMinecraftAuth = connectionConfig().minecraftAuth.allow;
+            provider = permitMinecraftAuth && onlineMode().isOnline() ? LinkedAccountConfig.Provider.MINECRAFTAUTH : LinkedAccountConfig.Provider.STORAGE;
+        }
+        return provider;
+    }
+
+    protected ReloadResult connectToDiscord(boolean initial) throws Throwable {
+        try {
+            if (discordConnectionManager.instance() != null) {
+                discordConnectionManager.reconnect().get();
+            } else {
+                discordConnectionManager.connect().get();
+            }
+            if (!initial) {
+                waitForStatus(Status.CONNECTED, 20, TimeUnit.SECONDS);
+                if (status() != Status.CONNECTED) {
+                    return ReloadResults.DISCORD_CONNECTION_FAILED;
+                }
+            } else {
+                JDA jda = jda();
+                if (jda != null) {
+                    try {
+                        jda.awaitReady();
+                    } catch (IllegalStateException ignored) {
+                        // JDA shutdown -> don't continue
+                        return ReloadResults.DISCORD_CONNECTION_FAILED;
+                    }
+                }
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+        return null;
+    }
+
     @MustBeInvokedByOverriders
     protected void disable() {
         Status status = this.status.get();
@@ -653,13 +749,28 @@ public abstract class AbstractDiscordSRV<
             logger().info("Reloading DiscordSRV...");
         }
 
+        ConfigChangesResult configChanges = null;
         if (flags.contains(ReloadFlag.CONFIG)) {
             try {
+                List<String> changedFiles = new ArrayList<>();
+
                 connectionConfigManager().load();
+                if (connectionConfigManager().lastLoadChanged()) {
+                    changedFiles.add(connectionConfigManager().filePath().getFileName().toString());
+                }
                 configManager().load();
+                if (configManager().lastLoadChanged()) {
+                    changedFiles.add(configManager().filePath().getFileName().toString());
+                }
                 messagesConfigManager().load();
+                for (MessagesConfigSingleManager<?> manager : messagesConfigManager().getAllManagers().values()) {
+                    if (manager.lastLoadChanged()) {
+                        changedFiles.add(manager.filePath().getFileName().toString());
+                    }
+                }
 
-                channelConfig().reload();
+                Set<String> changedChannels = channelConfig().reload(configManager().lastLoadChanged());
+                configChanges = new ConfigChangesResult(changedFiles, changedChannels);
             } catch (Throwable t) {
                 if (initial) {
                     setStatus(Status.FAILED_TO_LOAD_CONFIG);
@@ -669,6 +780,11 @@ public abstract class AbstractDiscordSRV<
         }
 
         List<ReloadResult> results = new ArrayList<>();
+        if (configChanges != null && !initial) {
+            logger().debug("Changed configuration files: " + configChanges.changedFiles()
+                                   + ", changed channels: " + configChanges.changedChannels());
+            results.add(configChanges);
+        }
         // Reload any modules that can be enabled before DiscordSRV is ready
         if (initial) {
             results.addAll(moduleManager().reload());
@@ -688,19 +804,26 @@ public abstract class AbstractDiscordSRV<
             return results;
         }
 
+        // Dependency downloads and the Discord connection run in parallel once the security check has passed,
+        // storage and the linked account provider in parallel once their dependency is loaded
+        StageGraph<ReloadResult> stages = new StageGraph<>();
+
         // Update check
         UpdateConfig updateConfig = connectionConfig().update;
         if (updateConfig.security.enabled) {
-            if (updateChecker.isSecurityFailed()) {
-                // Security has already failed
-                return Collections.singletonList(ReloadResults.SECURITY_FAILED);
-            }
+            stages.add(STAGE_SECURITY, () -> {
+                if (updateChecker.isSecurityFailed()) {
+                    // Security has already failed
+                    return ReloadResults.SECURITY_FAILED;
+                }
 
-            if (initial && !updateChecker.check(true)) {
-                // Security failed cancel startup & shutdown
-                invokeDisable();
-                return Collections.singletonList(ReloadResults.SECURITY_FAILED);
-            }
+                if (initial && !updateChecker.check(true)) {
+                    // Security failed cancel startup & shutdown
+                    invokeDisable();
+                    return ReloadResults.SECURITY_FAILED;
+                }
+                return null;
+            });
         } else if (initial) {
             // Not using security, run update check off thread
             scheduler().run(() -> updateChecker.check(true));
@@ -710,113 +833,136 @@ public abstract class AbstractDiscordSRV<
         }
 
         if (flags.contains(ReloadFlag.STORAGE)) {
-            if (storage != null) {
-                storage.close();
-            }
-
-            try {
+            stages.add(STAGE_HIKARI_DEPENDENCY, () -> {
                 try {
-                    StorageType storageType = getStorageType();
-                    logger().info("Using " + storageType.prettyName() + " as storage");
-                    if (storageType == StorageType.MEMORY) {
-                        logger().warning("Using memory as storage backend.");
-                        logger().warning("Data will not persist across server restarts.");
-                    }
-                    if (storageType.hikari()) {
+                    if (getStorageType().hikari()) {
                         dependencyManager().hikari().downloadRelocateAndLoad().get();
                     }
-                    storage = storageType.storageFunction().apply(this);
-                    storage.initialize();
-                    logger().info("Storage connection successfully established");
+                } catch (StorageException ignored) {
+                    // Unknown backend, reported by the storage stage
                 } catch (ExecutionException e) {
-                    throw new StorageException(e.getCause());
-                } catch (StorageException e) {
-                    throw e;
-                } catch (Throwable t) {
-                    throw new StorageException(t);
+                    return storageFailed(new StorageException(e.getCause()), initial);
                 }
-            } catch (StorageException e) {
-                e.log(this);
-                logger().error("Failed to connect to storage");
-                if (initial) {
-                    setStatus(Status.FAILED_TO_START);
+                return null;
+            }, STAGE_SECURITY);
+
+            stages.add(STAGE_STORAGE, () -> {
+                if (storage != null) {
+                    storage.close();
                 }
-                return Collections.singletonList(ReloadResults.STORAGE_CONNECTION_FAILED);
-            }
+
+                try {
+                    try {
+                        StorageType storageType = getStorageType();
+                        logger().info("Using " + storageType.prettyName() + " as storage");
+                        if (storageType == StorageType.MEMORY) {
+                            logger().warning("Using memory as storage backend.");
+                            logger().warning("Data will not persist across server restarts.");
+                        }
+                        storage = createStorage(storageType);
+                        storage.initialize();
+                        logger().info("Storage connection successfully established");
+                    } catch (StorageException e) {
+                        throw e;
+                    } catch (Throwable t) {
+                        throw new StorageException(t);
+                    }
+                } catch (StorageException e) {
+                    return storageFailed(e, initial);
+                }
+                return null;
+            }, STAGE_HIKARI_DEPENDENCY);
         }
 
         if (flags.contains(ReloadFlag.LINKED_ACCOUNT_PROVIDER)) {
-            LinkedAccountConfig linkedAccountConfig = config().linkedAccounts;
-            if (linkedAccountConfig != null && linkedAccountConfig.enabled) {
-                LinkedAccountConfig.Provider provider = linkedAccountConfig.provider;
-                boolean permitMinecraftAuth = connectionConfig().minecraftAuth.allow;
-                if (provider == LinkedAccountConfig.Provider.AUTO) {
-                    provider = permitMinecraftAuth && onlineMode().isOnline() ? LinkedAccountConfig.Provider.MINECRAFTAUTH : LinkedAccountConfig.Provider.STORAGE;
+            stages.add(STAGE_MINECRAFTAUTH_DEPENDENCY, () -> {
+                if (linkedAccountProvider() == LinkedAccountConfig.Provider.MINECRAFTAUTH
+                        && connectionConfig().minecraftAuth.allow) {
+                    dependencyManager.mcAuthLib().downloadRelocateAndLoad().get();
                 }
-                switch (provider) {
-                    case MINECRAFTAUTH:
-                        if (!permitMinecraftAuth) {
+                return null;
+            }, STAGE_SECURITY);
+
+            stages.add(STAGE_LINKED_ACCOUNT_PROVIDER, () -> {
+                LinkedAccountConfig.Provider provider = linkedAccountProvider();
+                if (provider != null) {
+                    switch (provider) {
+                        case MINECRAFTAUTH:
+                            if (!connectionConfig().minecraftAuth.allow) {
+                                linkProvider = null;
+                                logger().error("minecraftauth.me is disabled in the " + ConnectionConfig.FILE_NAME + ", "
+                                                       + "but linked-accounts.provider is set to \"minecraftauth\". Linked accounts will be disabled");
+                                break;
+                            }
+                            linkProvider = new MinecraftAuthenticationLinker(this);
+                            logger().info("Using minecraftauth.me for linked accounts");
+                            break;
+                        case STORAGE:
+                            linkProvider = new StorageLinker(this);
+                            logger().info("Using storage for linked accounts");
+                            break;
+                        default: {
                             linkProvider = null;
-                            logger().error("minecraftauth.me is disabled in the " + ConnectionConfig.FILE_NAME + ", "
-                                                   + "but linked-accounts.provider is set to \"minecraftauth\". Linked accounts will be disabled");
+                            logger().error("Unknown linked account provider: \"" + provider + "\", linked accounts will not be used");
                             break;
                         }
-                        dependencyManager.mcAuthLib().downloadRelocateAndLoad().get();
-                        linkProvider = new MinecraftAuthenticationLinker(this);
-                        logger().info("Using minecraftauth.me for linked accounts");
-                        break;
-                    case STORAGE:
-                        linkProvider = new StorageLinker(this);
-                        logger().info("Using storage for linked accounts");
-                        break;
-                    default: {
-                        linkProvider = null;
-                        logger().error("Unknown linked account provider: \"" + provider + "\", linked accounts will not be used");
-                        break;
                     }
+                } else {
+                    linkProvider = null;
+                    logger().info("Linked accounts are disabled");
                 }
-            } else {
-                linkProvider = null;
-                logger().info("Linked accounts are disabled");
-            }
+                return null;
+            }, STAGE_MINECRAFTAUTH_DEPENDENCY);
         }
 
         if (flags.contains(ReloadFlag.DISCORD_CONNECTION)) {
-            try {
-                if (discordConnectionManager.instance() != null) {
-                    discordConnectionManager.reconnect().get();
-                } else {
-                    discordConnectionManager.connect().get();
-                }
-                if (!initial) {
-                    waitForStatus(Status.CONNECTED, 20, TimeUnit.SECONDS);
-                    if (status() != Status.CONNECTED) {
-                        return Collections.singletonList(ReloadResults.DISCORD_CONNECTION_FAILED);
-                    }
-                } else {
-                    JDA jda = jda();
-                    if (jda != null) {
-                        try {
-                            jda.awaitReady();
-                        } catch (IllegalStateException ignored) {
-                            // JDA shutdown -> don't continue
-                            return Collections.singletonList(ReloadResults.DISCORD_CONNECTION_FAILED);
-                        }
-                    }
-                }
-            } catch (ExecutionException e) {
-                throw e.getCause();
+            stages.add(STAGE_DISCORD_CONNECTION, () -> connectToDiscord(initial), STAGE_SECURITY);
+
+            if (initial) {
+                // Modules enable once DiscordSRV is ready, which has to wait for storage and the linked account provider
+                holdReady();
+                stages.add(STAGE_READY, () -> {
+                    releaseReady();
+                    return null;
+                }, STAGE_STORAGE, STAGE_LINKED_ACCOUNT_PROVIDER);
             }
         }
 
         // Modules are reloaded upon DiscordSRV being ready, thus not needed at initial
         if (!initial && flags.contains(ReloadFlag.MODULES)) {
-            results.addAll(moduleManager.reload());
+            stages.add(STAGE_MODULES, () -> {
+                results.addAll(moduleManager.reload());
+                return null;
+            }, STAGE_SECURITY, STAGE_STORAGE, STAGE_LINKED_ACCOUNT_PROVIDER, STAGE_DISCORD_CONNECTION);
         }
 
         if (flags.contains(ReloadFlag.DISCORD_COMMANDS)) {
-            discordAPI().commandRegistry().registerCommandsFromEvent();
-            discordAPI().commandRegistry().registerCommandsToDiscord();
+            stages.add(STAGE_DISCORD_COMMANDS, () -> {
+                discordAPI().commandRegistry().registerCommandsFromEvent();
+                discordAPI().commandRegistry().registerCommandsToDiscord();
+                return null;
+            }, STAGE_SECURITY, STAGE_STORAGE, STAGE_LINKED_ACCOUNT_PROVIDER, STAGE_DISCORD_CONNECTION, STAGE_MODULES);
+        }
+
+        ReloadResult stageResult;
+        try {
+            stageResult = stages.run(scheduler()::run).get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } finally {
+            Map<String, Long> timings = stages.timings();
+            logger().debug("Reload stage timings (ms): " + timings);
+            if (!stages.isEmpty()) {
+                // Keep the previous timings when nothing ran, like for a config only reload
+                reloadTimings = timings;
+            }
+        }
+        if (stageResult != null) {
+            if (initial && status().isStartupError() && discordConnectionManager.instance() != null) {
+                // Connected in parallel with a stage that failed to start
+                discordConnectionManager.shutdown();
+            }
+            return Collections.singletonList(stageResult);
         }
 
         if (!initial) {
@@ -63,6 +63,7 @@ import org.jetbrains.annotations.Nullable;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -170,6 +171,7 @@ public interface DiscordSRV extends DiscordSRVApi {
 
     // Lifecycle
     void runEnable();
+    Map<String, Long> reloadTimings();
     List<ReloadResult> runReload(Set<ReloadFlag> flags, boolean silent);
     CompletableFuture<Void> invokeDisable();
 
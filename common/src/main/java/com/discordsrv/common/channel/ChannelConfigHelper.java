@@ -24,7 +24,6 @@ import com.discordsrv.api.discord.entity.channel.DiscordTextChannel;
 import com.discordsrv.api.discord.entity.channel.DiscordThreadChannel;
 import com.discordsrv.api.event.events.channel.GameChannelLookupEvent;
 import com.discordsrv.common.DiscordSRV;
-import com.discordsrv.common.config.configurate.manager.MainConfigManager;
 import com.discordsrv.common.config.main.channels.base.BaseChannelConfig;
 import com.discordsrv.common.config.main.channels.base.ChannelConfig;
 import com.discordsrv.common.config.main.channels.base.IChannelConfig;
@@ -49,12 +48,16 @@ public class ChannelConfigHelper {
     // game channel name eg. "global" -> game channel ("discordsrv:global")
     private final LoadingCache<String, GameChannel> nameToChannelCache;
 
-    // game channel name -> config
-    private final Map<String, BaseChannelConfig> configs;
+    // game channel name -> the last mapped config, reused while the channel and default configs stay the same
+    private final Map<String, MappedChannel> mappedChannels = new HashMap<>();
+    private volatile boolean reloaded = false;
 
-    // caches for Discord channel -> config
-    private final Map<Long, Map<String, BaseChannelConfig>> textChannelToConfigMap;
-    private final Map<Pair<Long, String>, Map<String, BaseChannelConfig>> threadToConfigMap;
+    // Replaced as a whole on reload, so that lookups don't need to lock
+    private volatile Snapshot snapshot = new Snapshot(
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap()
+    );
 
     public ChannelConfigHelper(DiscordSRV discordSRV) {
         this.discordSRV = discordSRV;
@@ -75,55 +78,81 @@ public class ChannelConfigHelper {
                         return event.getChannelFromProcessing();
                     }
                 });
-        this.configs = new HashMap<>();
-        this.textChannelToConfigMap = new HashMap<>();
-        this.threadToConfigMap = new LinkedHashMap<>();
     }
 
     @SuppressWarnings("unchecked")
-    private BaseChannelConfig map(BaseChannelConfig defaultConfig, BaseChannelConfig config)
-            throws SerializationException {
-        MainConfigManager<?> configManager = discordSRV.configManager();
-
-        CommentedConfigurationNode defaultNode = CommentedConfigurationNode.root(configManager.nodeOptions(true));
-        CommentedConfigurationNode target = CommentedConfigurationNode.root(configManager.nodeOptions(true));
-
-        configManager.objectMapper()
-                .get((Class<BaseChannelConfig>) defaultConfig.getClass())
-                .save(defaultConfig, defaultNode);
-
-        ObjectMapper<BaseChannelConfig> mapper = configManager.objectMapper()
-                .get((Class<BaseChannelConfig>) config.getClass());
+    private ObjectMapper<BaseChannelConfig> mapper(BaseChannelConfig config) throws SerializationException {
+        return discordSRV.configManager().objectMapper().get((Class<BaseChannelConfig>) config.getClass());
+    }
 
-        mapper.save(config, target);
-        target.mergeFrom(defaultNode);
+    private CommentedConfigurationNode save(BaseChannelConfig config) throws SerializationException {
+        CommentedConfigurationNode node = CommentedConfigurationNode.root(discordSRV.configManager().nodeOptions(true));
+        mapper(config).save(config, node);
+        return node;
+    }
 
-        return mapper.load(target);
+    /**
+     * Reloads channel configs from the main config, unless the main config didn't change since the last reload.
+     * @param configChanged if the main config file changed since it was last loaded
+     * @return the names of channels that were added, changed or removed
+     * @see #reload()
+     */
+    public Set<String> reload(boolean configChanged) throws SerializationException {
+        if (!configChanged && reloaded) {
+            return Collections.emptySet();
+        }
+        return reload();
     }
 
-    public void reload() throws SerializationException {
+    /**
+     * Reloads channel configs from the main config, only remapping channels whose options changed.
+     * @return the names of channels that were added, changed or removed
+     */
+    public Set<String> reload() throws SerializationException {
         Map<String, BaseChannelConfig> configChannels = discordSRV.config().channels;
         BaseChannelConfig defaultConfig = configChannels.computeIfAbsent(ChannelConfig.DEFAULT_KEY, key -> discordSRV.config().createDefaultBaseChannel());
 
         Map<String, BaseChannelConfig> configs = new HashMap<>();
-        for (Map.Entry<String, BaseChannelConfig> entry : configChannels.entrySet()) {
-            if (Objects.equals(entry.getKey(), ChannelConfig.DEFAULT_KEY)) {
-                continue;
-            }
+        Set<String> changedChannels = new LinkedHashSet<>();
+        synchronized (mappedChannels) {
+            CommentedConfigurationNode defaultNode = save(defaultConfig);
+            Object defaultValues = defaultNode.raw();
+
+            Map<String, MappedChannel> mapped = new HashMap<>();
+            for (Map.Entry<String, BaseChannelConfig> entry : configChannels.entrySet()) {
+                String channelName = entry.getKey();
+                if (Objects.equals(channelName, ChannelConfig.DEFAULT_KEY)) {
+                    continue;
+                }
 
-            BaseChannelConfig mapped = map(defaultConfig, entry.getValue());
-            configs.put(entry.getKey(), mapped);
-        }
+                BaseChannelConfig config = entry.getValue();
+                CommentedConfigurationNode target = save(config);
+                Object values = target.raw();
 
-        synchronized (this.configs) {
-            this.configs.clear();
-            this.configs.putAll(configs);
+                MappedChannel channel = mappedChannels.get(channelName);
+                if (channel == null || !channel.isSame(values, defaultValues)) {
+                    target.mergeFrom(defaultNode);
+                    channel = new MappedChannel(values, defaultValues, mapper(config).load(target));
+                    changedChannels.add(channelName);
+                }
+
+                mapped.put(channelName, channel);
+                configs.put(channelName, channel.config);
+            }
+
+            for (String channelName : mappedChannels.keySet()) {
+                if (!mapped.containsKey(channelName)) {
+                    changedChannels.add(channelName);
+                }
+            }
+            mappedChannels.clear();
+            mappedChannels.putAll(mapped);
         }
 
         Map<Long, Map<String, BaseChannelConfig>> text = new HashMap<>();
         Map<Pair<Long, String>, Map<String, BaseChannelConfig>> thread = new HashMap<>();
 
-        for (Map.Entry<String, BaseChannelConfig> entry : channels().entrySet()) {
+        for (Map.Entry<String, BaseChannelConfig> entry : configs.entrySet()) {
             String channelName = entry.getKey();
             BaseChannelConfig value = entry.getValue();
             if (value instanceof IChannelConfig) {
@@ -151,52 +180,27 @@ public class ChannelConfigHelper {
             }
         }
 
-        synchronized (textChannelToConfigMap) {
-            textChannelToConfigMap.clear();
-            textChannelToConfigMap.putAll(text);
-        }
-        synchronized (threadToConfigMap) {
-            threadToConfigMap.clear();
-            threadToConfigMap.putAll(thread);
-        }
-    }
-
-    private Map<String, BaseChannelConfig> channels() {
-        synchronized (configs) {
-            return configs;
-        }
+        this.snapshot = new Snapshot(configs, text, thread);
+        this.reloaded = true;
+        return changedChannels;
     }
 
     private BaseChannelConfig findChannel(String key) {
-        Map<String, BaseChannelConfig> channels = channels();
-        BaseChannelConfig byExact = channels.get(key);
+        Snapshot snapshot = this.snapshot;
+        BaseChannelConfig byExact = snapshot.configs.get(key);
         if (byExact != null) {
             return byExact;
         }
 
-        for (Map.Entry<String, BaseChannelConfig> entry : channels.entrySet()) {
-            if (entry.getKey().equalsIgnoreCase(key)) {
-                return entry.getValue();
-            }
-        }
-        return null;
+        return snapshot.configsByLowercaseName.get(key.toLowerCase(Locale.ROOT));
     }
 
     public Set<String> getKeys() {
-        Set<String> keys = new LinkedHashSet<>(channels().keySet());
-        keys.remove(ChannelConfig.DEFAULT_KEY);
-        return keys;
+        return snapshot.keys;
     }
 
     public Set<BaseChannelConfig> getAllChannels() {
-        Set<BaseChannelConfig> channelConfigs = new HashSet<>();
-        for (Map.Entry<String, BaseChannelConfig> entry : channels().entrySet()) {
-            if (entry.getKey().equals(ChannelConfig.DEFAULT_KEY)) {
-                continue;
-            }
-            channelConfigs.add(entry.getValue());
-        }
-        return channelConfigs;
+        return snapshot.allChannels;
     }
 
     @Nullable
@@ -260,9 +264,7 @@ public class ChannelConfigHelper {
     }
 
     private Map<String, BaseChannelConfig> getByTextChannel(DiscordTextChannel channel) {
-        synchronized (textChannelToConfigMap) {
-            return textChannelToConfigMap.get(channel.getId());
-        }
+        return snapshot.textChannelToConfigs.get(channel.getId());
     }
 
     private Map<String, BaseChannelConfig> getByThreadChannel(DiscordThreadChannel channel) {
@@ -270,8 +272,69 @@ public class ChannelConfigHelper {
                 channel.getParentChannel().getId(),
                 channel.getName().toLowerCase(Locale.ROOT)
         );
-        synchronized (threadToConfigMap) {
-            return threadToConfigMap.get(pair);
+        return snapshot.threadToConfigs.get(pair);
+    }
+
+    private static class MappedChannel {
+
+        // The raw values of the channel config and default channel config it was mapped from
+        private final Object values;
+        private final Object defaultValues;
+        private final BaseChannelConfig config;
+
+        private MappedChannel(Object values, Object defaultValues, BaseChannelConfig config) {
+            this.values = values;
+            this.defaultValues = defaultValues;
+            this.config = config;
+        }
+
+        public boolean isSame(Object values, Object defaultValues) {
+            return Objects.equals(this.values, values) && Objects.equals(this.defaultValues, defaultValues);
+        }
+    }
+
+    private static class Snapshot {
+
+        // game channel name -> config
+        private final Map<String, BaseChannelConfig> configs;
+        private final Map<String, BaseChannelConfig> configsByLowercaseName;
+        private final Set<String> keys;
+        private final Set<BaseChannelConfig> allChannels;
+
+        // Discord channel -> game channel name -> config
+        private final Map<Long, Map<String, BaseChannelConfig>> textChannelToConfigs;
+        private final Map<Pair<Long, String>, Map<String, BaseChannelConfig>> threadToConfigs;
+
+        private Snapshot(
+                Map<String, BaseChannelConfig> configs,
+                Map<Long, Map<String, BaseChannelConfig>> textChannelToConfigs,
+                Map<Pair<Long, String>, Map<String, BaseChannelConfig>> threadToConfigs
+        ) {
+            Map<String, BaseChannelConfig> configsByLowercaseName = new HashMap<>();
+            Set<String> keys = new LinkedHashSet<>();
+            Set<BaseChannelConfig> allChannels = new LinkedHashSet<>();
+            for (Map.Entry<String, BaseChannelConfig> entry : configs.entrySet()) {
+                String key = entry.getKey();
+                configsByLowercaseName.putIfAbsent(key.toLowerCase(Locale.ROOT), entry.getValue());
+                if (key.equals(ChannelConfig.DEFAULT_KEY)) {
+                    continue;
+                }
+
+                keys.add(key);
+                allChannels.add(entry.getValue());
+            }
+
+            Map<Long, Map<String, BaseChannelConfig>> text = new HashMap<>();
+            textChannelToConfigs.forEach((channelId, channelConfigs) -> text.put(channelId, Collections.unmodifiableMap(channelConfigs)));
+            Map<Pair<Long, String>, Map<String, BaseChannelConfig>> thread = new HashMap<>();
+            threadToConfigs.forEach((pair, channelConfigs) -> thread.put(pair, Collections.unmodifiableMap(channelConfigs)));
+
+            this.configs = Collections.unmodifiableMap(new HashMap<>(configs));
+            this.configsByLowercaseName = Collections.unmodifiableMap(configsByLowercaseName);
+            this.keys = Collections.unmodifiableSet(keys);
+            this.allChannels = Collections.unmodifiableSet(allChannels);
+            this.textChannelToConfigs = Collections.unmodifiableMap(text);
+            this.threadToConfigs = Collections.unmodifiableMap(thread);
         }
     }
 }
@@ -99,61 +99,70 @@ public class ResyncCommand extends CombinedCommand {
         execution.runAsync(() -> {
             long startTime = System.currentTimeMillis();
 
-            List<CompletableFuture<? extends SyncSummary<?>>> futures = resyncOnlinePlayers(module);
-            CompletableFutureUtil.combineGeneric(futures).thenCompose(result -> {
-                List<CompletableFuture<?>> results = new ArrayList<>();
-                for (SyncSummary<?> summary : result) {
-                    results.add(summary.resultFuture());
-                }
-                return CompletableFutureUtil.combineGeneric(results);
-            }).whenComplete((__, t) -> {
-                Map<ISyncResult, AtomicInteger> resultCounts = new HashMap<>();
-                int total = 0;
-
-                List<ISyncResult> results = new ArrayList<>();
-                for (CompletableFuture<? extends SyncSummary<?>> future : futures) {
-                    SyncSummary<?> summary = future.join();
-                    ISyncResult allFailResult = summary.allFailReason();
-                    if (allFailResult != null) {
-                        results.add(allFailResult);
-                        continue;
+            resyncOnlinePlayers(module).thenAccept(futures -> {
+                CompletableFutureUtil.combineGeneric(futures).thenCompose(result -> {
+                    List<CompletableFuture<?>> results = new ArrayList<>();
+                    for (SyncSummary<?> summary : result) {
+                        results.add(summary.resultFuture());
+                    }
+                    return CompletableFutureUtil.combineGeneric(results);
+                }).whenComplete((__, t) -> {
+                    Map<ISyncResult, AtomicInteger> resultCounts = new HashMap<>();
+                    int total = 0;
+
+                    List<ISyncResult> results = new ArrayList<>();
+                    for (CompletableFuture<? extends SyncSummary<?>> future : futures) {
+                        SyncSummary<?> summary = future.join();
+                        ISyncResult allFailResult = summary.allFailReason();
+                        if (allFailResult != null) {
+                            results.add(allFailResult);
+                            continue;
+                        }
+
+                        results.addAll(summary.resultFuture().join().values());
                     }
 
-                    results.addAll(summary.resultFuture().join().values());
-                }
-
-                for (ISyncResult result : results) {
-                    total++;
-                    resultCounts.computeIfAbsent(result, key -> new AtomicInteger(0)).getAndIncrement();
-                }
-                String resultHover = resultCounts.entrySet().stream()
-                                    .map(entry -> entry.getKey().toString() + ": " + entry.getValue().get())
-                                    .collect(Collectors.joining("\n"));
-
-                long time = System.currentTimeMillis() - startTime;
-                execution.send(
-                        Arrays.asList(
-                                new Text("Synchronization completed in ").withGameColor(NamedTextColor.GRAY),
-                                new Text(time + "ms").withGameColor(NamedTextColor.GREEN).withFormatting(Text.Formatting.BOLD),
-                                new Text(" (").withGameColor(NamedTextColor.GRAY),
-                                new Text(total + " result" + (total == 1 ? "" : "s"))
-                                        .withGameColor(NamedTextColor.GREEN)
-                                        .withDiscordFormatting(Text.Formatting.BOLD),
-                                new Text(")").withGameColor(NamedTextColor.GRAY)
-                        ),
-                        total > 0
-                            ? Collections.singletonList(new Text(resultHover))
-                            : (execution instanceof GameCommandExecution ? Collections.singletonList(new Text("Nothing done")) : Collections.emptyList())
-                );
+                    for (ISyncResult result : results) {
+                        total++;
+                        resultCounts.computeIfAbsent(result, key -> new AtomicInteger(0)).getAndIncrement();
+                    }
+                    String resultHover = resultCounts.entrySet().stream()
+                                        .map(entry -> entry.getKey().toString() + ": " + entry.getValue().get())
+                                        .collect(Collectors.joining("\n"));
+
+                    long time = System.currentTimeMillis() - startTime;
+                    execution.send(
+                            Arrays.asList(
+                                    new Text("Synchronization completed in ").withGameColor(NamedTextColor.GRAY),
+                                    new Text(time + "ms").withGameColor(NamedTextColor.GREEN).withFormatting(Text.Formatting.BOLD),
+                                    new Text(" (").withGameColor(NamedTextColor.GRAY),
+                                    new Text(total + " result" + (total == 1 ? "" : "s"))
+                                            .withGameColor(NamedTextColor.GREEN)
+                                            .withDiscordFormatting(Text.Formatting.BOLD),
+                                    new Text(")").withGameColor(NamedTextColor.GRAY)
+                            ),
+                            total > 0
+                                ? Collections.singletonList(new Text(resultHover))
+                                : (execution instanceof GameCommandExecution ? Collections.singletonList(new Text("Nothing done")) : Collections.emptyList())
+                    );
+                });
             });
         });
     }
 
-    private List<CompletableFuture<? extends SyncSummary<?>>> resyncOnlinePlayers(AbstractSyncModule<?, ?, ?, ?, ?> module) {
-        List<CompletableFuture<? extends SyncSummary<?>>> summaries = new ArrayList<>();
+    private CompletableFuture<List<CompletableFuture<? extends SyncSummary<?>>>> resyncOnlinePlayers(AbstractSyncModule<?, ?, ?, ?, ?> module) {
+        List<UUID> playerUUIDs = new ArrayList<>();
         for (IPlayer player : discordSRV.playerProvider().allPlayers()) {
-            summaries.add(module.resyncAll(GenericSyncCauses.COMMAND, Someone.of(player)));
+            playerUUIDs.add(player.uniqueId());
         }
-        return summaries;
+
+        // Look up all the linked accounts at once, instead of once per player
+        return Someone.ofAll(discordSRV, playerUUIDs).thenApply(someones -> {
+            List<CompletableFuture<? extends SyncSummary<?>>> summaries = new ArrayList<>();
+            for (Someone someone : someones) {
+                summaries.add(module.resyncAll(GenericSyncCauses.COMMAND, someone));
+            }
+            return summaries;
+        });
     }
 }
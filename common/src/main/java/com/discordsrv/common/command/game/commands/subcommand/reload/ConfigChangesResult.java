@@ -0,0 +1,55 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.command.game.commands.subcommand.reload;
+
+import com.discordsrv.api.DiscordSRVApi;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The configuration files and channels that changed during a reload.
+ */
+public class ConfigChangesResult implements DiscordSRVApi.ReloadResult {
+
+    private final List<String> changedFiles;
+    private final Set<String> changedChannels;
+
+    public ConfigChangesResult(List<String> changedFiles, Set<String> changedChannels) {
+        this.changedFiles = changedFiles;
+        this.changedChannels = changedChannels;
+    }
+
+    @Override
+    public String name() {
+        return "CONFIG_CHANGES";
+    }
+
+    public List<String> changedFiles() {
+        return changedFiles;
+    }
+
+    public Set<String> changedChannels() {
+        return changedChannels;
+    }
+
+    public boolean isEmpty() {
+        return changedFiles.isEmpty() && changedChannels.isEmpty();
+    }
+}
@@ -82,6 +82,21 @@ public class ReloadCommand implements GameCommandExecutor, GameCommandSuggester
 
         List<DiscordSRVApi.ReloadResult> results = discordSRV.runReload(flags, false);
         for (DiscordSRV.ReloadResult result : results) {
+            if (result instanceof ConfigChangesResult) {
+                ConfigChangesResult changes = (ConfigChangesResult) result;
+                if (changes.isEmpty()) {
+                    sender.sendMessage(Component.text("No configuration changes", NamedTextColor.GRAY));
+                    continue;
+                }
+                if (!changes.changedFiles().isEmpty()) {
+                    sender.sendMessage(Component.text("Changed files: " + String.join(", ", changes.changedFiles()), NamedTextColor.GRAY));
+                }
+                if (!changes.changedChannels().isEmpty()) {
+                    sender.sendMessage(Component.text("Changed channels: " + String.join(", ", changes.changedChannels()), NamedTextColor.GRAY));
+                }
+                continue;
+            }
+
             String res = result.name();
             if (res.equals(ReloadResults.FAILED.name())) {
                 sender.sendMessage(
@@ -96,7 +96,7 @@ public class EnhancedTextBuilderImpl implements GameTextBuilder {
 
         replacements.forEach(builder::replaceAll);
 
-        Component component = builder.build();
+        Component component = discordSRV.placeholderService().withLookupCache(builder::build);
         return ComponentUtil.toAPI(component);
     }
 }
@@ -59,6 +59,8 @@ public abstract class MessagesConfigManager<C extends MessagesConfig> {
 
     public void load() throws ConfigException {
         synchronized (configs) {
+            // Keep the existing managers, so they can skip files that haven't changed
+            Map<Locale, MessagesConfigSingleManager<C>> previous = new HashMap<>(configs);
             configs.clear();
 
             MainConfig config = discordSRV.config();
@@ -89,7 +91,7 @@ public abstract class MessagesConfigManager<C extends MessagesConfig> {
                                 return;
                             }
 
-                            configs.put(locale, new MessagesConfigSingleManager<>(discordSRV, this, locale, true));
+                            configs.put(locale, manager(previous, locale, true));
                             existing.add(locale);
                         });
                     }
@@ -102,7 +104,7 @@ public abstract class MessagesConfigManager<C extends MessagesConfig> {
                 }
             } else {
                 Locale defaultLocale = discordSRV.defaultLocale();
-                configs.put(defaultLocale, new MessagesConfigSingleManager<>(discordSRV, this, defaultLocale, false));
+                configs.put(defaultLocale, manager(previous, defaultLocale, false));
             }
 
             for (Map.Entry<Locale, MessagesConfigSingleManager<C>> entry : configs.entrySet()) {
@@ -110,4 +112,16 @@ public abstract class MessagesConfigManager<C extends MessagesConfig> {
             }
         }
     }
+
+    private MessagesConfigSingleManager<C> manager(
+            Map<Locale, MessagesConfigSingleManager<C>> previous,
+            Locale locale,
+            boolean multi
+    ) {
+        MessagesConfigSingleManager<C> manager = previous.get(locale);
+        if (manager != null && manager.isMulti() == multi) {
+            return manager;
+        }
+        return new MessagesConfigSingleManager<>(discordSRV, this, locale, multi);
+    }
 }
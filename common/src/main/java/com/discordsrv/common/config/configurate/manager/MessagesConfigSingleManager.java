@@ -50,6 +50,10 @@ public class MessagesConfigSingleManager<C extends MessagesConfig>
         return MessagesConfig.FILE_NAME;
     }
 
+    public boolean isMulti() {
+        return multi;
+    }
+
     @Override
     public Locale locale() {
         return locale;
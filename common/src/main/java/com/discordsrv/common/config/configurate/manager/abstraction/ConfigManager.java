@@ -28,6 +28,12 @@ public interface ConfigManager<T> {
     T config();
 
     void load() throws ConfigException;
+
+    /**
+     * If the last {@link #load()} loaded changes, false if the file hadn't changed and loading it was skipped.
+     */
+    boolean lastLoadChanged();
+
     void reload() throws ConfigException;
     void save(AbstractConfigurationLoader<CommentedConfigurationNode> loader) throws ConfigException;
     void save() throws ConfigException;
@@ -52,10 +52,14 @@ import org.spongepowered.configurate.util.NamingSchemes;
 import org.spongepowered.configurate.yaml.ScalarStyle;
 import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
 
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -77,6 +81,8 @@ public abstract class ConfigurateConfigManager<T, LT extends AbstractConfigurati
     private final ObjectMapper.Factory objectMapper;
     private final ObjectMapper.Factory cleanObjectMapper;
     private LT loader;
+    private byte[] loadedFileHash;
+    private boolean lastLoadChanged;
 
     protected T configuration;
 
@@ -388,8 +394,47 @@ public abstract class ConfigurateConfigManager<T, LT extends AbstractConfigurati
 
     @Override
     public void load() throws ConfigException {
+        if (isUnchanged()) {
+            return;
+        }
+
         reload();
         save();
+        loaded();
+    }
+
+    @Override
+    public boolean lastLoadChanged() {
+        return lastLoadChanged;
+    }
+
+    /**
+     * Checks if the file is exactly the same as after the last load, in which case it doesn't need to be loaded or saved again.
+     */
+    protected boolean isUnchanged() {
+        byte[] hash = fileHash();
+        lastLoadChanged = configuration == null || hash == null || !Arrays.equals(hash, loadedFileHash);
+        return !lastLoadChanged;
+    }
+
+    /**
+     * Remembers the current file contents, to be called after loading and saving the configuration.
+     */
+    protected void loaded() {
+        loadedFileHash = fileHash();
+    }
+
+    private byte[] fileHash() {
+        Path filePath = filePath();
+        if (!Files.exists(filePath)) {
+            return null;
+        }
+
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(filePath));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return null;
+        }
     }
 
     @SuppressWarnings("unchecked")
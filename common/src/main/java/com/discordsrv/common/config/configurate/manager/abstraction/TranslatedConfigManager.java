@@ -58,9 +58,14 @@ public abstract class TranslatedConfigManager<T extends Config, LT extends Abstr
 
     @Override
     public void load() throws ConfigException {
+        if (isUnchanged()) {
+            return;
+        }
+
         super.reload();
         translate();
         super.save();
+        loaded();
     }
 
     @Override
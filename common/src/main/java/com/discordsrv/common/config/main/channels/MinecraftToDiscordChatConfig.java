@@ -52,6 +52,8 @@ public class MinecraftToDiscordChatConfig implements IMessageConfig {
 
     public Mentions mentions = new Mentions();
 
+    public Batching batching = new Batching();
+
     @Override
     public boolean enabled() {
         return enabled;
@@ -88,5 +90,18 @@ public class MinecraftToDiscordChatConfig implements IMessageConfig {
         public boolean everyone = false;
 
     }
+
+    @ConfigSerializable
+    public static class Batching {
+
+        @Comment("If chat messages sent close together should be combined into a single Discord message (up to 2000 characters).\n"
+                + "This avoids hitting Discord's rate limits when many messages are sent in a short time.\n"
+                + "Only messages with the same webhook username, avatar and allowed mentions are combined")
+        public boolean enabled = false;
+
+        @Comment("The amount of milliseconds to wait for more messages before sending a combined message")
+        public long lingerMillis = 250L;
+
+    }
     
 }
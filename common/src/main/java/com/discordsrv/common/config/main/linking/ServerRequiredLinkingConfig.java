@@ -34,6 +34,14 @@ public class ServerRequiredLinkingConfig extends RequiredLinkingConfig {
         FREEZE
     }
 
+    @Comment("The amount of milliseconds to wait for a player's linking status while they are logging in, 0 to wait until the check completes.\n"
+            + "The check starts as early as possible, events that run on the main thread never wait for it")
+    public long checkTimeoutMillis = 0L;
+
+    @Comment("If players should be allowed to join when their linking status could not be checked, or the check did not complete in time.\n"
+            + "Players whose check fails are blocked unless this is enabled")
+    public boolean allowOnTimeout = false;
+
     @Setting(nodeFromParent = true)
     @Order(10)
     public RequirementsConfig requirements = new RequirementsConfig();
@@ -88,6 +88,7 @@ public class DebugReport {
         }
 
         addFile(activeLimitedConnectionsConfig()); // 77
+        addFile(reloadTimings()); // 76
     }
 
     public Paste upload(PasteService service) throws Throwable {
@@ -251,6 +252,11 @@ public class DebugReport {
         return new KeyValueDebugFile(77, "connections.json", values, true);
     }
 
+    private DebugFile reloadTimings() {
+        Map<String, Object> values = new LinkedHashMap<>(discordSRV.reloadTimings());
+        return new KeyValueDebugFile(76, "reload-timings.json", values, true);
+    }
+
     private DebugFile readFile(int order, Path file, String overwriteFileName) {
         String fileName = overwriteFileName != null ? overwriteFileName : file.getFileName().toString();
         if (!Files.exists(file)) {
@@ -20,6 +20,8 @@ package com.discordsrv.common.destination;
 
 import com.discordsrv.api.discord.entity.channel.*;
 import com.discordsrv.api.discord.entity.message.SendableDiscordMessage;
+import com.discordsrv.api.event.bus.Subscribe;
+import com.discordsrv.api.event.events.lifecycle.DiscordSRVReloadedEvent;
 import com.discordsrv.common.DiscordSRV;
 import com.discordsrv.common.config.main.generic.DestinationConfig;
 import com.discordsrv.common.config.main.generic.ThreadConfig;
@@ -27,12 +29,20 @@ import com.discordsrv.common.discord.util.DiscordPermissionUtil;
 import com.discordsrv.common.logging.Logger;
 import com.discordsrv.common.logging.NamedLogger;
 import net.dv8tion.jda.api.Permission;
+import net.dv8tion.jda.api.entities.channel.Channel;
 import net.dv8tion.jda.api.entities.channel.attribute.IThreadContainer;
 import net.dv8tion.jda.api.entities.channel.concrete.ThreadChannel;
+import net.dv8tion.jda.api.events.channel.ChannelCreateEvent;
+import net.dv8tion.jda.api.events.channel.ChannelDeleteEvent;
+import net.dv8tion.jda.api.events.channel.update.ChannelUpdateArchivedEvent;
+import net.dv8tion.jda.api.events.channel.update.ChannelUpdateNameEvent;
+import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class DestinationLookupHelper {
 
@@ -40,9 +50,16 @@ public class DestinationLookupHelper {
     private final Logger logger;
     private final Map<String, CompletableFuture<DiscordThreadChannel>> threadActions = new HashMap<>();
 
+    // Destinations that were fully resolved without any requests, until a channel or thread changes
+    private final Map<DestinationConfig, List<DiscordGuildMessageChannel>> resolvedDestinations = new ConcurrentHashMap<>();
+    private final AtomicInteger resolvedGeneration = new AtomicInteger();
+    // Thread container id -> active thread name -> thread
+    private final Map<Long, Map<String, DiscordThreadChannel>> activeThreadsByName = new ConcurrentHashMap<>();
+
     public DestinationLookupHelper(DiscordSRV discordSRV) {
         this.discordSRV = discordSRV;
         this.logger = new NamedLogger(discordSRV, "DESTINATION_LOOKUP");
+        discordSRV.eventBus().subscribe(this);
     }
 
     public CompletableFuture<List<DiscordGuildMessageChannel>> lookupDestination(
@@ -50,6 +67,13 @@ public class DestinationLookupHelper {
             boolean allowRequests,
             boolean logFailures
     ) {
+        List<DiscordGuildMessageChannel> resolved = resolvedDestinations.get(config);
+        if (resolved != null) {
+            return CompletableFuture.completedFuture(resolved);
+        }
+
+        int generation = resolvedGeneration.get();
+        boolean cacheable = true;
         List<CompletableFuture<? extends DiscordGuildMessageChannel>> futures = new ArrayList<>();
 
         for (Long channelId : config.channelIds) {
@@ -59,6 +83,7 @@ public class DestinationLookupHelper {
 
             DiscordMessageChannel channel = discordSRV.discordAPI().getMessageChannelById(channelId);
             if (channel == null) {
+                cacheable = false;
                 if (logFailures) {
                     logger.error("Channel with ID " + Long.toUnsignedString(channelId) + " not found");
                 }
@@ -84,18 +109,21 @@ public class DestinationLookupHelper {
                 threadContainer = discordSRV.discordAPI().getForumChannelById(channelId);
             }
             if (threadContainer == null) {
+                cacheable = false;
                 if (logFailures) {
                     logger.error("Channel with ID " + Long.toUnsignedString(channelId) + " not found");
                 }
                 continue;
             }
 
-            DiscordThreadChannel existingThread = findThread(threadContainer.getActiveThreads(), threadConfig);
+            DiscordThreadChannel existingThread = findActiveThread(threadContainer, threadConfig);
             if (existingThread != null && !existingThread.isArchived()) {
                 futures.add(CompletableFuture.completedFuture(existingThread));
                 continue;
             }
 
+            cacheable = false;
+
             if (!allowRequests) {
                 continue;
             }
@@ -146,6 +174,7 @@ public class DestinationLookupHelper {
             futures.add(future);
         }
 
+        boolean cache = cacheable;
         return CompletableFuture.allOf(
                 futures.stream()
                         .map(future -> (CompletableFuture<?>) future)
@@ -160,10 +189,93 @@ public class DestinationLookupHelper {
                     channels.add(channel);
                 }
             }
-            return channels;
+
+            List<DiscordGuildMessageChannel> result = Collections.unmodifiableList(channels);
+            if (cache) {
+                cacheResolved(config, result, generation);
+            }
+            return result;
         });
     }
 
+    /**
+     * Caches a resolved destination, unless a channel or thread changed since the given generation.
+     *
+     * @return {@code true} if the destination is cached
+     */
+    boolean cacheResolved(DestinationConfig config, List<DiscordGuildMessageChannel> result, int generation) {
+        resolvedDestinations.put(config, result);
+        if (resolvedGeneration.get() != generation) {
+            // Something changed while resolving
+            resolvedDestinations.remove(config, result);
+            return false;
+        }
+        return true;
+    }
+
+    int generation() {
+        return resolvedGeneration.get();
+    }
+
+    private DiscordThreadChannel findActiveThread(DiscordThreadContainer threadContainer, ThreadConfig config) {
+        Map<String, DiscordThreadChannel> threadsByName = activeThreadsByName.computeIfAbsent(threadContainer.getId(), key -> {
+            Map<String, DiscordThreadChannel> threads = new HashMap<>();
+            for (DiscordThreadChannel thread : threadContainer.getActiveThreads()) {
+                threads.putIfAbsent(thread.getName(), thread);
+            }
+            return threads;
+        });
+        return threadsByName.get(config.threadName);
+    }
+
+    private void channelChanged(Channel channel) {
+        resolvedGeneration.incrementAndGet();
+        resolvedDestinations.clear();
+
+        activeThreadsByName.remove(channel.getIdLong());
+        if (channel instanceof ThreadChannel) {
+            activeThreadsByName.remove(((ThreadChannel) channel).getParentChannel().getIdLong());
+        }
+    }
+
+    @Subscribe
+    public void onChannelCreate(ChannelCreateEvent event) {
+        if (event.getChannel() instanceof ThreadChannel) {
+            activeThreadsByName.remove(((ThreadChannel) event.getChannel()).getParentChannel().getIdLong());
+        }
+    }
+
+    @Subscribe
+    public void onChannelDelete(ChannelDeleteEvent event) {
+        channelChanged(event.getChannel());
+    }
+
+    @Subscribe
+    public void onChannelUpdateArchived(ChannelUpdateArchivedEvent event) {
+        channelChanged(event.getChannel());
+    }
+
+    @Subscribe
+    public void onChannelUpdateName(ChannelUpdateNameEvent event) {
+        channelChanged(event.getChannel());
+    }
+
+    @Subscribe
+    public void onGuildLeave(GuildLeaveEvent event) {
+        clear();
+    }
+
+    @Subscribe
+    public void onDiscordSRVReloaded(DiscordSRVReloadedEvent event) {
+        clear();
+    }
+
+    private void clear() {
+        resolvedGeneration.incrementAndGet();
+        resolvedDestinations.clear();
+        activeThreadsByName.clear();
+    }
+
     private DiscordThreadChannel findThread(Collection<DiscordThreadChannel> threads, ThreadConfig config) {
         for (DiscordThreadChannel thread : threads) {
             if (thread.getName().equals(config.threadName)) {
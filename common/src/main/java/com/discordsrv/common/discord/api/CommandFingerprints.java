@@ -0,0 +1,149 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.discord.api;
+
+import com.discordsrv.api.discord.entity.interaction.command.DiscordCommand;
+import com.discordsrv.common.DiscordSRV;
+import com.discordsrv.common.logging.Logger;
+import com.fasterxml.jackson.core.type.TypeReference;
+import net.dv8tion.jda.api.interactions.commands.Command;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Remembers which commands were last registered to Discord successfully, across restarts.
+ * Used to avoid replacing the commands of guilds that already have the exact same commands.
+ */
+public class CommandFingerprints {
+
+    private static final String FILE_NAME = "command-fingerprints.json";
+
+    private final DiscordSRV discordSRV;
+    private final Logger logger;
+    private Map<Long, String> fingerprints;
+
+    public CommandFingerprints(DiscordSRV discordSRV, Logger logger) {
+        this.discordSRV = discordSRV;
+        this.logger = logger;
+    }
+
+    /**
+     * Creates a fingerprint of the given commands for the given bot, which doesn't depend on the order of the commands.
+     */
+    public static String fingerprint(long botUserId, Collection<DiscordCommand> commands) {
+        List<DiscordCommand> sorted = new ArrayList<>(commands);
+        sorted.sort(Comparator.comparing((DiscordCommand command) -> command.getType().name())
+                            .thenComparing(DiscordCommand::getName));
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(Long.toString(botUserId).getBytes(StandardCharsets.UTF_8));
+        for (DiscordCommand command : sorted) {
+            digest.update(command.asJDA().toData().toJson());
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (byte b : digest.digest()) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * If the commands retrieved from Discord have the same types and names as the given commands. Only the types and names
+     * are compared, as Discord returns commands with more fields filled in than were registered.
+     */
+    public static boolean isRegistered(Collection<Command> registered, Collection<DiscordCommand> commands) {
+        Set<String> registeredKeys = new HashSet<>();
+        for (Command command : registered) {
+            registeredKeys.add(command.getType() + ":" + command.getName());
+        }
+
+        Set<String> keys = new HashSet<>();
+        for (DiscordCommand command : commands) {
+            keys.add(command.getType().asJDA() + ":" + command.getName());
+        }
+        return registeredKeys.equals(keys);
+    }
+
+    private Path file() {
+        return discordSRV.dataDirectory().resolve(FILE_NAME);
+    }
+
+    private Map<Long, String> fingerprints() {
+        if (fingerprints != null) {
+            return fingerprints;
+        }
+
+        fingerprints = new HashMap<>();
+        Path file = file();
+        if (Files.exists(file)) {
+            try {
+                fingerprints.putAll(discordSRV.json().readValue(file.toFile(), new TypeReference<Map<Long, String>>() {}));
+            } catch (IOException e) {
+                logger.debug("Failed to read " + FILE_NAME + ", all commands will be registered again", e);
+            }
+        }
+        return fingerprints;
+    }
+
+    /**
+     * If the given fingerprint is the last one that was successfully registered to the given guild.
+     */
+    public synchronized boolean matches(long guildId, String fingerprint) {
+        return fingerprint.equals(fingerprints().get(guildId));
+    }
+
+    public synchronized void put(long guildId, String fingerprint) {
+        Map<Long, String> fingerprints = fingerprints();
+        if (fingerprint.equals(fingerprints.put(guildId, fingerprint))) {
+            return;
+        }
+        save(fingerprints);
+    }
+
+    /**
+     * Forgets the fingerprint for the given guild, for when its commands may no longer be what was registered.
+     */
+    public synchronized void remove(long guildId) {
+        Map<Long, String> fingerprints = fingerprints();
+        if (fingerprints.remove(guildId) == null) {
+            return;
+        }
+        save(fingerprints);
+    }
+
+    private void save(Map<Long, String> fingerprints) {
+        try {
+            discordSRV.json().writeValue(file().toFile(), fingerprints);
+        } catch (IOException e) {
+            logger.error("Failed to save " + FILE_NAME, e);
+        }
+    }
+}
@@ -48,6 +48,7 @@ import com.discordsrv.common.event.events.discord.interaction.command.DiscordUse
 import com.discordsrv.common.module.type.AbstractModule;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
 import net.dv8tion.jda.api.events.guild.member.GuildMemberRoleAddEvent;
 import net.dv8tion.jda.api.events.guild.member.GuildMemberRoleRemoveEvent;
 import net.dv8tion.jda.api.events.interaction.GenericInteractionCreateEvent;
@@ -131,6 +132,16 @@ public class DiscordAPIEventModule extends AbstractModule<DiscordSRV> {
         ));
     }
 
+    @Subscribe
+    public void onGuildLeave(GuildLeaveEvent event) {
+        // Commands are gone if the bot is added back
+        api().commandRegistry().invalidate(event.getGuild().getIdLong());
+    }
+
+    private void unknownCommandUsed(Guild guild) {
+        api().commandRegistry().unknownCommandUsed(guild != null ? guild.getIdLong() : null);
+    }
+
     @Subscribe
     public void onGenericInteractionCreate(GenericInteractionCreateEvent event) {
         if (event.getChannel() == null || !event.getChannel().getType().isMessage()
@@ -150,6 +161,7 @@ public class DiscordAPIEventModule extends AbstractModule<DiscordSRV> {
                     ((CommandAutoCompleteInteractionEvent) event).getName()
             ).orElse(null);
             if (command == null) {
+                unknownCommandUsed(((CommandAutoCompleteInteractionEvent) event).isGuildCommand() ? event.getGuild() : null);
                 return;
             }
             command = mapCommand(
@@ -191,6 +203,7 @@ public class DiscordAPIEventModule extends AbstractModule<DiscordSRV> {
                 DiscordCommand command = discordSRV.discordAPI()
                         .getActiveCommand(guild, CommandType.MESSAGE, name).orElse(null);
                 if (command == null) {
+                    unknownCommandUsed(guild);
                     return;
                 }
 
@@ -213,6 +226,7 @@ public class DiscordAPIEventModule extends AbstractModule<DiscordSRV> {
                 DiscordCommand command = discordSRV.discordAPI()
                         .getActiveCommand(guild, CommandType.USER, name).orElse(null);
                 if (command == null) {
+                    unknownCommandUsed(guild);
                     return;
                 }
 
@@ -235,6 +249,7 @@ public class DiscordAPIEventModule extends AbstractModule<DiscordSRV> {
                 DiscordCommand command = discordSRV.discordAPI()
                         .getActiveCommand(guild, CommandType.CHAT_INPUT, name).orElse(null);
                 if (command == null) {
+                    unknownCommandUsed(guild);
                     return;
                 }
                 command = mapCommand(
@@ -44,6 +44,7 @@ import com.discordsrv.common.function.CheckedSupplier;
 import com.discordsrv.common.future.util.CompletableFutureUtil;
 import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
 import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Expiry;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.*;
@@ -67,16 +68,37 @@ import java.util.function.Function;
 
 public class DiscordAPIImpl implements DiscordAPI {
 
+    private static final int MAX_INTERNED_GUILDS = 100;
+    private static final int MAX_INTERNED_ENTITIES = 10_000;
+
     private final DiscordSRV discordSRV;
     private final DiscordCommandRegistry commandRegistry;
     private final AsyncLoadingCache<Long, WebhookClient<Message>> cachedClients;
 
+    // Guilds & roles are separate as the @everyone role shares its id with the guild
+    private final Cache<Long, InternedEntity> internedGuilds;
+    private final Cache<Long, InternedEntity> internedRoles;
+    private final Cache<Long, InternedEntity> internedUsers;
+    private final Cache<Long, InternedEntity> internedChannels;
+
     public DiscordAPIImpl(DiscordSRV discordSRV) {
         this.discordSRV = discordSRV;
         this.commandRegistry = new DiscordCommandRegistry(discordSRV);
         this.cachedClients = discordSRV.caffeineBuilder()
                 .expireAfter(new WebhookCacheExpiry())
                 .buildAsync(new WebhookCacheLoader());
+        this.internedGuilds = discordSRV.caffeineBuilder()
+                .maximumSize(MAX_INTERNED_GUILDS)
+                .build();
+        this.internedRoles = discordSRV.caffeineBuilder()
+                .maximumSize(MAX_INTERNED_ENTITIES)
+                .build();
+        this.internedUsers = discordSRV.caffeineBuilder()
+                .maximumSize(MAX_INTERNED_ENTITIES)
+                .build();
+        this.internedChannels = discordSRV.caffeineBuilder()
+                .maximumSize(MAX_INTERNED_ENTITIES)
+                .build();
     }
 
     public CompletableFuture<WebhookClient<Message>> queryWebhookClient(long channelId) {
@@ -164,6 +186,23 @@ public class DiscordAPIImpl implements DiscordAPI {
         }
     }
 
+    /**
+     * Returns the wrapper previously created for the given JDA entity, or creates and remembers a new one.
+     * Wrappers are only reused for the exact same JDA object, JDA replaces its entities when they are reloaded.
+     */
+    @SuppressWarnings("unchecked")
+    private <J extends ISnowflake, T> T intern(Cache<Long, InternedEntity> cache, J jda, Function<J, T> wrap) {
+        long id = jda.getIdLong();
+        InternedEntity interned = cache.getIfPresent(id);
+        if (interned != null && interned.jda == jda) {
+            return (T) interned.wrapper;
+        }
+
+        T wrapper = wrap.apply(jda);
+        cache.put(id, new InternedEntity(jda, wrapper));
+        return wrapper;
+    }
+
     private <T, J> T mapJDAEntity(Function<JDA, J> get, Function<J, T> map) {
         JDA jda = discordSRV.jda();
         if (jda == null) {
@@ -184,7 +223,7 @@ public class DiscordAPIImpl implements DiscordAPI {
     }
 
     public DiscordDMChannelImpl getDirectMessageChannel(PrivateChannel jda) {
-        return new DiscordDMChannelImpl(discordSRV, jda);
+        return intern(internedChannels, jda, channel -> new DiscordDMChannelImpl(discordSRV, channel));
     }
 
     @Override
@@ -193,7 +232,7 @@ public class DiscordAPIImpl implements DiscordAPI {
     }
 
     public DiscordNewsChannelImpl getNewsChannel(NewsChannel jda) {
-        return new DiscordNewsChannelImpl(discordSRV, jda);
+        return intern(internedChannels, jda, channel -> new DiscordNewsChannelImpl(discordSRV, channel));
     }
 
     @Override
@@ -202,7 +241,7 @@ public class DiscordAPIImpl implements DiscordAPI {
     }
 
     public DiscordTextChannelImpl getTextChannel(TextChannel jda) {
-        return new DiscordTextChannelImpl(discordSRV, jda);
+        return intern(internedChannels, jda, channel -> new DiscordTextChannelImpl(discordSRV, channel));
     }
 
     @Override
@@ -211,7 +250,7 @@ public class DiscordAPIImpl implements DiscordAPI {
     }
 
     public DiscordForumChannelImpl getForumChannel(ForumChannel jda) {
-        return new DiscordForumChannelImpl(discordSRV, jda);
+        return intern(internedChannels, jda, channel -> new DiscordForumChannelImpl(discordSRV, channel));
     }
 
     @Override
@@ -220,7 +259,7 @@ public class DiscordAPIImpl implements DiscordAPI {
     }
 
     public DiscordVoiceChannelImpl getVoiceChannel(VoiceChannel jda) {
-        return new DiscordVoiceChannelImpl(discordSRV, jda);
+        return intern(internedChannels, jda, channel -> new DiscordVoiceChannelImpl(discordSRV, channel));
     }
 
     @Override
@@ -229,7 +268,7 @@ public class DiscordAPIImpl implements DiscordAPI {
     }
 
     public DiscordStageChannelImpl getStageChannel(StageChannel jda) {
-        return new DiscordStageChannelImpl(discordSRV, jda);
+        return intern(internedChannels, jda, channel -> new DiscordStageChannelImpl(discordSRV, channel));
     }
 
     @Override
@@ -238,7 +277,7 @@ public class DiscordAPIImpl implements DiscordAPI {
     }
 
     public DiscordThreadChannelImpl getThreadChannel(ThreadChannel jda) {
-        return new DiscordThreadChannelImpl(discordSRV, jda);
+        return intern(internedChannels, jda, channel -> new DiscordThreadChannelImpl(discordSRV, channel));
     }
 
     @Override
@@ -247,7 +286,7 @@ public class DiscordAPIImpl implements DiscordAPI {
     }
 
     public DiscordGuildImpl getGuild(Guild jda) {
-        return new DiscordGuildImpl(discordSRV, jda);
+        return intern(internedGuilds, jda, guild -> new DiscordGuildImpl(discordSRV, guild));
     }
 
     public DiscordGuildMemberImpl getGuildMember(Member jda) {
@@ -260,7 +299,7 @@ public class DiscordAPIImpl implements DiscordAPI {
     }
 
     public DiscordUserImpl getUser(User jda) {
-        return new DiscordUserImpl(discordSRV, jda);
+        return intern(internedUsers, jda, user -> new DiscordUserImpl(discordSRV, user));
     }
 
     @Override
@@ -289,7 +328,7 @@ public class DiscordAPIImpl implements DiscordAPI {
     }
 
     public DiscordRoleImpl getRole(Role jda) {
-        return new DiscordRoleImpl(discordSRV, jda);
+        return intern(internedRoles, jda, role -> new DiscordRoleImpl(discordSRV, role));
     }
 
     @Override
@@ -319,6 +358,17 @@ public class DiscordAPIImpl implements DiscordAPI {
         return commandRegistry;
     }
 
+    private static class InternedEntity {
+
+        private final Object jda;
+        private final Object wrapper;
+
+        public InternedEntity(Object jda, Object wrapper) {
+            this.jda = jda;
+            this.wrapper = wrapper;
+        }
+    }
+
     private class WebhookCacheLoader implements AsyncCacheLoader<Long, WebhookClient<Message>> {
 
         @Override
@@ -23,12 +23,15 @@ import com.discordsrv.api.discord.entity.interaction.command.CommandType;
 import com.discordsrv.api.discord.entity.interaction.command.DiscordCommand;
 import com.discordsrv.api.event.events.discord.interaction.command.CommandRegisterEvent;
 import com.discordsrv.common.DiscordSRV;
+import com.discordsrv.common.logging.NamedLogger;
+import com.github.benmanes.caffeine.cache.Cache;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.requests.restaction.CommandListUpdateAction;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -38,12 +41,23 @@ import java.util.stream.Collectors;
 public class DiscordCommandRegistry {
 
     private static final Long GLOBAL_ID = -1L;
+    private static final Duration UNKNOWN_COMMAND_REREGISTER_INTERVAL = Duration.ofMinutes(1);
 
     private final Map<Long, Map<CommandType, Registry>> registries = new ConcurrentHashMap<>();
     private final DiscordSRV discordSRV;
+    private final NamedLogger logger;
+    private final CommandFingerprints fingerprints;
+    // guild id -> commands need to be registered even if nothing changed locally
+    private final Set<Long> staleGuilds = ConcurrentHashMap.newKeySet();
+    private final Cache<Long, Boolean> unknownCommandRateLimit;
 
     public DiscordCommandRegistry(DiscordSRV discordSRV) {
         this.discordSRV = discordSRV;
+        this.logger = new NamedLogger(discordSRV, "DISCORD_COMMANDS");
+        this.fingerprints = new CommandFingerprints(discordSRV, logger);
+        this.unknownCommandRateLimit = discordSRV.caffeineBuilder()
+                .expireAfterWrite(UNKNOWN_COMMAND_REREGISTER_INTERVAL)
+                .build();
     }
 
     public void registerCommandsFromEvent() {
@@ -100,6 +114,34 @@ public class DiscordCommandRegistry {
         return registry.getActive(name);
     }
 
+    /**
+     * Forgets what was registered to the given guild, so that its commands are registered again
+     * on the next {@link #registerCommandsToDiscord()} even if they haven't changed.
+     * @param guildId the guild id or {@code null} for global commands
+     */
+    public void invalidate(@Nullable Long guildId) {
+        long id = guildId != null ? guildId : GLOBAL_ID;
+        fingerprints.remove(id);
+        staleGuilds.add(id);
+    }
+
+    /**
+     * Called when an interaction for a command that isn't active arrives, meaning Discord has different commands
+     * than what was registered. Registers the commands again, at most once per minute for each guild.
+     * @param guildId the guild id or {@code null} for global commands
+     */
+    public void unknownCommandUsed(@Nullable Long guildId) {
+        long id = guildId != null ? guildId : GLOBAL_ID;
+        if (unknownCommandRateLimit.asMap().putIfAbsent(id, true) != null) {
+            return;
+        }
+
+        logger.debug("Received an interaction for an unknown command in " + (guildId != null ? "guild " + guildId : "global commands")
+                             + ", registering commands again");
+        invalidate(guildId);
+        discordSRV.scheduler().run(this::registerCommandsToDiscord);
+    }
+
     public void registerCommandsToDiscord() {
         JDA jda = discordSRV.jda();
         if (jda == null) {
@@ -116,7 +158,8 @@ public class DiscordCommandRegistry {
             Map<CommandType, Registry> commandsByType = registries.getOrDefault(guildId, Collections.emptyMap());
             Map<CommandType, Set<DiscordCommand>> commandsToRegister = new EnumMap<>(CommandType.class);
 
-            boolean updateNeeded = false;
+            boolean stale = staleGuilds.remove(guildId);
+            boolean updateNeeded = stale;
             for (Map.Entry<CommandType, Registry> entry : commandsByType.entrySet()) {
                 Registry registry = entry.getValue();
 
@@ -136,29 +179,71 @@ public class DiscordCommandRegistry {
                 }
             }
 
-            if (updateNeeded) {
-                CommandListUpdateAction action;
-                if (Objects.equals(guildId, GLOBAL_ID)) {
-                    action = jda.updateCommands();
-                } else {
-                    Guild guild = jda.getGuildById(guildId);
-                    if (guild == null) {
-                        continue;
-                    }
-                    action = guild.updateCommands();
+            if (!updateNeeded) {
+                continue;
+            }
+
+            List<DiscordCommand> allCommands = new ArrayList<>();
+            commandsToRegister.values().forEach(allCommands::addAll);
+
+            Guild guild = null;
+            if (!Objects.equals(guildId, GLOBAL_ID)) {
+                guild = jda.getGuildById(guildId);
+                if (guild == null) {
+                    continue;
+                }
+            }
+
+            String fingerprint = CommandFingerprints.fingerprint(jda.getSelfUser().getIdLong(), allCommands);
+            if (stale || !fingerprints.matches(guildId, fingerprint)) {
+                updateCommands(jda, guild, guildId, fingerprint, allCommands, commandsByType, commandsToRegister);
+                continue;
+            }
+
+            // These exact commands were registered before a restart or reload, the fingerprint only knows what was
+            // registered from here however, so check that the commands weren't replaced or removed since then
+            Guild finalGuild = guild;
+            (guild != null ? guild.retrieveCommands() : jda.retrieveCommands()).queue(registered -> {
+                if (CommandFingerprints.isRegistered(registered, allCommands)) {
+                    putActiveCommands(commandsByType, commandsToRegister);
+                    return;
                 }
 
-                List<DiscordCommand> allCommands = new ArrayList<>();
-                commandsToRegister.values().forEach(allCommands::addAll);
-                action.addCommands(allCommands.stream().map(JDAEntity::asJDA).collect(Collectors.toList()))
-                        .queue(v -> {
-                            for (CommandType value : CommandType.values()) {
-                                Registry registry = commandsByType.get(value);
-                                if (registry != null) {
-                                    registry.putActiveCommands(commandsToRegister.get(value));
-                                }
-                            }
-                        });
+                logger.debug("Commands in " + (finalGuild != null ? "guild " + guildId : "global commands")
+                                     + " were changed outside of DiscordSRV, registering commands again");
+                updateCommands(jda, finalGuild, guildId, fingerprint, allCommands, commandsByType, commandsToRegister);
+            }, t -> {
+                logger.debug("Failed to retrieve commands, registering commands again", t);
+                updateCommands(jda, finalGuild, guildId, fingerprint, allCommands, commandsByType, commandsToRegister);
+            });
+        }
+    }
+
+    private void updateCommands(
+            JDA jda,
+            @Nullable Guild guild,
+            long guildId,
+            String fingerprint,
+            List<DiscordCommand> allCommands,
+            Map<CommandType, Registry> commandsByType,
+            Map<CommandType, Set<DiscordCommand>> commandsToRegister
+    ) {
+        CommandListUpdateAction action = guild != null ? guild.updateCommands() : jda.updateCommands();
+        action.addCommands(allCommands.stream().map(JDAEntity::asJDA).collect(Collectors.toList()))
+                .queue(v -> {
+                    putActiveCommands(commandsByType, commandsToRegister);
+                    fingerprints.put(guildId, fingerprint);
+                });
+    }
+
+    private void putActiveCommands(
+            Map<CommandType, Registry> commandsByType,
+            Map<CommandType, Set<DiscordCommand>> commandsToRegister
+    ) {
+        for (CommandType value : CommandType.values()) {
+            Registry registry = commandsByType.get(value);
+            if (registry != null) {
+                registry.putActiveCommands(commandsToRegister.get(value));
             }
         }
     }
@@ -45,11 +45,8 @@ public abstract class AbstractDiscordGuildMessageChannel<T extends GuildMessageC
         extends AbstractDiscordMessageChannel<T>
         implements DiscordGuildMessageChannel {
 
-    private final DiscordGuild guild;
-
     public AbstractDiscordGuildMessageChannel(DiscordSRV discordSRV, T channel) {
         super(discordSRV, channel);
-        this.guild = discordSRV.discordAPI().getGuild(channel.getGuild());
     }
 
     public CompletableFuture<WebhookClient<Message>> queryWebhookClient() {
@@ -73,7 +70,7 @@ public abstract class AbstractDiscordGuildMessageChannel<T extends GuildMessageC
 
     @Override
     public @NotNull DiscordGuild getGuild() {
-        return guild;
+        return discordSRV.discordAPI().getGuild(channel.getGuild());
     }
 
     @Override
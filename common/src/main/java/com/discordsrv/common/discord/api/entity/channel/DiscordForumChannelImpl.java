@@ -43,12 +43,10 @@ public class DiscordForumChannelImpl implements DiscordForumChannel {
 
     private final DiscordSRV discordSRV;
     private final ForumChannel channel;
-    private final DiscordGuild guild;
 
     public DiscordForumChannelImpl(DiscordSRV discordSRV, ForumChannel channel) {
         this.discordSRV = discordSRV;
         this.channel = channel;
-        this.guild = discordSRV.discordAPI().getGuild(channel.getGuild());
     }
 
     @Override
@@ -68,7 +66,7 @@ public class DiscordForumChannelImpl implements DiscordForumChannel {
 
     @Override
     public @NotNull DiscordGuild getGuild() {
-        return guild;
+        return discordSRV.discordAPI().getGuild(channel.getGuild());
     }
 
     @Override
@@ -39,15 +39,8 @@ import java.util.concurrent.CompletableFuture;
 
 public class DiscordThreadChannelImpl extends AbstractDiscordGuildMessageChannel<ThreadChannel> implements DiscordThreadChannel {
 
-    private final DiscordThreadContainer threadContainer;
-    private final DiscordGuild guild;
-
     public DiscordThreadChannelImpl(DiscordSRV discordSRV, ThreadChannel thread) {
         super(discordSRV, thread);
-
-        IThreadContainer container = thread.getParentChannel();
-        this.threadContainer = (DiscordThreadContainer) discordSRV.discordAPI().getChannel(container);
-        this.guild = discordSRV.discordAPI().getGuild(thread.getGuild());
     }
 
     @Override
@@ -73,12 +66,13 @@ public class DiscordThreadChannelImpl extends AbstractDiscordGuildMessageChannel
 
     @Override
     public @NotNull DiscordGuild getGuild() {
-        return guild;
+        return discordSRV.discordAPI().getGuild(channel.getGuild());
     }
 
     @Override
     public @NotNull DiscordThreadContainer getParentChannel() {
-        return threadContainer;
+        IThreadContainer container = channel.getParentChannel();
+        return (DiscordThreadContainer) discordSRV.discordAPI().getChannel(container);
     }
 
     @Override
@@ -113,7 +107,7 @@ public class DiscordThreadChannelImpl extends AbstractDiscordGuildMessageChannel
 
     @Override
     public String toString() {
-        return "Thread:" + getName() + "(" + Long.toUnsignedString(getId()) + " in " + threadContainer + ")";
+        return "Thread:" + getName() + "(" + Long.toUnsignedString(getId()) + " in " + getParentChannel() + ")";
     }
 
     @Override
@@ -37,6 +37,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -45,33 +46,20 @@ public class DiscordGuildMemberImpl implements DiscordGuildMember {
 
     private final DiscordSRV discordSRV;
     private final Member member;
-    private final DiscordUser user;
-    private final DiscordGuild guild;
-    private final List<DiscordRole> roles;
-    private final Color color;
 
     public DiscordGuildMemberImpl(DiscordSRV discordSRV, Member member) {
         this.discordSRV = discordSRV;
         this.member = member;
-        this.user = discordSRV.discordAPI().getUser(member.getUser());
-        this.guild = discordSRV.discordAPI().getGuild(member.getGuild());
-
-        List<DiscordRole> roles = new ArrayList<>();
-        for (Role role : member.getRoles()) {
-            roles.add(discordSRV.discordAPI().getRole(role));
-        }
-        this.roles = roles;
-        this.color = new Color(member.getColorRaw());
     }
 
     @Override
     public @NotNull DiscordUser getUser() {
-        return user;
+        return discordSRV.discordAPI().getUser(member.getUser());
     }
 
     @Override
     public @NotNull DiscordGuild getGuild() {
-        return guild;
+        return discordSRV.discordAPI().getGuild(member.getGuild());
     }
 
     @Override
@@ -86,12 +74,23 @@ public class DiscordGuildMemberImpl implements DiscordGuildMember {
 
     @Override
     public @NotNull List<DiscordRole> getRoles() {
+        List<Role> memberRoles = member.getRoles();
+        List<DiscordRole> roles = new ArrayList<>(memberRoles.size());
+        for (Role role : memberRoles) {
+            roles.add(discordSRV.discordAPI().getRole(role));
+        }
         return roles;
     }
 
     @Override
     public boolean hasRole(@NotNull DiscordRole role) {
-        return roles.stream().anyMatch(role::equals);
+        long roleId = role.getId();
+        for (Role memberRole : member.getRoles()) {
+            if (memberRole.getIdLong() == roleId) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -102,14 +101,30 @@ public class DiscordGuildMemberImpl implements DiscordGuildMember {
     @Override
     public CompletableFuture<Void> addRole(@NotNull DiscordRole role) {
         return discordSRV.discordAPI().mapExceptions(() ->
-                guild.asJDA().addRoleToMember(member, role.asJDA()).submit()
+                member.getGuild().addRoleToMember(member, role.asJDA()).submit()
         );
     }
 
     @Override
     public CompletableFuture<Void> removeRole(@NotNull DiscordRole role) {
         return discordSRV.discordAPI().mapExceptions(() ->
-                guild.asJDA().removeRoleFromMember(member, role.asJDA()).submit()
+                member.getGuild().removeRoleFromMember(member, role.asJDA()).submit()
+        );
+    }
+
+    @Override
+    public CompletableFuture<Void> modifyRoles(@NotNull Collection<DiscordRole> rolesToAdd, @NotNull Collection<DiscordRole> rolesToRemove) {
+        List<Role> add = new ArrayList<>(rolesToAdd.size());
+        for (DiscordRole role : rolesToAdd) {
+            add.add(role.asJDA());
+        }
+        List<Role> remove = new ArrayList<>(rolesToRemove.size());
+        for (DiscordRole role : rolesToRemove) {
+            remove.add(role.asJDA());
+        }
+
+        return discordSRV.discordAPI().mapExceptions(() ->
+                member.getGuild().modifyMemberRoles(member, add, remove).submit()
         );
     }
 
@@ -120,7 +135,7 @@ public class DiscordGuildMemberImpl implements DiscordGuildMember {
 
     @Override
     public Color getColor() {
-        return color;
+        return new Color(member.getColorRaw());
     }
 
     @Override
@@ -139,14 +154,15 @@ public class DiscordGuildMemberImpl implements DiscordGuildMember {
 
     @Placeholder(value = "highest_role", relookup = "role")
     public DiscordRole _highestRole() {
-        return !roles.isEmpty() ? roles.get(0) : null;
+        List<Role> memberRoles = member.getRoles();
+        return !memberRoles.isEmpty() ? discordSRV.discordAPI().getRole(memberRoles.get(0)) : null;
     }
 
     @Placeholder(value = "hoisted_role", relookup = "role")
     public DiscordRole _hoistedRole() {
-        for (DiscordRole role : roles) {
+        for (Role role : member.getRoles()) {
             if (role.isHoisted()) {
-                return role;
+                return discordSRV.discordAPI().getRole(role);
             }
         }
         return null;
@@ -29,14 +29,12 @@ import java.util.Objects;
 
 public class DiscordRoleImpl implements DiscordRole {
 
+    private final DiscordSRV discordSRV;
     private final Role role;
-    private final DiscordGuild guild;
-    private final Color color;
 
     public DiscordRoleImpl(DiscordSRV discordSRV, Role role) {
+        this.discordSRV = discordSRV;
         this.role = role;
-        this.guild = discordSRV.discordAPI().getGuild(role.getGuild());
-        this.color = new Color(role.getColorRaw());
     }
 
     @Override
@@ -46,7 +44,7 @@ public class DiscordRoleImpl implements DiscordRole {
 
     @Override
     public @NotNull DiscordGuild getGuild() {
-        return guild;
+        return discordSRV.discordAPI().getGuild(role.getGuild());
     }
 
     @Override
@@ -56,7 +54,7 @@ public class DiscordRoleImpl implements DiscordRole {
 
     @Override
     public @NotNull Color getColor() {
-        return color;
+        return new Color(role.getColorRaw());
     }
 
     @Override
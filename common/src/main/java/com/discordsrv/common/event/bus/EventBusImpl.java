@@ -30,34 +30,27 @@ import com.discordsrv.common.DiscordSRV;
 import com.discordsrv.common.debug.DebugGenerateEvent;
 import com.discordsrv.common.debug.file.TextDebugFile;
 import com.discordsrv.common.exception.InvalidListenerMethodException;
-import com.discordsrv.common.logging.Logger;
 import com.discordsrv.common.logging.NamedLogger;
 import com.discordsrv.common.testing.TestHelper;
 import net.dv8tion.jda.api.events.GenericEvent;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.discordsrv.common.exception.util.ExceptionUtil.minifyException;
 
 public class EventBusImpl implements EventBus {
 
-    private static final List<Pair<Function<Object, Boolean>, ThreadLocal<EventListener>>> STATES = Arrays.asList(
-            Pair.of(event -> event instanceof Cancellable && ((Cancellable) event).isCancelled(), EventStateHolder.CANCELLED),
-            Pair.of(event -> event instanceof Processable && ((Processable) event).isProcessed(), EventStateHolder.PROCESSED)
-    );
-
     private final Map<Object, List<EventListenerImpl>> listeners = new ConcurrentHashMap<>();
     private final List<EventListenerImpl> allListeners = new CopyOnWriteArrayList<>();
-    private final Logger logger;
+    private final Map<Class<?>, EventListenerImpl[]> dispatchCache = new ConcurrentHashMap<>();
+    private final NamedLogger logger;
 
     public EventBusImpl(DiscordSRV discordSRV) {
         this.logger = new NamedLogger(discordSRV, "EVENT_BUS");
@@ -67,6 +60,7 @@ public class EventBusImpl implements EventBus {
     public void shutdown() {
         listeners.clear();
         allListeners.clear();
+        dispatchCache.clear();
     }
 
     @Override
@@ -88,6 +82,7 @@ public class EventBusImpl implements EventBus {
 
         listeners.put(eventListener, methods);
         allListeners.addAll(methods);
+        dispatchCache.clear();
         logger.debug("Listener " + eventListener.getClass().getName() + " subscribed");
     }
 
@@ -173,10 +168,42 @@ public class EventBusImpl implements EventBus {
         List<EventListenerImpl> removed = listeners.remove(eventListener);
         if (removed != null) {
             allListeners.removeAll(removed);
+            dispatchCache.clear();
             logger.debug("Listener " + eventListener.getClass().getName() + " unsubscribed");
         }
     }
 
+    /**
+     * Gets the listeners for the given event class, in the order they should be called in.
+     * The result is cached until a listener is subscribed or unsubscribed.
+     */
+    private EventListenerImpl[] getDispatchTable(Class<?> eventClass) {
+        EventListenerImpl[] dispatchTable = dispatchCache.get(eventClass);
+        if (dispatchTable != null) {
+            return dispatchTable;
+        }
+
+        // The cache is cleared after modifying allListeners, computeIfAbsent makes sure a stale table isn't left behind
+        return dispatchCache.computeIfAbsent(eventClass, this::createDispatchTable);
+    }
+
+    private EventListenerImpl[] createDispatchTable(Class<?> eventClass) {
+        List<EventListenerImpl> matchingListeners = new ArrayList<>();
+        for (EventPriority priority : EventPriority.values()) {
+            for (EventListenerImpl eventListener : allListeners) {
+                if (eventListener.priority() != priority) {
+                    continue;
+                }
+                if (!eventListener.eventClass().isAssignableFrom(eventClass)) {
+                    continue;
+                }
+
+                matchingListeners.add(eventListener);
+            }
+        }
+        return matchingListeners.toArray(new EventListenerImpl[0]);
+    }
+
     @Override
     public void publish(@NotNull Event event) {
         publishEvent(event);
@@ -188,75 +215,80 @@ public class EventBusImpl implements EventBus {
     }
 
     private void publishEvent(Object event) {
-        List<Boolean> states = new ArrayList<>(STATES.size());
-        for (Pair<Function<Object, Boolean>, ThreadLocal<EventListener>> entry : STATES) {
-            if (entry.getKey().apply(event)) {
-                // If the state is already set before listeners, we mark it as being changed by a 'unknown' event listener
-                states.add(true);
-                entry.getValue().set(EventStateHolder.UNKNOWN_LISTENER);
-                continue;
-            }
-            states.add(false);
+        // Only events implementing Cancellable/Processable have their states tracked
+        boolean cancellable = event instanceof Cancellable;
+        boolean processable = event instanceof Processable;
+        boolean cancelled = cancellable && ((Cancellable) event).isCancelled();
+        boolean processed = processable && ((Processable) event).isProcessed();
+
+        // If the state is already set before listeners, we mark it as being changed by a 'unknown' event listener
+        if (cancelled) {
+            EventStateHolder.CANCELLED.set(EventStateHolder.UNKNOWN_LISTENER);
+        }
+        if (processed) {
+            EventStateHolder.PROCESSED.set(EventStateHolder.UNKNOWN_LISTENER);
         }
 
         Class<?> eventClass = event.getClass();
-        for (EventPriority priority : EventPriority.values()) {
-            for (EventListenerImpl eventListener : allListeners) {
-                if (eventListener.isIgnoringCancelled() && event instanceof Cancellable && ((Cancellable) event).isCancelled()) {
-                    continue;
-                }
-                if (eventListener.priority() != priority) {
-                    continue;
-                }
-                if (!eventListener.eventClass().isAssignableFrom(eventClass)) {
-                    continue;
-                }
+        boolean trace = logger.isTraceEnabled();
+        for (EventListenerImpl eventListener : getDispatchTable(eventClass)) {
+            if (cancelled && eventListener.isIgnoringCancelled()) {
+                continue;
+            }
 
-                long startTime = System.currentTimeMillis();
-                try {
-                    Object listener = eventListener.listener();
-                    eventListener.method().invoke(listener, event);
-                } catch (IllegalAccessException e) {
-                    logger.error("Failed to access listener method: " + eventListener.methodName() + " in " + eventListener.className(), e);
-                    TestHelper.fail(e);
-                } catch (InvocationTargetException e) {
-                    String eventClassName = eventClass.getName();
-                    Throwable cause = e.getCause();
-                    if (eventListener.className().startsWith("com.discordsrv")) {
-                        logger.error("Failed to pass " + eventClassName + " to " + eventListener, cause);
-                    } else {
-                        // Print the listener failing without references to the DiscordSRV event bus
-                        // as it isn't relevant to the exception, and often causes users to suspect DiscordSRV is doing something wrong when it isn't
-                        //noinspection CallToPrintStackTrace
-                        e.getCause().printStackTrace();
-                    }
-                    TestHelper.fail(cause);
+            long startTime = trace ? System.currentTimeMillis() : 0;
+            try {
+                eventListener.invoke(event);
+            } catch (IllegalAccessException e) {
+                logger.error("Failed to access listener method: " + eventListener.methodName() + " in " + eventListener.className(), e);
+                TestHelper.fail(e);
+            } catch (Throwable cause) {
+                String eventClassName = eventClass.getName();
+                if (eventListener.className().startsWith("com.discordsrv")) {
+                    logger.error("Failed to pass " + eventClassName + " to " + eventListener, cause);
+                } else {
+                    // Print the listener failing without references to the DiscordSRV event bus
+                    // as it isn't relevant to the exception, and often causes users to suspect DiscordSRV is doing something wrong when it isn't
+                    //noinspection CallToPrintStackTrace
+                    cause.printStackTrace();
                 }
+                TestHelper.fail(cause);
+            }
+            if (trace) {
                 long timeTaken = System.currentTimeMillis() - startTime;
                 logger.trace(eventListener + " took " + timeTaken + "ms to execute");
+            }
 
-                for (int index = 0; index < STATES.size(); index++) {
-                    Pair<Function<Object, Boolean>, ThreadLocal<EventListener>> state = STATES.get(index);
-
-                    boolean current = states.get(index);
-                    boolean updated = state.getKey().apply(event);
-                    states.set(index, updated);
-
-                    ThreadLocal<EventListener> stateHolder = state.getValue();
-                    if (current != updated) {
-                        if (updated) {
-                            stateHolder.set(eventListener);
-                        } else {
-                            stateHolder.remove();
-                        }
-                    }
+            if (cancellable) {
+                boolean updated = ((Cancellable) event).isCancelled();
+                if (updated != cancelled) {
+                    cancelled = updated;
+                    updateState(EventStateHolder.CANCELLED, updated, eventListener);
+                }
+            }
+            if (processable) {
+                boolean updated = ((Processable) event).isProcessed();
+                if (updated != processed) {
+                    processed = updated;
+                    updateState(EventStateHolder.PROCESSED, updated, eventListener);
                 }
             }
         }
 
         // Clear the states
-        for (Pair<Function<Object, Boolean>, ThreadLocal<EventListener>> state : STATES) {
-            state.getValue().remove();
+        if (cancellable) {
+            EventStateHolder.CANCELLED.remove();
+        }
+        if (processable) {
+            EventStateHolder.PROCESSED.remove();
+        }
+    }
+
+    private void updateState(ThreadLocal<EventListener> stateHolder, boolean state, EventListenerImpl eventListener) {
+        if (state) {
+            stateHolder.set(eventListener);
+        } else {
+            stateHolder.remove();
         }
     }
 
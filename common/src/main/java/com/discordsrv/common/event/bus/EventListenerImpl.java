@@ -32,6 +32,7 @@ public class EventListenerImpl implements EventListener {
     private final Subscribe annotation;
     private final Class<?> eventClass;
     private final Method method;
+    private final EventListenerInvoker invoker;
 
     public EventListenerImpl(Object listener, Class<?> listenerClass, Subscribe annotation, Class<?> eventClass, Method method) {
         this.listener = listener;
@@ -39,6 +40,7 @@ public class EventListenerImpl implements EventListener {
         this.annotation = annotation;
         this.eventClass = eventClass;
         this.method = method;
+        this.invoker = EventListenerInvokerFactory.create(method);
     }
 
     public boolean isIgnoringCancelled() {
@@ -62,6 +64,10 @@ public class EventListenerImpl implements EventListener {
         return method;
     }
 
+    public void invoke(Object event) throws Throwable {
+        invoker.invoke(listener, event);
+    }
+
     @Override
     public @NotNull String className() {
         return listenerClass.getName();
@@ -0,0 +1,112 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.event.bus;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Creates {@link EventListenerInvoker}s for listener methods, preferring (in order):
+ * <ol>
+ *     <li>a generated implementation via {@link LambdaMetafactory}, which the JIT can inline</li>
+ *     <li>a {@link MethodHandle}, if the listener class isn't visible to DiscordSRV's classloader</li>
+ *     <li>reflection, if neither of the above are possible</li>
+ * </ol>
+ */
+public final class EventListenerInvokerFactory {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(EventListenerInvoker.class);
+    private static final MethodType INVOKE_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private EventListenerInvokerFactory() {}
+
+    public static EventListenerInvoker create(Method method) {
+        EventListenerInvoker invoker = createGenerated(method);
+        if (invoker != null) {
+            return invoker;
+        }
+
+        invoker = createMethodHandle(method);
+        if (invoker != null) {
+            return invoker;
+        }
+
+        return createReflective(method);
+    }
+
+    private static EventListenerInvoker createGenerated(Method method) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        Class<?> eventClass = method.getParameterTypes()[0];
+
+        // The generated class links against the listener & event classes using our classloader
+        if (!isVisible(declaringClass) || !isVisible(eventClass)) {
+            return null;
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = lookup.unreflect(method);
+            CallSite callSite = LambdaMetafactory.metafactory(
+                    lookup,
+                    "invoke",
+                    INVOKER_TYPE,
+                    INVOKE_TYPE,
+                    handle,
+                    MethodType.methodType(void.class, declaringClass, eventClass)
+            );
+            return (EventListenerInvoker) callSite.getTarget().invokeExact();
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    private static EventListenerInvoker createMethodHandle(Method method) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(method).asType(INVOKE_TYPE);
+        } catch (IllegalAccessException ignored) {
+            return null;
+        }
+
+        return (listener, event) -> handle.invokeExact(listener, event);
+    }
+
+    private static EventListenerInvoker createReflective(Method method) {
+        return (listener, event) -> {
+            try {
+                method.invoke(listener, event);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private static boolean isVisible(Class<?> clazz) {
+        try {
+            return Class.forName(clazz.getName(), false, EventListenerInvokerFactory.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException | LinkageError ignored) {
+            return false;
+        }
+    }
+}
@@ -18,6 +18,8 @@
 
 package com.discordsrv.common.groupsync;
 
+import com.discordsrv.api.discord.entity.guild.DiscordGuild;
+import com.discordsrv.api.discord.entity.guild.DiscordGuildMember;
 import com.discordsrv.api.discord.entity.guild.DiscordRole;
 import com.discordsrv.api.event.bus.Subscribe;
 import com.discordsrv.api.event.events.discord.member.role.DiscordMemberRoleAddEvent;
@@ -108,6 +110,9 @@ public class GroupSyncModule extends AbstractSyncModule<DiscordSRV, GroupSyncCon
             }
         }
 
+        builder.append("\n\nTimed resync queue: ").append(resyncQueue.depth()).append(" pending, ")
+                .append(resyncQueue.lag().toMillis()).append("ms behind");
+
         PermissionModule.Groups groups = getPermissionProvider();
         if (groups != null) {
             builder.append("\n\nAvailable groups (").append(groups.getClass().getName()).append("):");
@@ -199,22 +204,42 @@ public class GroupSyncModule extends AbstractSyncModule<DiscordSRV, GroupSyncCon
 
     @Override
     public CompletableFuture<Boolean> getDiscord(GroupSyncConfig.PairConfig config, long userId) {
-        DiscordRole role = discordSRV.discordAPI().getRoleById(config.roleId);
-        if (role == null) {
-            return CompletableFutureUtil.failed(new SyncFail(GroupSyncResult.ROLE_DOESNT_EXIST));
-        }
+        return getDiscord(Collections.singleton(config), userId).get(config);
+    }
 
-        if (!role.getGuild().getSelfMember().canInteract(role)) {
-            return CompletableFutureUtil.failed(new SyncFail(GroupSyncResult.ROLE_CANNOT_INTERACT));
-        }
+    @Override
+    protected Map<GroupSyncConfig.PairConfig, CompletableFuture<Boolean>> getDiscord(
+            Collection<GroupSyncConfig.PairConfig> configs,
+            long userId
+    ) {
+        Map<GroupSyncConfig.PairConfig, CompletableFuture<Boolean>> states = new LinkedHashMap<>();
+
+        // One member lookup per server, shared by all the pairs with roles in that server
+        Map<Long, CompletableFuture<DiscordGuildMember>> members = new HashMap<>();
+        for (GroupSyncConfig.PairConfig config : configs) {
+            DiscordRole role = discordSRV.discordAPI().getRoleById(config.roleId);
+            if (role == null) {
+                states.put(config, CompletableFutureUtil.failed(new SyncFail(GroupSyncResult.ROLE_DOESNT_EXIST)));
+                continue;
+            }
 
-        return role.getGuild().retrieveMemberById(userId).thenApply(member -> {
-            if (member == null) {
-                throw new SyncFail(GroupSyncResult.NOT_A_GUILD_MEMBER);
+            DiscordGuild guild = role.getGuild();
+            if (!guild.getSelfMember().canInteract(role)) {
+                states.put(config, CompletableFutureUtil.failed(new SyncFail(GroupSyncResult.ROLE_CANNOT_INTERACT)));
+                continue;
             }
 
-            return member.hasRole(role);
-        });
+            CompletableFuture<DiscordGuildMember> memberFuture = members.computeIfAbsent(
+                    guild.getId(), key -> guild.retrieveMemberById(userId));
+            states.put(config, memberFuture.thenApply(member -> {
+                if (member == null) {
+                    throw new SyncFail(GroupSyncResult.NOT_A_GUILD_MEMBER);
+                }
+
+                return member.hasRole(role);
+            }));
+        }
+        return states;
     }
 
     @Override
@@ -235,28 +260,86 @@ public class GroupSyncModule extends AbstractSyncModule<DiscordSRV, GroupSyncCon
 
     @Override
     public CompletableFuture<ISyncResult> applyDiscord(GroupSyncConfig.PairConfig config, long userId, Boolean newState) {
-        boolean stateToApply = newState != null && newState;
+        return applyDiscord(Collections.singletonMap(config, newState), userId).get(config);
+    }
 
-        DiscordRole role = discordSRV.discordAPI().getRoleById(config.roleId);
-        if (role == null) {
-            return CompletableFutureUtil.failed(new SyncFail(GroupSyncResult.ROLE_DOESNT_EXIST));
+    @Override
+    protected Map<GroupSyncConfig.PairConfig, CompletableFuture<ISyncResult>> applyDiscord(
+            Map<GroupSyncConfig.PairConfig, Boolean> newStates,
+            long userId
+    ) {
+        Map<GroupSyncConfig.PairConfig, CompletableFuture<ISyncResult>> results = new LinkedHashMap<>();
+
+        // Group the role changes by server, so that each server only gets one member lookup and one role update
+        Map<Long, List<GroupSyncConfig.PairConfig>> configsByGuild = new LinkedHashMap<>();
+        Map<GroupSyncConfig.PairConfig, DiscordRole> roles = new HashMap<>();
+        for (GroupSyncConfig.PairConfig config : newStates.keySet()) {
+            DiscordRole role = discordSRV.discordAPI().getRoleById(config.roleId);
+            if (role == null) {
+                results.put(config, CompletableFutureUtil.failed(new SyncFail(GroupSyncResult.ROLE_DOESNT_EXIST)));
+                continue;
+            }
+
+            roles.put(config, role);
+            configsByGuild.computeIfAbsent(role.getGuild().getId(), key -> new ArrayList<>()).add(config);
         }
 
         Map<Long, Boolean> expected = expectedDiscordChanges.get(userId, key -> new ConcurrentHashMap<>());
-        if (expected != null) {
-            expected.put(config.roleId, stateToApply);
+        for (List<GroupSyncConfig.PairConfig> guildConfigs : configsByGuild.values()) {
+            List<DiscordRole> rolesToAdd = new ArrayList<>();
+            List<DiscordRole> rolesToRemove = new ArrayList<>();
+            for (GroupSyncConfig.PairConfig config : guildConfigs) {
+                Boolean newState = newStates.get(config);
+                boolean stateToApply = newState != null && newState;
+                if (expected != null) {
+                    expected.put(config.roleId, stateToApply);
+                }
+
+                (stateToApply ? rolesToAdd : rolesToRemove).add(roles.get(config));
+            }
+            // A role cannot be both added and removed in the same request
+            rolesToRemove.removeAll(rolesToAdd);
+
+            DiscordGuild guild = roles.get(guildConfigs.get(0)).getGuild();
+            CompletableFuture<Void> future = guild.retrieveMemberById(userId)
+                    .thenCompose(member -> {
+                        if (member == null) {
+                            throw new SyncFail(GroupSyncResult.NOT_A_GUILD_MEMBER);
+                        }
+
+                        return member.modifyRoles(rolesToAdd, rolesToRemove);
+                    }).whenComplete((v, t) -> {
+                        if (t != null && expected != null) {
+                            for (GroupSyncConfig.PairConfig config : guildConfigs) {
+                                expected.remove(config.roleId);
+                            }
+                        }
+                    });
+
+            for (GroupSyncConfig.PairConfig config : guildConfigs) {
+                Boolean newState = newStates.get(config);
+                ISyncResult result = newState != null && newState
+                                     ? GenericSyncResults.ADD_DISCORD
+                                     : GenericSyncResults.REMOVE_DISCORD;
+                results.put(config, future.thenApply(v -> result));
+            }
         }
+        return results;
+    }
+
+    @Override
+    protected Map<GroupSyncConfig.PairConfig, CompletableFuture<Boolean>> getGame(
+            Collection<GroupSyncConfig.PairConfig> configs,
+            UUID playerUUID
+    ) {
+        Map<GroupSyncConfig.PairConfig, CompletableFuture<Boolean>> states = new LinkedHashMap<>();
 
-        return role.getGuild().retrieveMemberById(userId)
-                .thenCompose(member -> stateToApply
-                                       ? member.addRole(role).thenApply(v -> (ISyncResult) GenericSyncResults.ADD_DISCORD)
-                                       : member.removeRole(role).thenApply(v -> GenericSyncResults.REMOVE_DISCORD)
-                ).whenComplete((r, t) -> {
-                    if (t != null) {
-                        //noinspection DataFlowIssue
-                        expected.remove(config.roleId);
-                    }
-                });
+        // Pairs for the same group and server context share a single permission backend lookup
+        Map<String, CompletableFuture<Boolean>> groups = new HashMap<>();
+        for (GroupSyncConfig.PairConfig config : configs) {
+            states.put(config, groups.computeIfAbsent(config.gameId(), key -> getGame(config, playerUUID)));
+        }
+        return states;
     }
 
     @Override
@@ -23,9 +23,7 @@ import com.discordsrv.common.player.IPlayer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Locale;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
 
 public interface LinkProvider {
@@ -48,6 +46,46 @@ public interface LinkProvider {
         return Optional.empty();
     }
 
+    /**
+     * Queries the user ids linked to the given players, implementations should override this if they can perform bulk lookups.
+     * @return the linked user ids by player {@link UUID}, players that aren't linked are not included
+     */
+    default CompletableFuture<Map<UUID, Long>> queryUserIds(@NotNull Collection<UUID> playerUUIDs) {
+        Map<UUID, CompletableFuture<Optional<Long>>> futures = new LinkedHashMap<>();
+        for (UUID playerUUID : playerUUIDs) {
+            futures.put(playerUUID, queryUserId(playerUUID));
+        }
+
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).thenApply(v -> {
+            Map<UUID, Long> userIds = new LinkedHashMap<>();
+            for (Map.Entry<UUID, CompletableFuture<Optional<Long>>> entry : futures.entrySet()) {
+                entry.getValue().join().ifPresent(userId -> userIds.put(entry.getKey(), userId));
+            }
+            return userIds;
+        });
+    }
+
+    default CompletableFuture<Map<UUID, Long>> getUserIds(@NotNull Collection<UUID> playerUUIDs) {
+        Map<UUID, Long> userIds = new LinkedHashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID playerUUID : playerUUIDs) {
+            Optional<Long> userId = getCachedUserId(playerUUID);
+            if (userId.isPresent()) {
+                userIds.put(playerUUID, userId.get());
+            } else {
+                missing.add(playerUUID);
+            }
+        }
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(userIds);
+        }
+
+        return queryUserIds(missing).thenApply(queried -> {
+            userIds.putAll(queried);
+            return userIds;
+        });
+    }
+
     default CompletableFuture<Optional<UUID>> queryPlayerUUID(long userId) {
         return queryPlayerUUID(userId, false);
     }
@@ -66,6 +104,46 @@ public interface LinkProvider {
         return Optional.empty();
     }
 
+    /**
+     * Queries the players linked to the given user ids, implementations should override this if they can perform bulk lookups.
+     * @return the linked player {@link UUID}s by user id, users that aren't linked are not included
+     */
+    default CompletableFuture<Map<Long, UUID>> queryPlayerUUIDs(@NotNull Collection<Long> userIds) {
+        Map<Long, CompletableFuture<Optional<UUID>>> futures = new LinkedHashMap<>();
+        for (long userId : userIds) {
+            futures.put(userId, queryPlayerUUID(userId));
+        }
+
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).thenApply(v -> {
+            Map<Long, UUID> playerUUIDs = new LinkedHashMap<>();
+            for (Map.Entry<Long, CompletableFuture<Optional<UUID>>> entry : futures.entrySet()) {
+                entry.getValue().join().ifPresent(playerUUID -> playerUUIDs.put(entry.getKey(), playerUUID));
+            }
+            return playerUUIDs;
+        });
+    }
+
+    default CompletableFuture<Map<Long, UUID>> getPlayerUUIDs(@NotNull Collection<Long> userIds) {
+        Map<Long, UUID> playerUUIDs = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (long userId : userIds) {
+            Optional<UUID> playerUUID = getCachedPlayerUUID(userId);
+            if (playerUUID.isPresent()) {
+                playerUUIDs.put(userId, playerUUID.get());
+            } else {
+                missing.add(userId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(playerUUIDs);
+        }
+
+        return queryPlayerUUIDs(missing).thenApply(queried -> {
+            playerUUIDs.putAll(queried);
+            return playerUUIDs;
+        });
+    }
+
     default CompletableFuture<MinecraftComponent> getLinkingInstructions(@NotNull IPlayer player, @Nullable String requestReason) {
         return getLinkingInstructions(player.username(), player.uniqueId(), player.locale(), requestReason);
     }
@@ -29,9 +29,7 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Expiry;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Optional;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Executor;
@@ -88,6 +86,23 @@ public abstract class CachedLinkProvider implements LinkProvider {
                         return queryUserId(key, linkingAllowed.remove(key)).thenApply(opt -> opt.orElse(UNLINKED_USER));
                     }
 
+                    @Override
+                    public @NotNull CompletableFuture<Map<UUID, Long>> asyncLoadAll(
+                            @NotNull Iterable<? extends UUID> keys,
+                            @NotNull Executor executor
+                    ) {
+                        List<UUID> playerUUIDs = new ArrayList<>();
+                        keys.forEach(playerUUIDs::add);
+
+                        return queryUserIds(playerUUIDs).thenApply(userIds -> {
+                            Map<UUID, Long> values = new HashMap<>(playerUUIDs.size());
+                            for (UUID playerUUID : playerUUIDs) {
+                                values.put(playerUUID, userIds.getOrDefault(playerUUID, UNLINKED_USER));
+                            }
+                            return values;
+                        });
+                    }
+
                     @Override
                     public @NotNull CompletableFuture<Long> asyncReload(
                             @NotNull UUID key,
@@ -115,6 +130,19 @@ public abstract class CachedLinkProvider implements LinkProvider {
         });
     }
 
+    @Override
+    public CompletableFuture<Map<UUID, Long>> getUserIds(@NotNull Collection<UUID> playerUUIDs) {
+        return playerToUser.getAll(playerUUIDs).thenApply(values -> {
+            Map<UUID, Long> userIds = new LinkedHashMap<>(values.size());
+            for (Map.Entry<UUID, Long> entry : values.entrySet()) {
+                if (entry.getValue() != UNLINKED_USER) {
+                    userIds.put(entry.getKey(), entry.getValue());
+                }
+            }
+            return userIds;
+        });
+    }
+
     @Override
     public Optional<Long> getCachedUserId(@NotNull UUID player) {
         Long value = playerToUser.synchronous().getIfPresent(player);
@@ -140,6 +168,32 @@ public abstract class CachedLinkProvider implements LinkProvider {
         });
     }
 
+    @Override
+    public CompletableFuture<Map<Long, UUID>> getPlayerUUIDs(@NotNull Collection<Long> userIds) {
+        Map<Long, UUID> playerUUIDs = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (long userId : userIds) {
+            UUID player = userToPlayer.getIfPresent(userId);
+            if (player == null) {
+                missing.add(userId);
+            } else if (player != UNLINKED_UUID) {
+                playerUUIDs.put(userId, player);
+            }
+        }
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(playerUUIDs);
+        }
+
+        return queryPlayerUUIDs(missing).thenApply(queried -> {
+            for (long userId : missing) {
+                UUID uuid = queried.get(userId);
+                userToPlayer.put(userId, uuid != null ? uuid : UNLINKED_UUID);
+            }
+            playerUUIDs.putAll(queried);
+            return playerUUIDs;
+        });
+    }
+
     @Override
     public Optional<UUID> getCachedPlayerUUID(long discordId) {
         UUID value = userToPlayer.getIfPresent(discordId);
@@ -26,9 +26,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.security.SecureRandom;
-import java.util.Locale;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
 
 public class StorageLinker extends CachedLinkProvider.Store {
@@ -45,6 +43,11 @@ public class StorageLinker extends CachedLinkProvider.Store {
         });
     }
 
+    @Override
+    public CompletableFuture<Map<UUID, Long>> queryUserIds(@NotNull Collection<UUID> playerUUIDs) {
+        return discordSRV.scheduler().supply(() -> discordSRV.storage().getUserIds(playerUUIDs));
+    }
+
     @Override
     public CompletableFuture<Optional<UUID>> queryPlayerUUID(long userId, boolean canCauseLink) {
         return discordSRV.scheduler().supply(() -> {
@@ -53,6 +56,11 @@ public class StorageLinker extends CachedLinkProvider.Store {
         });
     }
 
+    @Override
+    public CompletableFuture<Map<Long, UUID>> queryPlayerUUIDs(@NotNull Collection<Long> userIds) {
+        return discordSRV.scheduler().supply(() -> discordSRV.storage().getPlayerUUIDs(userIds));
+    }
+
     @Override
     public CompletableFuture<Void> link(@NotNull UUID playerUUID, long userId) {
         return discordSRV.scheduler().execute(() -> discordSRV.storage().createLink(playerUUID, userId));
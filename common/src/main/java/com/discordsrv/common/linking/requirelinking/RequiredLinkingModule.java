@@ -19,6 +19,8 @@
 package com.discordsrv.common.linking.requirelinking;
 
 import com.discordsrv.api.DiscordSRVApi;
+import com.discordsrv.api.discord.entity.guild.DiscordGuild;
+import com.discordsrv.api.discord.entity.guild.DiscordGuildMember;
 import com.discordsrv.api.event.bus.Subscribe;
 import com.discordsrv.api.event.events.linking.AccountUnlinkedEvent;
 import com.discordsrv.common.DiscordSRV;
@@ -42,13 +44,12 @@ import com.discordsrv.common.scheduler.Scheduler;
 import com.discordsrv.common.scheduler.executor.DynamicCachingThreadPoolExecutor;
 import com.discordsrv.common.scheduler.threadfactory.CountingThreadFactory;
 import com.discordsrv.common.someone.Someone;
+import com.github.benmanes.caffeine.cache.Cache;
 import net.kyori.adventure.text.Component;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -57,10 +58,14 @@ import java.util.function.Consumer;
 public abstract class RequiredLinkingModule<T extends DiscordSRV> extends AbstractModule<T> {
 
     private final List<RequirementType<?>> availableRequirementTypes = new ArrayList<>();
+    private final Cache<Long, Map<Long, CompletableFuture<DiscordGuildMember>>> members;
     private ThreadPoolExecutor executor;
 
     public RequiredLinkingModule(T discordSRV) {
         super(discordSRV);
+        this.members = discordSRV.caffeineBuilder()
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .build();
     }
 
     public DiscordSRV discordSRV() {
@@ -151,7 +156,40 @@ public abstract class RequiredLinkingModule<T extends DiscordSRV> extends Abstra
         });
     }
 
+    /**
+     * Retrieves a guild member for checking requirements. The member is shared between all requirements
+     * checking the same user, until the requirement state for that user changes.
+     */
+    public CompletableFuture<DiscordGuildMember> retrieveMember(DiscordGuild guild, long userId) {
+        Map<Long, CompletableFuture<DiscordGuildMember>> userMembers = members.get(userId, key -> new ConcurrentHashMap<>());
+        long guildId = guild.getId();
+
+        CompletableFuture<DiscordGuildMember> future = userMembers.get(guildId);
+        if (future != null) {
+            return future;
+        }
+
+        CompletableFuture<DiscordGuildMember> retrieve = guild.retrieveMemberById(userId);
+        future = userMembers.putIfAbsent(guildId, retrieve);
+        if (future != null) {
+            return future;
+        }
+
+        // Don't keep failures around, the next check will try again
+        retrieve.whenComplete((member, t) -> {
+            if (t != null) {
+                userMembers.remove(guildId, retrieve);
+            }
+        });
+        return retrieve;
+    }
+
     public <RT> void stateChanged(Someone someone, RequirementType<RT> requirementType, RT value, boolean newState) {
+        Long userId = someone.userId();
+        if (userId != null) {
+            members.invalidate(userId);
+        }
+
         for (ParsedRequirements activeRequirement : getAllActiveRequirements()) {
             for (Requirement<?> requirement : activeRequirement.usedRequirements()) {
                 if (requirement.type() != requirementType || !Objects.equals(requirement.value(), value)) {
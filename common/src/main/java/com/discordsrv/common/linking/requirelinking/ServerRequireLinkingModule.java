@@ -19,21 +19,30 @@
 package com.discordsrv.common.linking.requirelinking;
 
 import com.discordsrv.common.DiscordSRV;
+import com.discordsrv.common.component.util.ComponentUtil;
 import com.discordsrv.common.config.main.linking.ServerRequiredLinkingConfig;
 import com.discordsrv.common.linking.requirelinking.requirement.parser.ParsedRequirements;
+import com.github.benmanes.caffeine.cache.Cache;
 import net.kyori.adventure.text.Component;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 public abstract class ServerRequireLinkingModule<T extends DiscordSRV> extends RequiredLinkingModule<T> {
 
     private final List<ParsedRequirements> additionalRequirements = new CopyOnWriteArrayList<>();
+    private final Cache<UUID, CompletableFuture<Component>> preparedBlockReasons;
 
     public ServerRequireLinkingModule(T discordSRV) {
         super(discordSRV);
+        this.preparedBlockReasons = discordSRV.caffeineBuilder()
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .build();
     }
 
     @Override
@@ -60,4 +69,87 @@ public abstract class ServerRequireLinkingModule<T extends DiscordSRV> extends R
 
         return getBlockReason(config().requirements, additionalRequirements, playerUUID, playerName, join);
     }
+
+    /**
+     * Starts checking if the given player should be blocked, to be picked up later with {@link #getPreparedBlockReason(UUID, String)}.
+     * The returned future completes within the configured timeout (if any), and never completes exceptionally.
+     */
+    public CompletableFuture<Component> prepareBlockReason(UUID playerUUID, String playerName, boolean join) {
+        CompletableFuture<Component> verdict = new CompletableFuture<>();
+        preparedBlockReasons.put(playerUUID, verdict);
+
+        getBlockReason(playerUUID, playerName, join).whenComplete((blockReason, t) -> {
+            if (t != null) {
+                logger().error("Failed to check linking status for " + playerName, t);
+                verdict.complete(timeoutBlockReason());
+                return;
+            }
+            verdict.complete(blockReason);
+        });
+        if (verdict.isDone()) {
+            return verdict;
+        }
+
+        long timeout = config().checkTimeoutMillis;
+        if (timeout <= 0) {
+            return verdict;
+        }
+
+        ScheduledFuture<?> timeoutFuture = discordSRV.scheduler().runLater(() -> {
+            if (verdict.complete(timeoutBlockReason())) {
+                logger().debug("Linking status check for " + playerName + " did not complete within " + timeout + "ms");
+            }
+        }, Duration.ofMillis(timeout));
+        verdict.whenComplete((__, t) -> timeoutFuture.cancel(false));
+
+        return verdict;
+    }
+
+    /**
+     * Gets the check started by {@link #prepareBlockReason(UUID, String, boolean)} or starts a new one if there isn't one.
+     */
+    public CompletableFuture<Component> getOrPrepareBlockReason(UUID playerUUID, String playerName, boolean join) {
+        CompletableFuture<Component> verdict = preparedBlockReasons.getIfPresent(playerUUID);
+        if (verdict != null) {
+            return verdict;
+        }
+        return prepareBlockReason(playerUUID, playerName, join);
+    }
+
+    /**
+     * Gets the result of {@link #prepareBlockReason(UUID, String, boolean)} without waiting for it.
+     * If the check hasn't completed (or wasn't started) the configured timeout behaviour is used.
+     */
+    public Component getPreparedBlockReason(UUID playerUUID, String playerName) {
+        CompletableFuture<Component> verdict = preparedBlockReasons.getIfPresent(playerUUID);
+        if (verdict == null || !verdict.isDone()) {
+            logger().debug("Linking status for " + playerName + " is not available yet");
+            return timeoutBlockReason();
+        }
+        return verdict.join();
+    }
+
+    /**
+     * Gets the block reason for a player who is logging in. Only waits for the check if {@code async},
+     * otherwise uses {@link #getPreparedBlockReason(UUID, String)}.
+     */
+    public Component getLoginBlockReason(UUID playerUUID, String playerName, boolean join, boolean async) {
+        if (async) {
+            return getOrPrepareBlockReason(playerUUID, playerName, join).join();
+        }
+        return getPreparedBlockReason(playerUUID, playerName);
+    }
+
+    public void removePreparedBlockReason(UUID playerUUID) {
+        preparedBlockReasons.invalidate(playerUUID);
+    }
+
+    private Component timeoutBlockReason() {
+        if (config().allowOnTimeout) {
+            return null;
+        }
+        return ComponentUtil.fromAPI(
+                discordSRV.messagesConfig().minecraft.unableToCheckLinkingStatus.textBuilder().build()
+        );
+    }
 }
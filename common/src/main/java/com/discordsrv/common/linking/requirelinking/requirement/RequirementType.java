@@ -38,6 +38,14 @@ public abstract class RequirementType<T> extends AbstractModule<DiscordSRV> {
         module.stateChanged(someone, this, value, newState);
     }
 
+    /**
+     * The relative cost of checking this requirement. Cheaper requirements are checked first,
+     * more expensive ones are skipped when they would not change the result.
+     */
+    public int cost() {
+        return 1;
+    }
+
     public abstract String name();
     public abstract T parse(String input);
     public abstract CompletableFuture<Boolean> isMet(T value, Someone.Resolved someone);
@@ -18,7 +18,6 @@
 
 package com.discordsrv.common.linking.requirelinking.requirement.parser;
 
-import com.discordsrv.common.future.util.CompletableFutureUtil;
 import com.discordsrv.common.linking.requirelinking.requirement.Requirement;
 import com.discordsrv.common.linking.requirelinking.requirement.RequirementType;
 import com.discordsrv.common.someone.Someone;
@@ -28,7 +27,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.BiFunction;
 import java.util.function.Function;
 
 public class RequirementParser {
@@ -90,7 +88,7 @@ public class RequirementParser {
                         throw error.apply("No operator");
                     }
 
-                    func = operator.function.apply(func, function);
+                    func = operator.apply(func, function);
                     operator = null;
                 } else {
                     func = function;
@@ -125,14 +123,17 @@ public class RequirementParser {
 
                         parsedRequirements.add(new Requirement<>(requirementType, requirementValue, isNegated));
 
-                        Func function = someone -> requirementType.isMet(requirementValue, someone)
-                                .thenApply(val -> isNegated != val);
+                        Func function = new Func(
+                                requirementType.cost(),
+                                someone -> requirementType.isMet(requirementValue, someone)
+                                        .thenApply(val -> isNegated != val)
+                        );
                         if (func != null) {
                             if (operator == null) {
                                 throw error.apply("No operator");
                             }
 
-                            func = operator.function.apply(func, function);
+                            func = operator.apply(func, function);
                             operator = null;
                         } else {
                             func = function;
@@ -201,27 +202,44 @@ public class RequirementParser {
         return func;
     }
 
-    @FunctionalInterface
-    private interface Func {
-        CompletableFuture<Boolean> test(Someone.Resolved someone);
+    private static class Func {
+
+        private final int cost;
+        private final Function<Someone.Resolved, CompletableFuture<Boolean>> test;
+
+        private Func(int cost, Function<Someone.Resolved, CompletableFuture<Boolean>> test) {
+            this.cost = cost;
+            this.test = test;
+        }
+
+        public CompletableFuture<Boolean> test(Someone.Resolved someone) {
+            return test.apply(someone);
+        }
     }
 
     private enum Operator {
 
-        AND('&', (one, two) -> apply(one, two, (o, t) -> o && t)),
-        OR('|', (one, two) -> apply(one, two, (o, t) -> o || t));
+        AND('&', false),
+        OR('|', true);
 
         private final char character;
-        private final BiFunction<Func, Func, Func> function;
+        private final boolean decidingValue;
 
-        Operator(char character, BiFunction<Func, Func, Func> function) {
+        Operator(char character, boolean decidingValue) {
             this.character = character;
-            this.function = function;
+            this.decidingValue = decidingValue;
         }
 
-        private static Func apply(Func one, Func two, BiFunction<Boolean, Boolean, Boolean> function) {
-            return someone -> CompletableFutureUtil.combine(one.test(someone), two.test(someone))
-                    .thenApply(bools -> function.apply(bools.get(0), bools.get(1)));
+        private Func apply(Func one, Func two) {
+            // The cheaper side is checked first, the other side is only checked if the first one didn't decide the result
+            Func first = one.cost <= two.cost ? one : two;
+            Func second = first == one ? two : one;
+            return new Func(one.cost + two.cost, someone -> first.test(someone).thenCompose(value -> {
+                if (value == decidingValue) {
+                    return CompletableFuture.completedFuture(value);
+                }
+                return second.test(someone);
+            }));
         }
     }
 }
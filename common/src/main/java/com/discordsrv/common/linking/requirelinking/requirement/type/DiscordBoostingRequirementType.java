@@ -45,7 +45,7 @@ public class DiscordBoostingRequirementType extends LongRequirementType {
             return CompletableFuture.completedFuture(false);
         }
 
-        return guild.retrieveMemberById(someone.userId())
+        return module.retrieveMember(guild, someone.userId())
                 .thenApply(member -> member != null && member.isBoosting());
     }
 
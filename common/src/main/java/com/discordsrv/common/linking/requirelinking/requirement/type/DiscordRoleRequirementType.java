@@ -46,9 +46,8 @@ public class DiscordRoleRequirementType extends LongRequirementType {
             return CompletableFuture.completedFuture(false);
         }
 
-        return role.getGuild()
-                .retrieveMemberById(someone.userId())
-                .thenApply(member -> member.getRoles().contains(role));
+        return module.retrieveMember(role.getGuild(), someone.userId())
+                .thenApply(member -> member.hasRole(role));
     }
 
     @Subscribe
@@ -47,7 +47,7 @@ public class DiscordServerRequirementType extends LongRequirementType {
             return CompletableFuture.completedFuture(false);
         }
 
-        return guild.retrieveMemberById(someone.userId())
+        return module.retrieveMember(guild, someone.userId())
                 .thenApply(Objects::nonNull);
     }
 
@@ -146,6 +146,12 @@ public class MinecraftAuthRequirementType<T> extends RequirementType<MinecraftAu
         return name;
     }
 
+    @Override
+    public int cost() {
+        // Requires a request to MinecraftAuth.me
+        return 5;
+    }
+
     public Provider getProvider() {
         return provider;
     }
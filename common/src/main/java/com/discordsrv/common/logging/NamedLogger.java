@@ -19,6 +19,7 @@
 package com.discordsrv.common.logging;
 
 import com.discordsrv.common.DiscordSRV;
+import com.discordsrv.common.logging.impl.DiscordSRVLogger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -32,6 +33,11 @@ public class NamedLogger implements Logger {
         this.name = name;
     }
 
+    public boolean isTraceEnabled() {
+        DiscordSRVLogger logger = discordSRV.logger();
+        return logger != null && logger.isLoggable(name, LogLevel.TRACE);
+    }
+
     @Override
     public void log(@Nullable String loggerName, @NotNull LogLevel logLevel, @Nullable String message, @Nullable Throwable throwable) {
         discordSRV.logger().log(name, logLevel, message, throwable);
@@ -160,20 +160,34 @@ public class DiscordSRVLogger implements Logger {
         doLog(loggerName, logLevel, message, throwable);
     }
 
-    private void doLog(String loggerName, LogLevel logLevel, String message, Throwable throwable) {
-        long time = System.currentTimeMillis();
+    /**
+     * Checks if messages for the given logger name and level would be logged.
+     * @param loggerName the name of the logger
+     * @param logLevel the level to check
+     * @return {@code true} if messages at the given level are logged
+     */
+    public boolean isLoggable(@Nullable String loggerName, @NotNull LogLevel logLevel) {
+        if (logLevel != LogLevel.TRACE && (loggerName == null || logLevel != LogLevel.DEBUG || !DISABLE_DEBUG_BY_DEFAULT.contains(loggerName))) {
+            return true;
+        }
+
         MainConfig config = discordSRV.config();
         DebugConfig debugConfig = config != null ? config.debug : null;
+        return loggerName != null
+                && debugConfig != null
+                && debugConfig.additionalLevels != null
+                && debugConfig.additionalLevels.getOrDefault(loggerName, Collections.emptyList()).contains(logLevel.name());
+    }
 
-        if (logLevel == LogLevel.TRACE || (loggerName != null && logLevel == LogLevel.DEBUG && DISABLE_DEBUG_BY_DEFAULT.contains(loggerName))) {
-            if (loggerName == null
-                    || debugConfig == null
-                    || debugConfig.additionalLevels == null
-                    || !debugConfig.additionalLevels.getOrDefault(loggerName, Collections.emptyList()).contains(logLevel.name())) {
-                return;
-            }
+    private void doLog(String loggerName, LogLevel logLevel, String message, Throwable throwable) {
+        long time = System.currentTimeMillis();
+        if (!isLoggable(loggerName, logLevel)) {
+            return;
         }
 
+        MainConfig config = discordSRV.config();
+        DebugConfig debugConfig = config != null ? config.debug : null;
+
         boolean debugOrTrace = logLevel == LogLevel.DEBUG || logLevel == LogLevel.TRACE;
         boolean logToConsole = debugConfig != null && debugConfig.logToConsole;
 
@@ -49,13 +49,9 @@ import com.github.benmanes.caffeine.cache.Cache;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.channel.middleman.GuildMessageChannel;
-import okhttp3.Request;
-import okhttp3.Response;
-import okhttp3.ResponseBody;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
@@ -65,13 +61,17 @@ import java.util.concurrent.TimeUnit;
 
 public class DiscordMessageMirroringModule extends AbstractModule<DiscordSRV> {
 
-    private final Cache<Long, Cache<Long, Sync>> mapping;
+    private final MirroredMessageStore store;
+    // message id -> the config the message was mirrored with, only for messages mirrored since starting
+    private final Cache<Long, MirroringConfig> mirroredWith;
+    private MirrorAttachmentDownloader attachmentDownloader;
 
     public DiscordMessageMirroringModule(DiscordSRV discordSRV) {
         super(discordSRV, new NamedLogger(discordSRV, "DISCORD_MIRRORING"));
-        this.mapping = discordSRV.caffeineBuilder()
-                .expireAfterWrite(60, TimeUnit.MINUTES)
-                .expireAfterAccess(30, TimeUnit.MINUTES)
+        this.store = new MirroredMessageStore(discordSRV, logger());
+        this.mirroredWith = discordSRV.caffeineBuilder()
+                .maximumSize(MirroredMessageStore.CACHE_SIZE)
+                .expireAfterAccess(1, TimeUnit.HOURS)
                 .build();
     }
 
@@ -90,6 +90,26 @@ public class DiscordMessageMirroringModule extends AbstractModule<DiscordSRV> {
         return EnumSet.of(DiscordGatewayIntent.GUILD_MESSAGES, DiscordGatewayIntent.MESSAGE_CONTENT);
     }
 
+    @Override
+    public void enable() {
+        this.attachmentDownloader = new MirrorAttachmentDownloader(
+                discordSRV.httpClient(),
+                logger(),
+                discordSRV.dataDirectory().resolve("mirrored-attachments"),
+                MirrorAttachmentDownloader.DEFAULT_MAX_IN_FLIGHT_BYTES
+        );
+        store.start();
+    }
+
+    @Override
+    public void disable() {
+        if (attachmentDownloader != null) {
+            attachmentDownloader.shutdown();
+            attachmentDownloader = null;
+        }
+        store.stop();
+    }
+
     @SuppressWarnings("unchecked") // Wacky generics
     @Subscribe
     public <CC extends BaseChannelConfig & IChannelConfig> void onDiscordChatMessageProcessing(DiscordChatMessageReceiveEvent event) {
@@ -105,7 +125,7 @@ public class DiscordMessageMirroringModule extends AbstractModule<DiscordSRV> {
         ReceivedDiscordMessage message = event.getMessage();
 
         List<CompletableFuture<MirrorOperation>> futures = new ArrayList<>();
-        Map<ReceivedDiscordMessage.Attachment, byte[]> attachments = new LinkedHashMap<>();
+        Map<ReceivedDiscordMessage.Attachment, CompletableFuture<MirrorAttachmentDownloader.SpooledAttachment>> attachments = new LinkedHashMap<>();
         DiscordMessageEmbed.Builder attachmentEmbed = DiscordMessageEmbed.builder().setDescription("Attachments");
 
         for (Map.Entry<GameChannel, BaseChannelConfig> entry : channels.entrySet()) {
@@ -135,22 +155,13 @@ public class DiscordMessageMirroringModule extends AbstractModule<DiscordSRV> {
                     }
 
                     if (maxSize == 0 || attachment.sizeBytes() <= maxSize) {
-                        Request request = new Request.Builder()
-                                .url(attachment.url())
-                                .get()
-                                .addHeader("Accept", "*/*")
-                                .build();
-
-                        byte[] bytes = null;
-                        try (Response response = discordSRV.httpClient().newCall(request).execute()) {
-                            ResponseBody body = response.body();
-                            if (body != null) {
-                                bytes = body.bytes();
-                            }
-                        } catch (IOException e) {
-                            logger().error("Failed to download attachment for mirroring", e);
-                        }
-                        attachments.put(attachment, bytes);
+                        MirrorAttachmentDownloader downloader = attachmentDownloader;
+                        attachments.put(
+                                attachment,
+                                downloader != null
+                                    ? downloader.download(attachment, maxSize)
+                                    : CompletableFuture.completedFuture(null)
+                        );
                         continue;
                     }
 
@@ -158,7 +169,7 @@ public class DiscordMessageMirroringModule extends AbstractModule<DiscordSRV> {
                         continue;
                     }
 
-                    attachments.put(attachment, null);
+                    attachments.put(attachment, CompletableFuture.completedFuture(null));
                     attachmentEmbed.addField(attachment.fileName(), "[link](" + attachment.url() + ")", true);
                 }
             }
@@ -175,7 +186,13 @@ public class DiscordMessageMirroringModule extends AbstractModule<DiscordSRV> {
             );
         }
 
-        CompletableFutureUtil.combine(futures).whenComplete((lists, v) -> {
+        // Downloads happen on the attachment downloader, wait for them without blocking this thread
+        CompletableFuture<List<MirrorOperation>> operationsFuture = CompletableFuture
+                .allOf(attachments.values().toArray(new CompletableFuture[0]))
+                .thenCompose(v -> CompletableFutureUtil.combine(futures));
+
+        List<CompletableFuture<?>> allMirrorFutures = new ArrayList<>();
+        operationsFuture.whenComplete((lists, v) -> {
             Set<Long> channelIdsHandled = new HashSet<>();
             for (MirrorOperation operation : lists) {
                 List<CompletableFuture<MirroredMessage>> mirrorFutures = new ArrayList<>();
@@ -199,11 +216,16 @@ public class DiscordMessageMirroringModule extends AbstractModule<DiscordSRV> {
                     int maxSize = attachmentConfig.maximumSizeKb * 1000;
                     List<InputStream> streams = new ArrayList<>();
                     if (!attachments.isEmpty() && maxSize >= 0) {
-                        attachments.forEach((attachment, bytes) -> {
-                            if (bytes != null && (maxSize == 0 || attachment.sizeBytes() <= maxSize)) {
-                                InputStream stream = new ByteArrayInputStream(bytes);
-                                streams.add(stream);
-                                messageBuilder.addAttachment(stream, attachment.fileName());
+                        attachments.forEach((attachment, spoolFuture) -> {
+                            MirrorAttachmentDownloader.SpooledAttachment spooled = spoolFuture.join();
+                            if (spooled != null && (maxSize == 0 || attachment.sizeBytes() <= maxSize)) {
+                                try {
+                                    InputStream stream = spooled.openStream();
+                                    streams.add(stream);
+                                    messageBuilder.addAttachment(stream, spooled.fileName());
+                                } catch (IOException e) {
+                                    logger().error("Failed to read downloaded attachment " + spooled.fileName(), e);
+                                }
                             }
                         });
                     }
@@ -215,13 +237,18 @@ public class DiscordMessageMirroringModule extends AbstractModule<DiscordSRV> {
                                 stream.close();
                             } catch (IOException ignored) {}
                         }
-                        return;
+                        continue;
                     }
 
                     GuildMessageChannel channel = (GuildMessageChannel) mirrorChannel.getAsJDAMessageChannel();
                     String missingPermissions = DiscordPermissionUtil.missingPermissionsString(channel, Permission.VIEW_CHANNEL, Permission.MANAGE_WEBHOOKS);
                     if (missingPermissions != null) {
                         logger().error("Failed to mirror message to " + describeChannel(mirrorChannel) + ": " + missingPermissions);
+                        for (InputStream stream : streams) {
+                            try {
+                                stream.close();
+                            } catch (IOException ignored) {}
+                        }
                         continue;
                     }
 
@@ -230,6 +257,7 @@ public class DiscordMessageMirroringModule extends AbstractModule<DiscordSRV> {
                                     .thenApply(msg -> new MirroredMessage(msg, config));
 
                     mirrorFutures.add(future);
+                    allMirrorFutures.add(future);
                     future.exceptionally(t -> {
                         if (t instanceof CompletionException) {
                             t = t.getCause();
@@ -256,6 +284,16 @@ public class DiscordMessageMirroringModule extends AbstractModule<DiscordSRV> {
                     putIntoCache(reference, references);
                 });
             }
+        }).whenComplete((v, t) -> {
+            // Uploads read from the downloaded files, remove them once every upload has completed
+            CompletableFuture.allOf(allMirrorFutures.toArray(new CompletableFuture[0])).whenComplete((v2, t2) -> {
+                for (CompletableFuture<MirrorAttachmentDownloader.SpooledAttachment> spoolFuture : attachments.values()) {
+                    MirrorAttachmentDownloader.SpooledAttachment spooled = spoolFuture.getNow(null);
+                    if (spooled != null) {
+                        spooled.close();
+                    }
+                }
+            });
         }).exceptionally(t -> {
             if (t instanceof CompletionException) {
                 t = t.getCause();
@@ -273,57 +311,89 @@ public class DiscordMessageMirroringModule extends AbstractModule<DiscordSRV> {
         return "#" + channel.getName();
     }
 
+    private boolean isMirroring(DiscordMessageChannel channel) {
+        Map<GameChannel, BaseChannelConfig> channels = discordSRV.channelConfig().resolve(channel);
+        if (channels == null) {
+            return false;
+        }
+
+        for (BaseChannelConfig config : channels.values()) {
+            if (config.mirroring.enabled) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Subscribe
     public void onDiscordMessageUpdate(DiscordMessageUpdateEvent event) {
-        Cache<Long, Sync> syncs = mapping.getIfPresent(event.getChannel().getId());
-        if (syncs == null) {
+        if (!isMirroring(event.getChannel())) {
             return;
         }
 
         ReceivedDiscordMessage message = event.getMessage();
-        Sync sync = syncs.getIfPresent(message.getId());
-        if (sync == null || sync.original == null || !sync.original.isMatching(message)) {
-            return;
-        }
-
-        for (MessageReference reference : sync.mirrors) {
-            DiscordGuildMessageChannel channel = reference.getMessageChannel(discordSRV);
-            if (channel == null) {
-                continue;
+        store.get(message.getId()).thenAccept(group -> {
+            Sync sync = toSync(group, message.getId());
+            if (sync == null || sync.original == null || !sync.original.isMatching(message)) {
+                return;
             }
 
-            SendableDiscordMessage sendableMessage = convert(message, channel, reference.config).build();
-            channel.editMessageById(reference.messageId, sendableMessage).exceptionally(t -> {
-                logger().error("Failed to update mirrored message in " + channel);
-                return null;
-            });
-        }
+            for (MessageReference reference : sync.mirrors) {
+                DiscordGuildMessageChannel channel = reference.getMessageChannel(discordSRV);
+                if (channel == null) {
+                    continue;
+                }
+
+                MirroringConfig config = getConfig(reference, channel);
+                if (config == null) {
+                    continue;
+                }
+
+                SendableDiscordMessage sendableMessage = convert(message, channel, config).build();
+                channel.editMessageById(reference.messageId, sendableMessage).exceptionally(t -> {
+                    logger().error("Failed to update mirrored message in " + channel);
+                    return null;
+                });
+            }
+        }).exceptionally(t -> {
+            logger().error("Failed to look up mirrored messages", t);
+            return null;
+        });
     }
 
     @Subscribe
     public void onDiscordMessageDelete(DiscordMessageDeleteEvent event) {
-        Cache<Long, Sync> syncs = mapping.getIfPresent(event.getChannel().getId());
-        if (syncs == null) {
+        if (!isMirroring(event.getChannel())) {
             return;
         }
 
-        Sync sync = syncs.getIfPresent(event.getMessageId());
-        if (sync == null || sync.original == null || !sync.original.isMatching(event.getChannel())
-                || sync.original.messageId != event.getMessageId()) {
-            return;
-        }
-
-        for (MessageReference reference : sync.mirrors) {
-            DiscordGuildMessageChannel channel = reference.getMessageChannel(discordSRV);
-            if (channel == null) {
-                continue;
+        long messageId = event.getMessageId();
+        store.get(messageId).thenAccept(group -> {
+            Sync sync = toSync(group, messageId);
+            if (sync == null || sync.original == null || !sync.original.isMatching(event.getChannel())
+                    || sync.original.messageId != messageId) {
+                return;
             }
 
-            channel.deleteMessageById(reference.messageId, reference.webhookMessage).exceptionally(t -> {
-                logger().error("Failed to delete mirrored message in " + describeChannel(channel));
-                return null;
-            });
-        }
+            for (MessageReference reference : sync.mirrors) {
+                DiscordGuildMessageChannel channel = reference.getMessageChannel(discordSRV);
+                if (channel == null) {
+                    continue;
+                }
+
+                channel.deleteMessageById(reference.messageId, reference.webhookMessage).exceptionally(t -> {
+                    logger().error("Failed to delete mirrored message in " + describeChannel(channel));
+                    return null;
+                });
+            }
+            for (StoredMirroredMessage stored : group) {
+                mirroredWith.invalidate(stored.messageId());
+            }
+            store.remove(messageId);
+        }).exceptionally(t -> {
+            logger().error("Failed to look up mirrored messages", t);
+            return null;
+        });
     }
 
     @Subscribe
@@ -358,37 +428,76 @@ public class DiscordMessageMirroringModule extends AbstractModule<DiscordSRV> {
         putIntoCache(null, references);
     }
 
-    @SuppressWarnings("DataFlowIssue") // Supplier always returns a non-null value
-    @NotNull
-    private Cache<Long, Sync> getCache(long channelId) {
-        return mapping.get(
-                channelId,
-                k -> discordSRV.caffeineBuilder()
-                        .expireAfterWrite(30, TimeUnit.MINUTES)
-                        .expireAfterAccess(10, TimeUnit.MINUTES)
-                        .build()
-        );
-    }
-
     private void putIntoCache(@Nullable MessageReference original, Map<ReceivedDiscordMessage, MessageReference> references) {
         if (original == null && references.size() <= 1) {
             return;
         }
 
-        for (Map.Entry<ReceivedDiscordMessage, MessageReference> entry : references.entrySet()) {
-            ReceivedDiscordMessage message = entry.getKey();
-            MessageReference reference = entry.getValue();
+        long groupId = original != null ? original.messageId : references.values().iterator().next().messageId;
+        long createdAt = System.currentTimeMillis();
 
-            List<MessageReference> refs = new ArrayList<>();
-            for (MessageReference ref : references.values()) {
-                if (ref == reference) {
-                    continue;
-                }
-                refs.add(ref);
+        List<StoredMirroredMessage> group = new ArrayList<>(references.size());
+        for (MessageReference reference : references.values()) {
+            if (reference.config != null) {
+                mirroredWith.put(reference.messageId, reference.config);
             }
+            group.add(new StoredMirroredMessage(
+                    groupId,
+                    reference.channelId,
+                    reference.threadId,
+                    reference.messageId,
+                    reference.webhookMessage,
+                    reference == original,
+                    createdAt
+            ));
+        }
+        store.store(group);
+    }
 
-            getCache(message.getChannel().getId()).put(message.getId(), new Sync(original, refs));
+    @Nullable
+    private Sync toSync(@Nullable List<StoredMirroredMessage> group, long messageId) {
+        if (group == null || group.isEmpty()) {
+            return null;
         }
+
+        MessageReference original = null;
+        List<MessageReference> mirrors = new ArrayList<>(group.size());
+        for (StoredMirroredMessage stored : group) {
+            MessageReference reference = new MessageReference(
+                    stored.channelId(),
+                    stored.threadId(),
+                    stored.messageId(),
+                    stored.isWebhookMessage(),
+                    mirroredWith.getIfPresent(stored.messageId())
+            );
+            if (stored.isOriginal()) {
+                original = reference;
+            }
+            if (stored.messageId() != messageId) {
+                mirrors.add(reference);
+            }
+        }
+        return new Sync(original, mirrors);
+    }
+
+    /**
+     * Gets the mirroring config for the given reference, references loaded from storage don't have a config
+     * so it is resolved from the channel.
+     */
+    @Nullable
+    private MirroringConfig getConfig(MessageReference reference, DiscordGuildMessageChannel channel) {
+        if (reference.config != null) {
+            return reference.config;
+        }
+
+        return discordSRV.channelConfig()
+                .resolve(channel)
+                .values()
+                .stream()
+                .filter(config -> config instanceof IChannelConfig && ((IChannelConfig) config).destination().contains(channel))
+                .map(config -> config.mirroring)
+                .findAny()
+                .orElse(null);
     }
 
     /**
@@ -414,12 +523,9 @@ public class DiscordMessageMirroringModule extends AbstractModule<DiscordSRV> {
         if (replyMessage != null) {
             MessageReference matchingReference = null;
 
-            Cache<Long, Sync> syncs = mapping.getIfPresent(replyMessage.getChannel().getId());
-            if (syncs != null) {
-                Sync sync = syncs.getIfPresent(replyMessage.getId());
-                if (sync != null) {
-                    matchingReference = sync.getForChannel(destinationChannel);
-                }
+            Sync sync = toSync(store.getIfCached(replyMessage.getId()), replyMessage.getId());
+            if (sync != null) {
+                matchingReference = sync.getForChannel(destinationChannel);
             }
 
             String jumpUrl = matchingReference != null ? String.format(
@@ -0,0 +1,239 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.messageforwarding.discord;
+
+import com.discordsrv.api.discord.entity.message.ReceivedDiscordMessage;
+import com.discordsrv.common.logging.Logger;
+import com.discordsrv.common.scheduler.Scheduler;
+import com.discordsrv.common.scheduler.threadfactory.CountingThreadFactory;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Downloads attachments for mirroring on a small dedicated pool, streaming them into temporary files in the spool directory
+ * so that they don't need to be held in memory or block the thread handling the message.
+ */
+public class MirrorAttachmentDownloader {
+
+    public static final int THREADS = 2;
+    public static final long DEFAULT_MAX_IN_FLIGHT_BYTES = 256L * 1024 * 1024;
+
+    private final OkHttpClient httpClient;
+    private final Logger logger;
+    private final Path spoolDirectory;
+    private final long maxInFlightBytes;
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final ThreadPoolExecutor executor;
+
+    public MirrorAttachmentDownloader(OkHttpClient httpClient, Logger logger, Path spoolDirectory, long maxInFlightBytes) {
+        this.httpClient = httpClient;
+        this.logger = logger;
+        this.spoolDirectory = spoolDirectory;
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.executor = new ThreadPoolExecutor(
+                THREADS,
+                THREADS,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new CountingThreadFactory(Scheduler.THREAD_NAME_PREFIX + "Attachment Mirroring #%s")
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public long inFlightBytes() {
+        return inFlightBytes.get();
+    }
+
+    /**
+     * Downloads the given attachment into a temporary file.
+     *
+     * @param attachment the attachment to download
+     * @param maxSizeBytes the maximum size of the attachment, or {@code 0} for unlimited
+     * @return a future completed with the downloaded attachment, or {@code null} if it couldn't be downloaded
+     * or the downloader was shut down. The returned attachment must be closed once it is no longer needed
+     */
+    public CompletableFuture<@Nullable SpooledAttachment> download(
+            @NotNull ReceivedDiscordMessage.Attachment attachment,
+            int maxSizeBytes
+    ) {
+        long size = attachment.sizeBytes();
+        if (!reserve(size)) {
+            logger.debug("Not downloading " + attachment.fileName() + " (" + size + " bytes) for mirroring, "
+                                 + "too many attachments are already being mirrored");
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Download download = new Download(attachment, size, maxSizeBytes);
+        try {
+            executor.execute(download);
+        } catch (RejectedExecutionException e) {
+            download.skip();
+        }
+        return download.future;
+    }
+
+    private boolean reserve(long size) {
+        long current;
+        do {
+            current = inFlightBytes.get();
+            if (current > 0 && current + size > maxInFlightBytes) {
+                return false;
+            }
+        } while (!inFlightBytes.compareAndSet(current, current + size));
+        return true;
+    }
+
+    private SpooledAttachment spool(ReceivedDiscordMessage.Attachment attachment, long size, int maxSizeBytes) throws IOException {
+        Request request = new Request.Builder()
+                .url(attachment.url())
+                .get()
+                .addHeader("Accept", "*/*")
+                .build();
+
+        // Don't trust the reported size more than the configured limit
+        long limit = maxSizeBytes > 0 ? Math.max(size, maxSizeBytes) : Long.MAX_VALUE;
+
+        Files.createDirectories(spoolDirectory);
+        Path file = Files.createTempFile(spoolDirectory, "mirror-", ".tmp");
+        try (Response response = httpClient.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                throw new IOException("Unexpected response " + response.code() + " for " + attachment.url());
+            }
+
+            try (InputStream inputStream = body.byteStream();
+                 OutputStream outputStream = Files.newOutputStream(file)) {
+                byte[] buffer = new byte[8192];
+                long total = 0;
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    total += read;
+                    if (total > limit) {
+                        throw new IOException(attachment.fileName() + " is larger than the maximum size of " + limit + " bytes");
+                    }
+                    outputStream.write(buffer, 0, read);
+                }
+            }
+        } catch (Throwable t) {
+            Files.deleteIfExists(file);
+            throw t;
+        }
+
+        return new SpooledAttachment(file, attachment.fileName(), size);
+    }
+
+    public void shutdown() {
+        // Downloads that haven't started will never run, complete them so nothing waits for them forever
+        for (Runnable runnable : executor.shutdownNow()) {
+            if (runnable instanceof Download) {
+                ((Download) runnable).skip();
+            }
+        }
+    }
+
+    private class Download implements Runnable {
+
+        private final ReceivedDiscordMessage.Attachment attachment;
+        private final long size;
+        private final int maxSizeBytes;
+        private final CompletableFuture<SpooledAttachment> future = new CompletableFuture<>();
+
+        private Download(ReceivedDiscordMessage.Attachment attachment, long size, int maxSizeBytes) {
+            this.attachment = attachment;
+            this.size = size;
+            this.maxSizeBytes = maxSizeBytes;
+        }
+
+        @Override
+        public void run() {
+            try {
+                future.complete(spool(attachment, size, maxSizeBytes));
+            } catch (Throwable t) {
+                logger.error("Failed to download attachment for mirroring", t);
+                skip();
+            }
+        }
+
+        /**
+         * Releases the reserved bytes and completes the download without an attachment.
+         */
+        private void skip() {
+            inFlightBytes.addAndGet(-size);
+            future.complete(null);
+        }
+    }
+
+    /**
+     * An attachment downloaded into a temporary file.
+     */
+    public class SpooledAttachment implements AutoCloseable {
+
+        private final Path file;
+        private final String fileName;
+        private final long reservedBytes;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        private SpooledAttachment(Path file, String fileName, long reservedBytes) {
+            this.file = file;
+            this.fileName = fileName;
+            this.reservedBytes = reservedBytes;
+        }
+
+        public String fileName() {
+            return fileName;
+        }
+
+        /**
+         * Opens a new stream to read the attachment, each upload should use its own stream.
+         * @return a new input stream for the attachment
+         * @throws IOException if the file cannot be opened
+         */
+        public InputStream openStream() throws IOException {
+            return Files.newInputStream(file);
+        }
+
+        @Override
+        public void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+
+            inFlightBytes.addAndGet(-reservedBytes);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.messageforwarding.discord;
+
+import com.discordsrv.common.DiscordSRV;
+import com.discordsrv.common.logging.Logger;
+import com.discordsrv.common.storage.Storage;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of which messages are mirrors of each other, persisted in {@link Storage} so that edits and deletions
+ * can still be mirrored after a restart.
+ * <p>
+ * Recently used groups are kept in memory, writes are queued and written to storage in batches.
+ */
+public class MirroredMessageStore {
+
+    public static final int CACHE_SIZE = 10_000;
+    public static final Duration FLUSH_INTERVAL = Duration.ofSeconds(5);
+    public static final Duration PRUNE_INTERVAL = Duration.ofHours(1);
+    public static final Duration EXPIRY_TIME = Duration.ofDays(7);
+    public static final int MAX_WRITE_ATTEMPTS = 5;
+
+    private final DiscordSRV discordSRV;
+    private final Logger logger;
+    private final Cache<Long, List<StoredMirroredMessage>> cache;
+    private final Deque<PendingWrite> pendingWrites = new ConcurrentLinkedDeque<>();
+    private final Object flushLock = new Object();
+    private ScheduledFuture<?> flushFuture;
+    private ScheduledFuture<?> pruneFuture;
+
+    public MirroredMessageStore(DiscordSRV discordSRV, Logger logger) {
+        this.discordSRV = discordSRV;
+        this.logger = logger;
+        this.cache = discordSRV.caffeineBuilder()
+                .maximumSize(CACHE_SIZE)
+                .expireAfterAccess(1, TimeUnit.HOURS)
+                .build();
+    }
+
+    public void start() {
+        flushFuture = discordSRV.scheduler().runAtFixedRate(this::flush, FLUSH_INTERVAL);
+        pruneFuture = discordSRV.scheduler().runAtFixedRate(this::prune, PRUNE_INTERVAL);
+    }
+
+    public void stop() {
+        if (flushFuture != null) {
+            flushFuture.cancel(false);
+        }
+        if (pruneFuture != null) {
+            pruneFuture.cancel(false);
+        }
+        flush();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Stores a group of messages that mirror each other.
+     * @param messages the messages, all with the same group id
+     */
+    public void store(@NotNull List<StoredMirroredMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        List<StoredMirroredMessage> group = Collections.unmodifiableList(new ArrayList<>(messages));
+        for (StoredMirroredMessage message : group) {
+            cache.put(message.messageId(), group);
+        }
+        pendingWrites.add(new PendingWrite(group, -1));
+    }
+
+    /**
+     * Removes the group the given message belongs to.
+     * @param messageId the message id
+     */
+    public void remove(long messageId) {
+        List<StoredMirroredMessage> group = cache.getIfPresent(messageId);
+        if (group != null) {
+            for (StoredMirroredMessage message : group) {
+                cache.invalidate(message.messageId());
+            }
+        }
+        pendingWrites.add(new PendingWrite(null, messageId));
+    }
+
+    /**
+     * Gets the group for the given message, if it is currently in memory.
+     * @param messageId the message id
+     * @return the messages in the group or {@code null}
+     */
+    @Nullable
+    public List<StoredMirroredMessage> getIfCached(long messageId) {
+        return cache.getIfPresent(messageId);
+    }
+
+    /**
+     * Gets the group for the given message, looking it up from storage if it isn't in memory.
+     * @param messageId the message id
+     * @return a future for the messages in the group, completed with an empty list if the message isn't mirrored
+     */
+    public CompletableFuture<List<StoredMirroredMessage>> get(long messageId) {
+        List<StoredMirroredMessage> cached = cache.getIfPresent(messageId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return discordSRV.scheduler().supply(() -> {
+            // Make sure anything queued is visible in storage
+            flush();
+
+            List<StoredMirroredMessage> group = storage().getMirroredMessages(messageId);
+            if (!group.isEmpty()) {
+                group = Collections.unmodifiableList(group);
+                for (StoredMirroredMessage message : group) {
+                    cache.put(message.messageId(), group);
+                }
+            }
+            return group;
+        });
+    }
+
+    /**
+     * Writes queued changes to storage, if writing fails the unwritten changes are kept for the next flush
+     * until they have failed {@link #MAX_WRITE_ATTEMPTS} times.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            // The same group may be stored more than once before a flush, only the last write is kept
+            Map<Long, StoredMirroredMessage> batch = new LinkedHashMap<>();
+            List<PendingWrite> unwritten = new ArrayList<>();
+            PendingWrite write;
+            try {
+                while ((write = pendingWrites.poll()) != null) {
+                    unwritten.add(write);
+                    if (write.group != null) {
+                        for (StoredMirroredMessage message : write.group) {
+                            batch.put(message.messageId(), message);
+                        }
+                        continue;
+                    }
+
+                    // Keep the order of stores and removals
+                    if (!batch.isEmpty()) {
+                        storage().storeMirroredMessages(batch.values());
+                        batch.clear();
+                        unwritten.subList(0, unwritten.size() - 1).clear();
+                    }
+                    storage().removeMirroredMessages(write.removedMessageId);
+                    unwritten.clear();
+                }
+                if (!batch.isEmpty()) {
+                    storage().storeMirroredMessages(batch.values());
+                }
+                unwritten.clear();
+            } catch (Throwable t) {
+                // Don't let changes that can't be written hold up everything after them forever
+                List<PendingWrite> retry = new ArrayList<>(unwritten.size());
+                for (PendingWrite unwrittenWrite : unwritten) {
+                    if (++unwrittenWrite.attempts < MAX_WRITE_ATTEMPTS) {
+                        retry.add(unwrittenWrite);
+                    }
+                }
+
+                int dropped = unwritten.size() - retry.size();
+                if (dropped > 0) {
+                    logger.error("Failed to save mirrored messages, discarding " + dropped + " changes after "
+                                         + MAX_WRITE_ATTEMPTS + " attempts", t);
+                } else {
+                    logger.error("Failed to save mirrored messages, retrying on the next flush", t);
+                }
+
+                // Put them back in front of anything queued since, in the same order
+                for (int i = retry.size() - 1; i >= 0; i--) {
+                    pendingWrites.offerFirst(retry.get(i));
+                }
+            }
+        }
+    }
+
+    private void prune() {
+        try {
+            int removed = storage().pruneMirroredMessages(System.currentTimeMillis() - EXPIRY_TIME.toMillis());
+            if (removed > 0) {
+                logger.debug("Pruned " + removed + " expired mirrored messages");
+            }
+        } catch (Throwable t) {
+            logger.error("Failed to prune mirrored messages", t);
+        }
+    }
+
+    protected Storage storage() {
+        return discordSRV.storage();
+    }
+
+    private static class PendingWrite {
+
+        private final List<StoredMirroredMessage> group;
+        private final long removedMessageId;
+        private int attempts;
+
+        public PendingWrite(List<StoredMirroredMessage> group, long removedMessageId) {
+            this.group = group;
+            this.removedMessageId = removedMessageId;
+        }
+    }
+}
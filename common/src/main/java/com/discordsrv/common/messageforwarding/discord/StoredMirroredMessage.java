@@ -0,0 +1,88 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.messageforwarding.discord;
+
+/**
+ * A persisted message that is part of a group of messages mirroring each other.
+ */
+public class StoredMirroredMessage {
+
+    private final long groupId;
+    private final long channelId;
+    private final long threadId;
+    private final long messageId;
+    private final boolean webhookMessage;
+    private final boolean original;
+    private final long createdAt;
+
+    public StoredMirroredMessage(
+            long groupId,
+            long channelId,
+            long threadId,
+            long messageId,
+            boolean webhookMessage,
+            boolean original,
+            long createdAt
+    ) {
+        this.groupId = groupId;
+        this.channelId = channelId;
+        this.threadId = threadId;
+        this.messageId = messageId;
+        this.webhookMessage = webhookMessage;
+        this.original = original;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * The id shared by all messages in the group, this is the id of the original message when there is one.
+     */
+    public long groupId() {
+        return groupId;
+    }
+
+    public long channelId() {
+        return channelId;
+    }
+
+    /**
+     * The id of the thread the message is in, or {@code -1} if it isn't in a thread.
+     */
+    public long threadId() {
+        return threadId;
+    }
+
+    public long messageId() {
+        return messageId;
+    }
+
+    public boolean isWebhookMessage() {
+        return webhookMessage;
+    }
+
+    /**
+     * If this is the message that the other messages in the group are mirrored from.
+     */
+    public boolean isOriginal() {
+        return original;
+    }
+
+    public long createdAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.messageforwarding.game.minecrafttodiscord;
+
+import com.discordsrv.api.discord.entity.channel.DiscordGuildMessageChannel;
+import com.discordsrv.api.discord.entity.message.ReceivedDiscordMessage;
+import com.discordsrv.api.discord.entity.message.SendableDiscordMessage;
+import com.discordsrv.common.DiscordSRV;
+import com.discordsrv.common.config.main.channels.MinecraftToDiscordChatConfig;
+import com.discordsrv.common.future.util.CompletableFutureUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BiFunction;
+
+/**
+ * Combines chat messages going to the same channel into as few Discord messages as possible.
+ * <p>
+ * Messages are held for a short time before being sent, while a message is being sent to a channel
+ * (which includes waiting for the channel's rate limit) any further messages are combined and sent once it completes.
+ * Messages are only combined with messages that have the same webhook username, avatar and allowed mentions.
+ */
+public class ChatMessageBatcher {
+
+    private static final int MAX_CONTENT_LENGTH = 2000;
+
+    private final DiscordSRV discordSRV;
+    private final BiFunction<DiscordGuildMessageChannel, SendableDiscordMessage, CompletableFuture<ReceivedDiscordMessage>> sender;
+    private final Map<Long, ChannelQueue> queues = new ConcurrentHashMap<>();
+
+    public ChatMessageBatcher(
+            DiscordSRV discordSRV,
+            BiFunction<DiscordGuildMessageChannel, SendableDiscordMessage, CompletableFuture<ReceivedDiscordMessage>> sender
+    ) {
+        this.discordSRV = discordSRV;
+        this.sender = sender;
+    }
+
+    /**
+     * Queues a message to be sent to the given channel.
+     *
+     * @param channel the channel to send the message to
+     * @param message the message
+     * @param config the batching config
+     * @return a future for the Discord message the given message ended up in
+     */
+    public CompletableFuture<ReceivedDiscordMessage> queue(
+            @NotNull DiscordGuildMessageChannel channel,
+            @NotNull SendableDiscordMessage message,
+            @NotNull MinecraftToDiscordChatConfig.Batching config
+    ) {
+        CompletableFuture<ReceivedDiscordMessage> future = new CompletableFuture<>();
+        while (true) {
+            ChannelQueue queue = queues.computeIfAbsent(channel.getId(), key -> new ChannelQueue(channel));
+            synchronized (queue) {
+                if (queue.removed) {
+                    // Removed while idle, get a new one
+                    continue;
+                }
+
+                Batch last = queue.batches.peekLast();
+                if (last == null || !last.append(message, future)) {
+                    queue.batches.addLast(new Batch(message, future));
+                }
+
+                if (!queue.sending && queue.lingerFuture == null) {
+                    queue.lingerFuture = discordSRV.scheduler().runLater(() -> send(queue), Duration.ofMillis(config.lingerMillis));
+                }
+            }
+            return future;
+        }
+    }
+
+    /**
+     * Sends all queued messages without waiting, including messages waiting for a message that is being sent.
+     */
+    public void flush() {
+        for (ChannelQueue queue : queues.values()) {
+            List<Batch> batches;
+            synchronized (queue) {
+                if (queue.lingerFuture != null) {
+                    queue.lingerFuture.cancel(false);
+                    queue.lingerFuture = null;
+                }
+
+                batches = new ArrayList<>(queue.batches);
+                queue.batches.clear();
+
+                if (!queue.sending) {
+                    queue.removed = true;
+                    queues.remove(queue.channel.getId(), queue);
+                }
+            }
+
+            for (Batch batch : batches) {
+                send(queue.channel, batch);
+            }
+        }
+    }
+
+    /**
+     * The amount of channels that currently have a queue.
+     */
+    int queueCount() {
+        return queues.size();
+    }
+
+    private void send(ChannelQueue queue) {
+        Batch batch;
+        synchronized (queue) {
+            queue.lingerFuture = null;
+            if (queue.sending) {
+                return;
+            }
+
+            batch = queue.batches.pollFirst();
+            if (batch == null) {
+                // Nothing left to send, remove the queue until the channel is used again
+                queue.removed = true;
+                queues.remove(queue.channel.getId(), queue);
+                return;
+            }
+            queue.sending = true;
+        }
+
+        send(queue.channel, batch).whenComplete((message, t) -> {
+            synchronized (queue) {
+                queue.sending = false;
+            }
+            // Anything queued while sending was held back by the rate limit already, send it right away
+            send(queue);
+        });
+    }
+
+    private CompletableFuture<ReceivedDiscordMessage> send(DiscordGuildMessageChannel channel, Batch batch) {
+        CompletableFuture<ReceivedDiscordMessage> future;
+        try {
+            future = sender.apply(channel, batch.build());
+        } catch (Throwable t) {
+            future = CompletableFutureUtil.failed(t);
+        }
+        if (future == null) {
+            future = CompletableFuture.completedFuture(null);
+        }
+
+        return future.whenComplete((message, t) -> {
+            for (CompletableFuture<ReceivedDiscordMessage> lineFuture : batch.futures) {
+                if (t != null) {
+                    lineFuture.completeExceptionally(t);
+                } else {
+                    lineFuture.complete(message);
+                }
+            }
+        });
+    }
+
+    private static class ChannelQueue {
+
+        private final DiscordGuildMessageChannel channel;
+        private final Deque<Batch> batches = new ArrayDeque<>();
+        private boolean sending;
+        private boolean removed;
+        private ScheduledFuture<?> lingerFuture;
+
+        private ChannelQueue(DiscordGuildMessageChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    private static class Batch {
+
+        private final SendableDiscordMessage first;
+        private final List<CompletableFuture<ReceivedDiscordMessage>> futures = new ArrayList<>(1);
+        private StringBuilder content;
+
+        private Batch(SendableDiscordMessage first, CompletableFuture<ReceivedDiscordMessage> future) {
+            this.first = first;
+            this.futures.add(future);
+        }
+
+        private boolean append(SendableDiscordMessage message, CompletableFuture<ReceivedDiscordMessage> future) {
+            if (!canCombine(first) || !canCombine(message)
+                    || !Objects.equals(first.getWebhookUsername(), message.getWebhookUsername())
+                    || !Objects.equals(first.getWebhookAvatarUrl(), message.getWebhookAvatarUrl())
+                    || !first.getAllowedMentions().equals(message.getAllowedMentions())
+                    || first.isSuppressedNotifications() != message.isSuppressedNotifications()
+                    || first.isSuppressedEmbeds() != message.isSuppressedEmbeds()) {
+                return false;
+            }
+
+            String currentContent = content != null ? content.toString() : first.getContent();
+            String newContent = message.getContent();
+            if (currentContent.length() + 1 + newContent.length() > MAX_CONTENT_LENGTH) {
+                return false;
+            }
+
+            if (content == null) {
+                content = new StringBuilder(currentContent);
+            }
+            content.append('\n').append(newContent);
+            futures.add(future);
+            return true;
+        }
+
+        private static boolean canCombine(SendableDiscordMessage message) {
+            String content = message.getContent();
+            return content != null && !content.isEmpty()
+                    && message.getEmbeds().isEmpty()
+                    && (message.getActionRows() == null || message.getActionRows().isEmpty())
+                    && message.getAttachments().isEmpty()
+                    && message.getMessageIdToReplyTo() == null;
+        }
+
+        private SendableDiscordMessage build() {
+            if (content == null) {
+                return first;
+            }
+
+            return SendableDiscordMessage.builder()
+                    .setContent(content.toString())
+                    .setWebhookUsername(first.getWebhookUsername())
+                    .setWebhookAvatarUrl(first.getWebhookAvatarUrl())
+                    .setAllowedMentions(first.getAllowedMentions())
+                    .setSuppressedNotifications(first.isSuppressedNotifications())
+                    .setSuppressedEmbeds(first.isSuppressedEmbeds())
+                    .build();
+        }
+    }
+}
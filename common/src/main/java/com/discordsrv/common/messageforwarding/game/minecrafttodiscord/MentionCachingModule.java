@@ -23,6 +23,8 @@ import com.discordsrv.api.event.bus.Subscribe;
 import com.discordsrv.common.DiscordSRV;
 import com.discordsrv.common.config.main.channels.MinecraftToDiscordChatConfig;
 import com.discordsrv.common.config.main.channels.base.BaseChannelConfig;
+import com.discordsrv.common.debug.DebugGenerateEvent;
+import com.discordsrv.common.debug.file.TextDebugFile;
 import com.discordsrv.common.module.type.AbstractModule;
 import com.github.benmanes.caffeine.cache.Cache;
 import net.dv8tion.jda.api.entities.Guild;
@@ -46,15 +48,14 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.regex.Pattern;
 
 public class MentionCachingModule extends AbstractModule<DiscordSRV> {
 
-    private final Map<Long, Map<Long, CachedMention>> memberMentions = new ConcurrentHashMap<>();
+    private final Map<Long, MentionMatcher> memberMentions = new ConcurrentHashMap<>();
     private final Map<Long, Cache<Long, CachedMention>> memberMentionsCache = new ConcurrentHashMap<>();
 
-    private final Map<Long, Map<Long, CachedMention>> roleMentions = new ConcurrentHashMap<>();
-    private final Map<Long, Map<Long, CachedMention>> channelMentions = new ConcurrentHashMap<>();
+    private final Map<Long, MentionMatcher> roleMentions = new ConcurrentHashMap<>();
+    private final Map<Long, MentionMatcher> channelMentions = new ConcurrentHashMap<>();
 
     public MentionCachingModule(DiscordSRV discordSRV) {
         super(discordSRV);
@@ -114,6 +115,70 @@ public class MentionCachingModule extends AbstractModule<DiscordSRV> {
         channelMentions.remove(guildId);
     }
 
+    @Subscribe
+    public void onDebugGenerate(DebugGenerateEvent event) {
+        StringBuilder builder = new StringBuilder("Cached mentions:");
+        long totalBytes = 0;
+        totalBytes += appendMentions(builder, "Members", memberMentions);
+        totalBytes += appendMentions(builder, "Roles", roleMentions);
+        totalBytes += appendMentions(builder, "Channels", channelMentions);
+        builder.append("\n\nEstimated total memory usage: ").append(totalBytes / 1024).append(" KiB");
+
+        event.addFile(new TextDebugFile("mention-caching.txt", builder));
+    }
+
+    private long appendMentions(StringBuilder builder, String type, Map<Long, MentionMatcher> mentions) {
+        builder.append("\n\n").append(type).append(':');
+        long totalBytes = 0;
+        for (Map.Entry<Long, MentionMatcher> entry : mentions.entrySet()) {
+            MentionMatcher matcher = entry.getValue();
+            long bytes = matcher.estimateMemoryUsage();
+            totalBytes += bytes;
+
+            builder.append("\n- ").append(Long.toUnsignedString(entry.getKey()))
+                    .append(": ").append(matcher.size()).append(" mentions, ~")
+                    .append(bytes / 1024).append(" KiB");
+        }
+        return totalBytes;
+    }
+
+    /**
+     * Replaces Minecraft mentions (eg. {@code @Vankka}) with Discord mentions in the given message,
+     * in a single pass over the message. If multiple mentions start at the same position the longest one is used.
+     *
+     * @param guild the Discord server the message is for
+     * @param message the message
+     * @param users if users should be mentioned
+     * @param roles if roles should be mentioned
+     * @param channels if channels should be mentioned
+     * @param additionalMentions additional mentions, for example from {@link #lookupMemberMentions(Guild, String)}
+     * @return the message with mentions replaced
+     */
+    public String replaceMentions(
+            Guild guild,
+            String message,
+            boolean users,
+            boolean roles,
+            boolean channels,
+            Collection<CachedMention> additionalMentions
+    ) {
+        CachedMention[] longestByStart = new CachedMention[message.length()];
+        if (additionalMentions != null) {
+            MentionMatcher.findLongest(additionalMentions, message, longestByStart);
+        }
+        if (roles) {
+            getRoleMentions(guild).findLongest(message, longestByStart);
+        }
+        if (channels) {
+            getChannelMentions(guild).findLongest(message, longestByStart);
+        }
+        if (users) {
+            getMemberMentions(guild).findLongest(message, longestByStart);
+        }
+
+        return MentionMatcher.replace(message, longestByStart);
+    }
+
     //
     // Member
     //
@@ -138,12 +203,20 @@ public class MentionCachingModule extends AbstractModule<DiscordSRV> {
         });
     }
 
-    public Map<Long, CachedMention> getMemberMentions(Guild guild) {
+    /**
+     * Creates a matcher that rebuilds on the scheduler after changes, so chat messages never wait for a rebuild.
+     */
+    private MentionMatcher newMatcher() {
+        return new MentionMatcher(discordSRV.scheduler()::run);
+    }
+
+    public MentionMatcher getMemberMentions(Guild guild) {
         return memberMentions.computeIfAbsent(guild.getIdLong(), key -> {
-            Map<Long, CachedMention> mentions = new LinkedHashMap<>();
+            MentionMatcher mentions = newMatcher();
             for (Member member : guild.getMembers()) {
-                mentions.put(member.getIdLong(), convertMember(member));
+                mentions.put(convertMember(member));
             }
+            mentions.rebuild();
             return mentions;
         });
     }
@@ -164,13 +237,13 @@ public class MentionCachingModule extends AbstractModule<DiscordSRV> {
             return;
         }
 
-        getMemberMentions(event.getGuild()).put(member.getIdLong(), convertMember(member));
+        getMemberMentions(event.getGuild()).put(convertMember(member));
     }
 
     @Subscribe
     public void onMemberUpdate(GuildMemberUpdateNicknameEvent event) {
         Member member = event.getMember();
-        getMemberMentions(event.getGuild()).replace(member.getIdLong(), convertMember(member));
+        getMemberMentions(event.getGuild()).replace(convertMember(member));
     }
 
     @Subscribe
@@ -187,12 +260,13 @@ public class MentionCachingModule extends AbstractModule<DiscordSRV> {
     // Role
     //
 
-    public Map<Long, CachedMention> getRoleMentions(Guild guild) {
+    public MentionMatcher getRoleMentions(Guild guild) {
         return roleMentions.computeIfAbsent(guild.getIdLong(), key -> {
-            Map<Long, CachedMention> mentions = new LinkedHashMap<>();
+            MentionMatcher mentions = newMatcher();
             for (Role role : guild.getRoles()) {
-                mentions.put(role.getIdLong(), convertRole(role));
+                mentions.put(convertRole(role));
             }
+            mentions.rebuild();
             return mentions;
         });
     }
@@ -208,13 +282,13 @@ public class MentionCachingModule extends AbstractModule<DiscordSRV> {
     @Subscribe
     public void onRoleCreate(RoleCreateEvent event) {
         Role role = event.getRole();
-        getRoleMentions(event.getGuild()).put(role.getIdLong(), convertRole(role));
+        getRoleMentions(event.getGuild()).put(convertRole(role));
     }
 
     @Subscribe
     public void onRoleUpdate(RoleUpdateNameEvent event) {
         Role role = event.getRole();
-        getRoleMentions(event.getGuild()).put(role.getIdLong(), convertRole(role));
+        getRoleMentions(event.getGuild()).put(convertRole(role));
     }
 
     @Subscribe
@@ -227,17 +301,18 @@ public class MentionCachingModule extends AbstractModule<DiscordSRV> {
     // Channel
     //
 
-    public Map<Long, CachedMention> getChannelMentions(Guild guild) {
+    public MentionMatcher getChannelMentions(Guild guild) {
         return channelMentions.computeIfAbsent(guild.getIdLong(), key -> {
-            Map<Long, CachedMention> mentions = new LinkedHashMap<>();
+            MentionMatcher mentions = newMatcher();
             for (GuildChannel channel : guild.getChannels()) {
                 if (channel instanceof Category) {
                     // Not mentionable
                     continue;
                 }
 
-                mentions.put(channel.getIdLong(), convertChannel(channel));
+                mentions.put(convertChannel(channel));
             }
+            mentions.rebuild();
             return mentions;
         });
     }
@@ -257,7 +332,7 @@ public class MentionCachingModule extends AbstractModule<DiscordSRV> {
         }
 
         GuildChannel channel = (GuildChannel) event.getChannel();
-        getChannelMentions(event.getGuild()).put(channel.getIdLong(), convertChannel(channel));
+        getChannelMentions(event.getGuild()).put(convertChannel(channel));
     }
 
     @Subscribe
@@ -267,7 +342,7 @@ public class MentionCachingModule extends AbstractModule<DiscordSRV> {
         }
 
         GuildChannel channel = (GuildChannel) event.getChannel();
-        getChannelMentions(event.getGuild()).put(channel.getIdLong(), convertChannel(channel));
+        getChannelMentions(event.getGuild()).put(convertChannel(channel));
     }
 
     @Subscribe
@@ -282,24 +357,22 @@ public class MentionCachingModule extends AbstractModule<DiscordSRV> {
 
     public static class CachedMention {
 
-        private final Pattern search;
-        private final int searchLength;
+        private final String searchString;
         private final String mention;
         private final long id;
 
         public CachedMention(String search, String mention, long id) {
-            this.search = Pattern.compile(search, Pattern.LITERAL);
-            this.searchLength = search.length();
+            this.searchString = search;
             this.mention = mention;
             this.id = id;
         }
 
-        public Pattern search() {
-            return search;
+        public String searchString() {
+            return searchString;
         }
 
         public int searchLength() {
-            return searchLength;
+            return searchString.length();
         }
 
         public String mention() {
@@ -320,12 +393,12 @@ public class MentionCachingModule extends AbstractModule<DiscordSRV> {
 
         @Override
         public int hashCode() {
-            return Objects.hash(id);
+            return Long.hashCode(id);
         }
 
         @Override
         public String toString() {
-            return "CachedMention{pattern=" + search.pattern() + ",mention=" + mention + "}";
+            return "CachedMention{search=" + searchString + ",mention=" + mention + "}";
         }
     }
 }
@@ -0,0 +1,606 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.messageforwarding.game.minecrafttodiscord;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+
+/**
+ * An Aho-Corasick automaton over the search strings of {@link MentionCachingModule.CachedMention}s,
+ * used to find all mentions in a message in a single pass.
+ * <p>
+ * Mentions are inserted into and removed from the trie as they change, after which the failure links are rebuilt
+ * on the given executor and published as an immutable snapshot. Searches only read the latest snapshot,
+ * so they never wait for changes or rebuilds. Changes made close together are rebuilt once.
+ * Mentions are kept by their primitive id, without boxing or per-entry map nodes.
+ */
+public class MentionMatcher {
+
+    private static final int ROOT = 0;
+    private static final long EMPTY = -1L;
+    private static final Snapshot EMPTY_SNAPSHOT = new Snapshot(
+            0, new long[] {EMPTY}, new int[1], new int[1], new int[1], new int[1], new Object[1]
+    );
+
+    private final Executor rebuildExecutor;
+    private volatile Snapshot snapshot = EMPTY_SNAPSHOT;
+    private boolean rebuildScheduled;
+
+    // Mentions by id, open addressing: a slot is in use if the mention in it is not null
+    private long[] ids;
+    private MentionCachingModule.CachedMention[] mentions;
+    private int size;
+
+    // Trie nodes, index 0 is the root
+    private int nodeCount;
+    private int[] parent;
+    private char[] character;
+    private int[] depth;
+    private int[] failure;
+    private int[] dictionary;
+    private Object[] values;
+
+    // Trie edges, open addressing: (node << 16 | character) -> child node
+    private long[] edgeKeys;
+    private int[] edgeNodes;
+    private int edgeCount;
+
+    private int removedSinceCompact;
+    private boolean changed;
+
+    /**
+     * Creates a matcher that rebuilds its snapshot on the thread making the change.
+     */
+    public MentionMatcher() {
+        this(Runnable::run);
+    }
+
+    /**
+     * Creates a matcher that rebuilds its snapshot on the given executor.
+     * @param rebuildExecutor the executor to rebuild on
+     */
+    public MentionMatcher(@NotNull Executor rebuildExecutor) {
+        this.rebuildExecutor = rebuildExecutor;
+        ids = new long[16];
+        mentions = new MentionCachingModule.CachedMention[16];
+        reset();
+    }
+
+    private void reset() {
+        nodeCount = 1;
+        parent = new int[16];
+        character = new char[16];
+        depth = new int[16];
+        failure = new int[16];
+        dictionary = new int[16];
+        values = new Object[16];
+
+        edgeKeys = new long[32];
+        Arrays.fill(edgeKeys, EMPTY);
+        edgeNodes = new int[32];
+        edgeCount = 0;
+
+        removedSinceCompact = 0;
+        changed = true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Estimates the amount of heap memory used by this matcher and the mentions in it, assuming compressed oops.
+     * @return the estimated memory usage in bytes
+     */
+    public synchronized long estimateMemoryUsage() {
+        Snapshot snapshot = this.snapshot;
+        long bytes = arrayBytes(ids.length, 8) + arrayBytes(mentions.length, 4)
+                + arrayBytes(edgeKeys.length, 8) + arrayBytes(edgeNodes.length, 4)
+                + arrayBytes(parent.length, 4) * 4 // parent, depth, failure, dictionary
+                + arrayBytes(character.length, 2) + arrayBytes(values.length, 4)
+                // The published snapshot
+                + arrayBytes(snapshot.edgeKeys.length, 8) + arrayBytes(snapshot.edgeNodes.length, 4)
+                + arrayBytes(snapshot.depth.length, 4) * 3 // depth, failure, dictionary
+                + arrayBytes(snapshot.values.length, 4);
+
+        for (MentionCachingModule.CachedMention mention : mentions) {
+            if (mention != null) {
+                // Object header, two references and a long + both strings (header, hash, array reference, byte array)
+                bytes += 32 + stringBytes(mention.searchString()) + stringBytes(mention.mention());
+            }
+        }
+        for (Object value : values) {
+            if (value instanceof MentionCachingModule.CachedMention[]) {
+                bytes += arrayBytes(((MentionCachingModule.CachedMention[]) value).length, 4);
+            }
+        }
+        return bytes;
+    }
+
+    private static long arrayBytes(int length, int elementSize) {
+        return align(16L + (long) length * elementSize);
+    }
+
+    private static long stringBytes(String string) {
+        return 24 + arrayBytes(string.length(), 1);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Adds or replaces the mention with the same id.
+     * @param mention the mention
+     */
+    public synchronized void put(@NotNull MentionCachingModule.CachedMention mention) {
+        MentionCachingModule.CachedMention previous = removeMention(mention.id());
+        if (previous != null) {
+            removeValue(previous);
+        }
+
+        putMention(mention);
+        insert(mention);
+        scheduleRebuild();
+    }
+
+    /**
+     * Replaces the mention with the same id, if one is present.
+     * @param mention the mention
+     */
+    public synchronized void replace(@NotNull MentionCachingModule.CachedMention mention) {
+        if (mentions[slot(mention.id(), ids, mentions)] != null) {
+            put(mention);
+        }
+    }
+
+    public synchronized void remove(long id) {
+        MentionCachingModule.CachedMention previous = removeMention(id);
+        if (previous != null) {
+            removeValue(previous);
+            scheduleRebuild();
+        }
+    }
+
+    public synchronized void clear() {
+        ids = new long[16];
+        mentions = new MentionCachingModule.CachedMention[16];
+        size = 0;
+        reset();
+        scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled) {
+            return;
+        }
+        rebuildScheduled = true;
+        rebuildExecutor.execute(this::rebuild);
+    }
+
+    /**
+     * Rebuilds the failure links and publishes a new snapshot for searches, if anything changed since the last rebuild.
+     */
+    public synchronized void rebuild() {
+        rebuildScheduled = false;
+        if (!changed) {
+            return;
+        }
+
+        buildLinks();
+        snapshot = new Snapshot(
+                size,
+                edgeKeys.clone(),
+                edgeNodes.clone(),
+                Arrays.copyOf(depth, nodeCount),
+                Arrays.copyOf(failure, nodeCount),
+                Arrays.copyOf(dictionary, nodeCount),
+                Arrays.copyOf(values, nodeCount)
+        );
+        changed = false;
+    }
+
+    /**
+     * Finds the mentions in the given text, storing the longest mention starting at each index into the provided array.
+     * Mentions already in the array are only replaced by longer mentions.
+     * Uses the last published snapshot, which doesn't include changes that haven't been {@link #rebuild() rebuilt} yet.
+     *
+     * @param text the text to search
+     * @param longestByStart the array to store the results in, must be at least as long as the text
+     */
+    public void findLongest(@NotNull String text, @NotNull MentionCachingModule.CachedMention[] longestByStart) {
+        Snapshot snapshot = this.snapshot;
+        if (snapshot.size == 0) {
+            return;
+        }
+
+        int[] depth = snapshot.depth;
+        int[] failure = snapshot.failure;
+        int[] dictionary = snapshot.dictionary;
+        Object[] values = snapshot.values;
+
+        int state = ROOT;
+        for (int index = 0; index < text.length(); index++) {
+            char c = text.charAt(index);
+
+            int next;
+            while ((next = getEdge(snapshot.edgeKeys, snapshot.edgeNodes, state, c)) == -1 && state != ROOT) {
+                state = failure[state];
+            }
+            state = next == -1 ? ROOT : next;
+
+            int output = values[state] != null ? state : dictionary[state];
+            while (output != ROOT) {
+                int length = depth[output];
+                int start = index - length + 1;
+
+                MentionCachingModule.CachedMention current = longestByStart[start];
+                if (current == null || current.searchLength() < length) {
+                    longestByStart[start] = first(values[output]);
+                }
+                output = dictionary[output];
+            }
+        }
+    }
+
+    /**
+     * Finds the given mentions in the given text, without an automaton, see {@link #findLongest(String, MentionCachingModule.CachedMention[])}.
+     */
+    public static void findLongest(
+            @NotNull Collection<MentionCachingModule.CachedMention> mentions,
+            @NotNull String text,
+            @NotNull MentionCachingModule.CachedMention[] longestByStart
+    ) {
+        for (MentionCachingModule.CachedMention mention : mentions) {
+            String search = mention.searchString();
+            if (search.isEmpty()) {
+                continue;
+            }
+
+            int start = 0;
+            while ((start = text.indexOf(search, start)) != -1) {
+                MentionCachingModule.CachedMention current = longestByStart[start];
+                if (current == null || current.searchLength() < mention.searchLength()) {
+                    longestByStart[start] = mention;
+                }
+                start++;
+            }
+        }
+    }
+
+    /**
+     * Replaces the mentions found with {@link #findLongest(String, MentionCachingModule.CachedMention[])},
+     * going from left to right, mentions overlapping with a previously replaced mention are skipped.
+     *
+     * @param text the text to replace mentions in
+     * @param longestByStart the mentions found in the text
+     * @return the text with the mentions replaced
+     */
+    public static String replace(@NotNull String text, @NotNull MentionCachingModule.CachedMention[] longestByStart) {
+        StringBuilder builder = null;
+        int lastEnd = 0;
+        int length = text.length();
+        for (int index = 0; index < length;) {
+            MentionCachingModule.CachedMention mention = longestByStart[index];
+            if (mention == null) {
+                index++;
+                continue;
+            }
+
+            if (builder == null) {
+                builder = new StringBuilder(length + 16);
+            }
+            builder.append(text, lastEnd, index).append(mention.mention());
+            index += mention.searchLength();
+            lastEnd = index;
+        }
+
+        if (builder == null) {
+            return text;
+        }
+        return builder.append(text, lastEnd, length).toString();
+    }
+
+    private static MentionCachingModule.CachedMention first(Object value) {
+        return value instanceof MentionCachingModule.CachedMention
+               ? (MentionCachingModule.CachedMention) value
+               : ((MentionCachingModule.CachedMention[]) value)[0];
+    }
+
+    private void insert(MentionCachingModule.CachedMention mention) {
+        String search = mention.searchString();
+        if (search.isEmpty()) {
+            return;
+        }
+
+        int node = ROOT;
+        for (int index = 0; index < search.length(); index++) {
+            char c = search.charAt(index);
+            int child = getEdge(node, c);
+            if (child == -1) {
+                child = newNode(node, c);
+                putEdge(node, c, child);
+            }
+            node = child;
+        }
+
+        Object existing = values[node];
+        if (existing == null) {
+            values[node] = mention;
+        } else if (existing instanceof MentionCachingModule.CachedMention) {
+            values[node] = new MentionCachingModule.CachedMention[] {(MentionCachingModule.CachedMention) existing, mention};
+        } else {
+            MentionCachingModule.CachedMention[] array = (MentionCachingModule.CachedMention[]) existing;
+            MentionCachingModule.CachedMention[] newArray = Arrays.copyOf(array, array.length + 1);
+            newArray[array.length] = mention;
+            values[node] = newArray;
+        }
+        changed = true;
+    }
+
+    private void removeValue(MentionCachingModule.CachedMention mention) {
+        String search = mention.searchString();
+        int node = ROOT;
+        for (int index = 0; index < search.length() && node != -1; index++) {
+            node = getEdge(node, search.charAt(index));
+        }
+        if (node == -1 || node == ROOT) {
+            return;
+        }
+
+        Object existing = values[node];
+        if (existing instanceof MentionCachingModule.CachedMention) {
+            if (((MentionCachingModule.CachedMention) existing).id() == mention.id()) {
+                values[node] = null;
+            }
+        } else if (existing != null) {
+            List<MentionCachingModule.CachedMention> remaining = new ArrayList<>();
+            for (MentionCachingModule.CachedMention value : (MentionCachingModule.CachedMention[]) existing) {
+                if (value.id() != mention.id()) {
+                    remaining.add(value);
+                }
+            }
+            if (remaining.isEmpty()) {
+                values[node] = null;
+            } else if (remaining.size() == 1) {
+                values[node] = remaining.get(0);
+            } else {
+                values[node] = remaining.toArray(new MentionCachingModule.CachedMention[0]);
+            }
+        }
+        changed = true;
+
+        // Nodes aren't removed from the trie, rebuild it once enough of it is unused
+        if (++removedSinceCompact > 64 && removedSinceCompact > size) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        reset();
+        for (MentionCachingModule.CachedMention mention : mentions) {
+            if (mention != null) {
+                insert(mention);
+            }
+        }
+    }
+
+    private static int slot(long id, long[] ids, MentionCachingModule.CachedMention[] mentions) {
+        int mask = ids.length - 1;
+        int slot = hash(id) & mask;
+        while (mentions[slot] != null && ids[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void putMention(MentionCachingModule.CachedMention mention) {
+        if ((size + 1) * 3 > ids.length * 2) {
+            long[] oldIds = ids;
+            MentionCachingModule.CachedMention[] oldMentions = mentions;
+            ids = new long[oldIds.length * 2];
+            mentions = new MentionCachingModule.CachedMention[oldMentions.length * 2];
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldMentions[i] != null) {
+                    int slot = slot(oldIds[i], ids, mentions);
+                    ids[slot] = oldIds[i];
+                    mentions[slot] = oldMentions[i];
+                }
+            }
+        }
+
+        int slot = slot(mention.id(), ids, mentions);
+        if (mentions[slot] == null) {
+            size++;
+        }
+        ids[slot] = mention.id();
+        mentions[slot] = mention;
+    }
+
+    private MentionCachingModule.CachedMention removeMention(long id) {
+        int mask = ids.length - 1;
+        int slot = slot(id, ids, mentions);
+        MentionCachingModule.CachedMention previous = mentions[slot];
+        if (previous == null) {
+            return null;
+        }
+
+        // Shift following entries back, so that lookups don't stop at the now empty slot
+        int empty = slot;
+        int current = (slot + 1) & mask;
+        while (mentions[current] != null) {
+            int home = hash(ids[current]) & mask;
+            if (((current - home) & mask) >= ((current - empty) & mask)) {
+                ids[empty] = ids[current];
+                mentions[empty] = mentions[current];
+                empty = current;
+            }
+            current = (current + 1) & mask;
+        }
+        mentions[empty] = null;
+        size--;
+        return previous;
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private void buildLinks() {
+        // Order nodes by depth, failure links always point to a shallower node
+        int maxDepth = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            maxDepth = Math.max(maxDepth, depth[node]);
+        }
+        int[] depthStart = new int[maxDepth + 2];
+        for (int node = 0; node < nodeCount; node++) {
+            depthStart[depth[node] + 1]++;
+        }
+        for (int i = 1; i < depthStart.length; i++) {
+            depthStart[i] += depthStart[i - 1];
+        }
+        int[] order = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            order[depthStart[depth[node]]++] = node;
+        }
+
+        failure[ROOT] = ROOT;
+        dictionary[ROOT] = ROOT;
+        for (int node : order) {
+            if (node == ROOT) {
+                continue;
+            }
+
+            int parentNode = parent[node];
+            int fail = ROOT;
+            if (parentNode != ROOT) {
+                char c = character[node];
+                int state = failure[parentNode];
+                int next;
+                while ((next = getEdge(state, c)) == -1 && state != ROOT) {
+                    state = failure[state];
+                }
+                if (next != -1) {
+                    fail = next;
+                }
+            }
+
+            failure[node] = fail;
+            dictionary[node] = values[fail] != null ? fail : dictionary[fail];
+        }
+    }
+
+    private int newNode(int parentNode, char c) {
+        if (nodeCount == parent.length) {
+            int capacity = parent.length * 2;
+            parent = Arrays.copyOf(parent, capacity);
+            character = Arrays.copyOf(character, capacity);
+            depth = Arrays.copyOf(depth, capacity);
+            failure = Arrays.copyOf(failure, capacity);
+            dictionary = Arrays.copyOf(dictionary, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        int node = nodeCount++;
+        parent[node] = parentNode;
+        character[node] = c;
+        depth[node] = depth[parentNode] + 1;
+        return node;
+    }
+
+    private static long edgeKey(int node, char c) {
+        return ((long) node << 16) | c;
+    }
+
+    private static int edgeSlot(long key, long[] keys) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int getEdge(int node, char c) {
+        return getEdge(edgeKeys, edgeNodes, node, c);
+    }
+
+    private static int getEdge(long[] edgeKeys, int[] edgeNodes, int node, char c) {
+        long key = edgeKey(node, c);
+        int slot = edgeSlot(key, edgeKeys);
+        return edgeKeys[slot] == key ? edgeNodes[slot] : -1;
+    }
+
+    private void putEdge(int node, char c, int child) {
+        if ((edgeCount + 1) * 2 > edgeKeys.length) {
+            long[] oldKeys = edgeKeys;
+            int[] oldNodes = edgeNodes;
+            edgeKeys = new long[oldKeys.length * 2];
+            Arrays.fill(edgeKeys, EMPTY);
+            edgeNodes = new int[oldNodes.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = edgeSlot(oldKeys[i], edgeKeys);
+                    edgeKeys[slot] = oldKeys[i];
+                    edgeNodes[slot] = oldNodes[i];
+                }
+            }
+        }
+
+        long key = edgeKey(node, c);
+        int slot = edgeSlot(key, edgeKeys);
+        if (edgeKeys[slot] == EMPTY) {
+            edgeCount++;
+        }
+        edgeKeys[slot] = key;
+        edgeNodes[slot] = child;
+    }
+
+    private static class Snapshot {
+
+        private final int size;
+        private final long[] edgeKeys;
+        private final int[] edgeNodes;
+        private final int[] depth;
+        private final int[] failure;
+        private final int[] dictionary;
+        private final Object[] values;
+
+        private Snapshot(
+                int size,
+                long[] edgeKeys,
+                int[] edgeNodes,
+                int[] depth,
+                int[] failure,
+                int[] dictionary,
+                Object[] values
+        ) {
+            this.size = size;
+            this.edgeKeys = edgeKeys;
+            this.edgeNodes = edgeNodes;
+            this.depth = depth;
+            this.failure = failure;
+            this.dictionary = dictionary;
+            this.values = values;
+        }
+    }
+}
@@ -49,12 +49,19 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public class MinecraftToDiscordChatModule extends AbstractGameMessageModule<MinecraftToDiscordChatConfig, GameChatMessageReceiveEvent> {
 
+    private final ChatMessageBatcher batcher;
+
     public MinecraftToDiscordChatModule(DiscordSRV discordSRV) {
         super(discordSRV, "MINECRAFT_TO_DISCORD");
+        this.batcher = new ChatMessageBatcher(discordSRV, this::sendMessageToChannel);
+    }
+
+    @Override
+    public void disable() {
+        batcher.flush();
     }
 
     @Subscribe(priority = EventPriority.LAST)
@@ -104,7 +111,11 @@ public class MinecraftToDiscordChatModule extends AbstractGameMessageModule<Mine
             CompletableFuture<SendableDiscordMessage> messageFuture = getMessageForGuild(config, format, guild, message, player, context);
 
             for (DiscordGuildMessageChannel channel : entry.getValue()) {
-                futures.add(messageFuture.thenCompose(msg -> sendMessageToChannel(channel, msg)));
+                if (config.batching.enabled) {
+                    futures.add(messageFuture.thenCompose(msg -> batcher.queue(channel, msg, config.batching)));
+                } else {
+                    futures.add(messageFuture.thenCompose(msg -> sendMessageToChannel(channel, msg)));
+                }
             }
         }
 
@@ -162,28 +173,7 @@ public class MinecraftToDiscordChatModule extends AbstractGameMessageModule<Mine
             Set<MentionCachingModule.CachedMention> memberMentions
     ) {
         MinecraftToDiscordChatConfig.Mentions mentionConfig = config.mentions;
-        Set<MentionCachingModule.CachedMention> mentions = new LinkedHashSet<>();
-
-        if (memberMentions != null) {
-            mentions.addAll(memberMentions);
-        }
-
         MentionCachingModule mentionCaching = discordSRV.getModule(MentionCachingModule.class);
-        if (mentionCaching != null) {
-            if (mentionConfig.roles) {
-                mentions.addAll(mentionCaching.getRoleMentions(guild).values());
-            }
-            if (mentionConfig.channels) {
-                mentions.addAll(mentionCaching.getChannelMentions(guild).values());
-            }
-            if (mentionConfig.users) {
-                mentions.addAll(mentionCaching.getMemberMentions(guild).values());
-            }
-        }
-
-        List<MentionCachingModule.CachedMention> orderedMentions = mentions.stream()
-                .sorted(Comparator.comparingInt(mention -> ((MentionCachingModule.CachedMention) mention).searchLength()).reversed())
-                .collect(Collectors.toList());
 
         List<AllowedMention> allowedMentions = new ArrayList<>();
         if (mentionConfig.users && player.hasPermission(Permission.MENTION_USER)) {
@@ -212,13 +202,18 @@ public class MinecraftToDiscordChatModule extends AbstractGameMessageModule<Mine
                 .addContext(context)
                 .addPlaceholder("message", () -> {
                     String convertedComponent = convertComponent(config, message);
-                    Placeholders channelMessagePlaceholders = new Placeholders(
-                            DiscordFormattingUtil.escapeMentions(convertedComponent));
-
-                    // From longest to shortest
-                    orderedMentions.forEach(mention -> channelMessagePlaceholders.replaceAll(mention.search(), mention.mention()));
+                    String finalMessage = DiscordFormattingUtil.escapeMentions(convertedComponent);
+                    if (mentionCaching != null) {
+                        finalMessage = mentionCaching.replaceMentions(
+                                guild,
+                                finalMessage,
+                                mentionConfig.users,
+                                mentionConfig.roles,
+                                mentionConfig.channels,
+                                memberMentions
+                        );
+                    }
 
-                    String finalMessage = channelMessagePlaceholders.toString();
                     return new FormattedText(preventEveryoneMentions(everyone, finalMessage));
                 })
                 .applyPlaceholderService()
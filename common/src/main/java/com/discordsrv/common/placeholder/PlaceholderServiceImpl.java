@@ -30,6 +30,8 @@ import com.discordsrv.common.DiscordSRV;
 import com.discordsrv.common.logging.Logger;
 import com.discordsrv.common.logging.NamedLogger;
 import com.discordsrv.common.placeholder.provider.AnnotationPlaceholderProvider;
+import com.discordsrv.common.placeholder.provider.PlaceholderProviderIndex;
+import com.discordsrv.common.placeholder.template.PlaceholderTemplate;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import org.apache.commons.lang3.StringUtils;
@@ -44,16 +46,19 @@ import java.util.*;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class PlaceholderServiceImpl implements PlaceholderService {
 
     private final DiscordSRV discordSRV;
     private final Logger logger;
-    private final LoadingCache<Class<?>, Set<PlaceholderProvider>> classProviders;
+    private final LoadingCache<Class<?>, PlaceholderProviderIndex> classProviders;
+    private final LoadingCache<String, PlaceholderTemplate> templates;
+    private final LoadingCache<String, PlaceholderTemplate.CompiledPlaceholder> placeholders;
     private final Set<PlaceholderResultMapper> mappers = new CopyOnWriteArraySet<>();
     private final Set<Object> globalContext = new CopyOnWriteArraySet<>();
+    private final ThreadLocal<Map<LookupKey, PlaceholderLookupResult>> lookupCache = new ThreadLocal<>();
 
     public PlaceholderServiceImpl(DiscordSRV discordSRV) {
         this.discordSRV = discordSRV;
@@ -62,6 +67,20 @@ public class PlaceholderServiceImpl implements PlaceholderService {
                 .expireAfterAccess(10, TimeUnit.MINUTES)
                 .expireAfterWrite(15, TimeUnit.MINUTES)
                 .build(new ClassProviderLoader());
+        this.templates = discordSRV.caffeineBuilder()
+                .maximumSize(10000)
+                .expireAfterAccess(10, TimeUnit.MINUTES)
+                .build(input -> PlaceholderTemplate.compile(PATTERN, input));
+        this.placeholders = discordSRV.caffeineBuilder()
+                .maximumSize(10000)
+                .expireAfterAccess(10, TimeUnit.MINUTES)
+                .build(input -> {
+                    Matcher matcher = PATTERN.matcher(input);
+                    if (!matcher.matches()) {
+                        throw new IllegalStateException("Not a placeholder: " + input);
+                    }
+                    return PlaceholderTemplate.CompiledPlaceholder.compile(matcher);
+                });
     }
 
     public void addGlobalContext(@NotNull Object context) {
@@ -83,8 +102,38 @@ public class PlaceholderServiceImpl implements PlaceholderService {
         return lookupPlaceholder(placeholder, getArrayAsSet(context));
     }
 
+    @Override
+    public <T> T withLookupCache(@NotNull Supplier<T> supplier) {
+        if (lookupCache.get() != null) {
+            // Already caching
+            return supplier.get();
+        }
+
+        lookupCache.set(new HashMap<>());
+        try {
+            return supplier.get();
+        } finally {
+            lookupCache.remove();
+        }
+    }
+
     @Override
     public PlaceholderLookupResult lookupPlaceholder(@NotNull String placeholder, @NotNull Set<Object> lookupContexts) {
+        Map<LookupKey, PlaceholderLookupResult> cache = lookupCache.get();
+        if (cache == null) {
+            return lookupPlaceholderUncached(placeholder, lookupContexts);
+        }
+
+        LookupKey key = new LookupKey(placeholder, lookupContexts);
+        PlaceholderLookupResult result = cache.get(key);
+        if (result == null) {
+            result = lookupPlaceholderUncached(placeholder, lookupContexts);
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    private PlaceholderLookupResult lookupPlaceholderUncached(String placeholder, Set<Object> lookupContexts) {
         Set<Object> contexts = new HashSet<>(lookupContexts);
         contexts.addAll(globalContext);
         contexts.removeIf(Objects::isNull);
@@ -96,7 +145,7 @@ public class PlaceholderServiceImpl implements PlaceholderService {
                 }
             }
 
-            Set<PlaceholderProvider> providers = classProviders
+            PlaceholderProviderIndex providers = classProviders
                     .get(context instanceof Class
                          ? (Class<?>) context
                          : context.getClass());
@@ -104,7 +153,7 @@ public class PlaceholderServiceImpl implements PlaceholderService {
                 continue;
             }
 
-            for (PlaceholderProvider provider : providers) {
+            for (PlaceholderProvider provider : providers.getCandidates(placeholder)) {
                 PlaceholderLookupResult result = provider.lookup(placeholder, contexts);
                 if (result.getType() != PlaceholderLookupResult.Type.UNKNOWN_PLACEHOLDER) {
                     return result;
@@ -139,41 +188,25 @@ public class PlaceholderServiceImpl implements PlaceholderService {
 
     @Override
     public String replacePlaceholders(@NotNull String input, @NotNull Set<Object> context) {
-        return getReplacement(PATTERN, input, context);
+        PlaceholderTemplate template = templates.get(input);
+        return render(template, context);
     }
 
-    private String getReplacement(Pattern pattern, String input, Set<Object> context) {
-        Matcher matcher = pattern.matcher(input);
-
-        String output = input;
-        while (matcher.find()) {
-            String placeholder = getPlaceholder(matcher);
-            List<PlaceholderLookupResult> results = resolve(placeholder, context);
-            output = updateContent(results, placeholder, matcher, output);
-        }
-        return output;
+    private String render(PlaceholderTemplate template, Set<Object> context) {
+        return template.render(placeholder -> getResultAsCharSequence(getResult(placeholder, context)));
     }
 
     @Override
     public Object getResult(@NotNull Matcher matcher, @NotNull Set<Object> context) {
-        if (matcher.groupCount() < 3) {
-            throw new IllegalStateException("Matcher must have at least 3 groups");
-        }
-
-        String placeholder = getPlaceholder(matcher);
-        List<PlaceholderLookupResult> results = resolve(placeholder, context);
-        return getResultRepresentation(results, placeholder, matcher);
+        PlaceholderTemplate.CompiledPlaceholder placeholder = PATTERN.equals(matcher.pattern())
+                ? placeholders.get(matcher.group())
+                : PlaceholderTemplate.CompiledPlaceholder.compile(matcher);
+        return getResult(placeholder, context);
     }
 
-    private String getPlaceholder(Matcher matcher) {
-        String placeholder = matcher.group(2);
-        Pattern pattern = matcher.pattern();
-        if (PATTERN.equals(pattern)) { // Remove escapes for %
-            placeholder = placeholder.replace("\\%", "%");
-        } else if (RECURSIVE_PATTERN.equals(pattern)) { // Remove escapes for { and }
-            placeholder = placeholder.replaceAll("\\\\([{}])", "$1");
-        }
-        return placeholder;
+    private Object getResult(PlaceholderTemplate.CompiledPlaceholder placeholder, Set<Object> context) {
+        List<PlaceholderLookupResult> results = resolve(placeholder, context);
+        return getResultRepresentation(results, placeholder.unresolved());
     }
 
     @Override
@@ -201,31 +234,23 @@ public class PlaceholderServiceImpl implements PlaceholderService {
         return output instanceof CharSequence ? (CharSequence) output : String.valueOf(output != null ? output : result);
     }
 
-    private List<PlaceholderLookupResult> resolve(String placeholder, Set<Object> context) {
-        // Recursive
-        placeholder = getReplacement(RECURSIVE_PATTERN, placeholder, context);
+    private List<PlaceholderLookupResult> resolve(PlaceholderTemplate.CompiledPlaceholder placeholder, Set<Object> context) {
+        String[] alternatives = placeholder.alternatives();
+        if (alternatives == null) {
+            // Recursive
+            String resolved = render(placeholder.recursive(), context);
+            alternatives = PlaceholderTemplate.CompiledPlaceholder.splitAlternatives(resolved);
+        }
 
-        List<PlaceholderLookupResult> results = new ArrayList<>();
-        for (String part : placeholder.split("(?<!\\\\)\\|")) {
+        List<PlaceholderLookupResult> results = new ArrayList<>(alternatives.length);
+        for (String part : alternatives) {
             results.add(lookupPlaceholder(part, context));
         }
 
         return results;
     }
 
-    private String updateContent(List<PlaceholderLookupResult> results, String placeholder, Matcher matcher, String input) {
-        Object representation = getResultRepresentation(results, placeholder, matcher);
-
-        CharSequence output = getResultAsCharSequence(representation);
-        return Pattern.compile(
-                matcher.group(1) + placeholder + matcher.group(3),
-                Pattern.LITERAL
-        )
-                .matcher(input)
-                .replaceFirst(Matcher.quoteReplacement(output.toString()));
-    }
-
-    private Object getResultRepresentation(List<PlaceholderLookupResult> results, String placeholder, Matcher matcher) {
+    private Object getResultRepresentation(List<PlaceholderLookupResult> results, String unresolved) {
         Map<String, AtomicInteger> preventInfiniteLoop = new HashMap<>();
 
         Object best = null;
@@ -279,13 +304,40 @@ public class PlaceholderServiceImpl implements PlaceholderService {
 
         return best != null
                ? best
-               : matcher.group(1) + placeholder + matcher.group(3);
+               : unresolved;
+    }
+
+    /**
+     * Placeholder + the identity of the context set used for the lookup.
+     */
+    private static class LookupKey {
+
+        private final String placeholder;
+        private final Set<Object> context;
+
+        public LookupKey(String placeholder, Set<Object> context) {
+            this.placeholder = placeholder;
+            this.context = context;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            LookupKey that = (LookupKey) o;
+            return context == that.context && placeholder.equals(that.placeholder);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * placeholder.hashCode() + System.identityHashCode(context);
+        }
     }
 
-    private static class ClassProviderLoader implements CacheLoader<Class<?>, Set<PlaceholderProvider>> {
+    private static class ClassProviderLoader implements CacheLoader<Class<?>, PlaceholderProviderIndex> {
 
-        private Set<PlaceholderProvider> loadProviders(Class<?> clazz, PlaceholderPrefix prefix) {
-            Set<PlaceholderProvider> providers = new LinkedHashSet<>();
+        private Set<AnnotationPlaceholderProvider> loadProviders(Class<?> clazz, PlaceholderPrefix prefix) {
+            Set<AnnotationPlaceholderProvider> providers = new LinkedHashSet<>();
 
             Class<?> currentClass = clazz;
             while (currentClass != null) {
@@ -341,8 +393,8 @@ public class PlaceholderServiceImpl implements PlaceholderService {
         }
 
         @Override
-        public @Nullable Set<PlaceholderProvider> load(@NotNull Class<?> key) {
-            return loadProviders(key, null);
+        public @Nullable PlaceholderProviderIndex load(@NotNull Class<?> key) {
+            return new PlaceholderProviderIndex(loadProviders(key, null));
         }
     }
 }
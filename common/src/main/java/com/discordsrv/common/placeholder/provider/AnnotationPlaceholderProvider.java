@@ -41,6 +41,9 @@ public class AnnotationPlaceholderProvider implements PlaceholderProvider {
     private final Method method;
     private final Field field;
 
+    private final String key;
+    private final boolean prefixMatch;
+
     public AnnotationPlaceholderProvider(Placeholder annotation, PlaceholderPrefix prefixAnnotation, PlaceholderRemainder remainderAnnotation, Class<?> type, Method method) {
         this(annotation, prefixAnnotation, remainderAnnotation, type, method, null);
     }
@@ -56,15 +59,33 @@ public class AnnotationPlaceholderProvider implements PlaceholderProvider {
         this.type = type;
         this.method = method;
         this.field = field;
+
+        this.key = (prefixAnnotation != null ? prefixAnnotation.value() : "") + annotation.value();
+        this.prefixMatch = !annotation.relookup().isEmpty() || remainderAnnotation != null;
+    }
+
+    /**
+     * The full placeholder (including the prefix) this provider is for.
+     * @return the placeholder, may be empty
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * If this provider accepts placeholders starting with {@link #key()}, instead of only exact matches.
+     * @return {@code true} if placeholders starting with the key are accepted
+     */
+    public boolean isPrefixMatch() {
+        return prefixMatch;
     }
 
     @Override
     public @NotNull PlaceholderLookupResult lookup(@NotNull String placeholder, @NotNull Set<Object> context) {
-        String annotationPlaceholder = (prefixAnnotation != null ? prefixAnnotation.value() : "") + annotation.value();
+        String annotationPlaceholder = key;
         String reLookup = annotation.relookup();
-        boolean startsWith = !reLookup.isEmpty() || remainderAnnotation != null;
         if (annotationPlaceholder.isEmpty()
-                || !(startsWith ? placeholder.startsWith(annotationPlaceholder) : placeholder.equals(annotationPlaceholder))
+                || !(prefixMatch ? placeholder.startsWith(annotationPlaceholder) : placeholder.equals(annotationPlaceholder))
                 || (type != null && context.isEmpty())) {
             return PlaceholderLookupResult.UNKNOWN_PLACEHOLDER;
         }
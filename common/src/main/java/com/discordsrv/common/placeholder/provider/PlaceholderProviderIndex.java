@@ -0,0 +1,90 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.placeholder.provider;
+
+import java.util.*;
+
+/**
+ * The {@link AnnotationPlaceholderProvider}s of a class, indexed by the placeholder they provide.
+ */
+public class PlaceholderProviderIndex {
+
+    private final Map<String, List<AnnotationPlaceholderProvider>> exact = new HashMap<>();
+    private final Map<String, List<AnnotationPlaceholderProvider>> prefixes = new HashMap<>();
+    private final Map<AnnotationPlaceholderProvider, Integer> ordinals = new IdentityHashMap<>();
+    private final int[] prefixLengths;
+
+    public PlaceholderProviderIndex(Collection<AnnotationPlaceholderProvider> providers) {
+        Set<Integer> lengths = new TreeSet<>();
+
+        for (AnnotationPlaceholderProvider provider : providers) {
+            String key = provider.key();
+            if (key.isEmpty()) {
+                // Never matches anything
+                continue;
+            }
+
+            ordinals.put(provider, ordinals.size());
+            if (provider.isPrefixMatch()) {
+                prefixes.computeIfAbsent(key, k -> new ArrayList<>(1)).add(provider);
+                lengths.add(key.length());
+            } else {
+                exact.computeIfAbsent(key, k -> new ArrayList<>(1)).add(provider);
+            }
+        }
+
+        this.prefixLengths = lengths.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Gets the providers that may provide the given placeholder, in the order they were provided to the constructor.
+     * @param placeholder the placeholder
+     * @return the candidate providers, should not be modified
+     */
+    public List<AnnotationPlaceholderProvider> getCandidates(String placeholder) {
+        List<AnnotationPlaceholderProvider> exactMatches = exact.get(placeholder);
+
+        List<AnnotationPlaceholderProvider> candidates = null;
+        int length = placeholder.length();
+        for (int prefixLength : prefixLengths) {
+            if (prefixLength > length) {
+                break;
+            }
+
+            List<AnnotationPlaceholderProvider> prefixMatches = prefixes.get(placeholder.substring(0, prefixLength));
+            if (prefixMatches == null) {
+                continue;
+            }
+            if (candidates == null) {
+                candidates = new ArrayList<>(prefixMatches.size() + (exactMatches != null ? exactMatches.size() : 0));
+            }
+            candidates.addAll(prefixMatches);
+        }
+
+        if (candidates == null) {
+            return exactMatches != null ? exactMatches : Collections.emptyList();
+        }
+
+        if (exactMatches != null) {
+            candidates.addAll(exactMatches);
+        }
+        candidates.sort(Comparator.comparingInt(ordinals::get));
+        return candidates;
+    }
+}
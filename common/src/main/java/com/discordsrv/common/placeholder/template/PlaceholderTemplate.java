@@ -0,0 +1,164 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.placeholder.template;
+
+import com.discordsrv.api.placeholder.PlaceholderService;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An input string split into literal text and placeholder segments, so it can be rendered in a single pass.
+ */
+public class PlaceholderTemplate {
+
+    public static PlaceholderTemplate compile(@NotNull Pattern pattern, @NotNull String input) {
+        Matcher matcher = pattern.matcher(input);
+
+        List<Object> segments = new ArrayList<>();
+        int lastEnd = 0;
+        while (matcher.find()) {
+            int start = matcher.start();
+            if (start != lastEnd) {
+                segments.add(input.substring(lastEnd, start));
+            }
+            segments.add(CompiledPlaceholder.compile(matcher));
+            lastEnd = matcher.end();
+        }
+        if (segments.isEmpty()) {
+            return new PlaceholderTemplate(input, null);
+        }
+        if (lastEnd != input.length()) {
+            segments.add(input.substring(lastEnd));
+        }
+
+        return new PlaceholderTemplate(input, segments.toArray());
+    }
+
+    private final String input;
+    private final Object[] segments;
+
+    private PlaceholderTemplate(String input, Object[] segments) {
+        this.input = input;
+        this.segments = segments;
+    }
+
+    public boolean hasPlaceholders() {
+        return segments != null;
+    }
+
+    /**
+     * Renders this template.
+     * @param placeholderFunction the function providing the output for each placeholder
+     * @return the rendered output
+     */
+    public String render(Function<CompiledPlaceholder, CharSequence> placeholderFunction) {
+        if (segments == null) {
+            return input;
+        }
+
+        StringBuilder builder = new StringBuilder(input.length());
+        for (Object segment : segments) {
+            if (segment instanceof String) {
+                builder.append((String) segment);
+            } else {
+                builder.append(placeholderFunction.apply((CompiledPlaceholder) segment));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * A single placeholder in a {@link PlaceholderTemplate}.
+     */
+    public static class CompiledPlaceholder {
+
+        private static final Pattern ALTERNATIVE_SEPARATOR = Pattern.compile("(?<!\\\\)\\|");
+
+        public static CompiledPlaceholder compile(@NotNull Matcher matcher) {
+            if (matcher.groupCount() < 3) {
+                throw new IllegalStateException("Matcher must have at least 3 groups");
+            }
+
+            String placeholder = matcher.group(2);
+            Pattern pattern = matcher.pattern();
+            if (PlaceholderService.PATTERN.equals(pattern)) { // Remove escapes for %
+                placeholder = placeholder.replace("\\%", "%");
+            } else if (PlaceholderService.RECURSIVE_PATTERN.equals(pattern)) { // Remove escapes for { and }
+                placeholder = placeholder.replaceAll("\\\\([{}])", "$1");
+            }
+
+            PlaceholderTemplate recursive = compile(PlaceholderService.RECURSIVE_PATTERN, placeholder);
+            return new CompiledPlaceholder(
+                    placeholder,
+                    matcher.group(1) + placeholder + matcher.group(3),
+                    recursive.hasPlaceholders() ? recursive : null,
+                    recursive.hasPlaceholders() ? null : splitAlternatives(placeholder)
+            );
+        }
+
+        public static String[] splitAlternatives(String placeholder) {
+            return ALTERNATIVE_SEPARATOR.split(placeholder);
+        }
+
+        private final String placeholder;
+        private final String unresolved;
+        private final PlaceholderTemplate recursive;
+        private final String[] alternatives;
+
+        private CompiledPlaceholder(String placeholder, String unresolved, PlaceholderTemplate recursive, String[] alternatives) {
+            this.placeholder = placeholder;
+            this.unresolved = unresolved;
+            this.recursive = recursive;
+            this.alternatives = alternatives;
+        }
+
+        /**
+         * The placeholder without the surrounding characters and escapes.
+         */
+        public String placeholder() {
+            return placeholder;
+        }
+
+        /**
+         * The text used when the placeholder cannot be resolved.
+         */
+        public String unresolved() {
+            return unresolved;
+        }
+
+        /**
+         * The recursive placeholders within this placeholder, {@code null} if there are none.
+         */
+        public PlaceholderTemplate recursive() {
+            return recursive;
+        }
+
+        /**
+         * The {@code |} separated placeholders to try in order, {@code null} if {@link #recursive()} needs to be rendered first.
+         */
+        public String[] alternatives() {
+            return alternatives;
+        }
+    }
+}
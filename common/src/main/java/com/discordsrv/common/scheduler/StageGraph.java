@@ -0,0 +1,156 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.scheduler;
+
+import com.discordsrv.common.function.CheckedSupplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A set of named stages that run in parallel as soon as the stages they depend on have finished.
+ * <p>
+ * A stage may return a non-null result to stop the stages depending on it, the first such result (in the order the
+ * stages were added) is the result of {@link #run()}. Likewise the first exception thrown by a stage fails the result.
+ *
+ * @param <R> the type of result used to stop the graph
+ */
+public class StageGraph<R> {
+
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+    private final Map<String, Long> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    /**
+     * Adds a stage to this graph.
+     * @param name the name of the stage
+     * @param task the task, returning {@code null} to continue or a result to stop the stages depending on this one
+     * @param dependencies the names of the stages that must finish before this one, stages that weren't added are ignored
+     */
+    public void add(@NotNull String name, @NotNull CheckedSupplier<@Nullable R> task, @NotNull String... dependencies) {
+        if (stages.containsKey(name)) {
+            throw new IllegalArgumentException("Stage " + name + " was already added");
+        }
+        stages.put(name, new Stage(name, task, dependencies));
+    }
+
+    /**
+     * If no stages have been added to this graph.
+     */
+    public boolean isEmpty() {
+        return stages.isEmpty();
+    }
+
+    /**
+     * Runs all the stages.
+     * @param executor the executor to run the stages on
+     * @return a future completing with the first result returned by a stage or {@code null} after all stages finish
+     */
+    public CompletableFuture<@Nullable R> run(@NotNull Executor executor) {
+        long startTime = System.nanoTime();
+        for (Stage stage : stages.values()) {
+            start(stage, executor, new HashSet<>());
+        }
+
+        CompletableFuture<?>[] futures = stages.values().stream().map(stage -> stage.future).toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures).thenApply(v -> {
+            timings.put("total", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            for (Stage stage : stages.values()) {
+                if (stage.error != null) {
+                    throw new CompletionException(stage.error);
+                }
+                if (stage.result != null) {
+                    return stage.result;
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * The time each stage took to run in milliseconds, in the order they finished. Skipped stages are not included.
+     * @return the stage timings, including the {@code total} time once the graph has finished
+     */
+    public Map<String, Long> timings() {
+        synchronized (timings) {
+            return new LinkedHashMap<>(timings);
+        }
+    }
+
+    private CompletableFuture<Boolean> start(Stage stage, Executor executor, Set<String> visiting) {
+        if (stage.future != null) {
+            return stage.future;
+        }
+        if (!visiting.add(stage.name)) {
+            throw new IllegalStateException("Stage " + stage.name + " depends on itself");
+        }
+
+        List<CompletableFuture<Boolean>> dependencies = new ArrayList<>();
+        for (String dependencyName : stage.dependencies) {
+            Stage dependency = stages.get(dependencyName);
+            if (dependency != null) {
+                dependencies.add(start(dependency, executor, visiting));
+            }
+        }
+
+        stage.future = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture[0])).thenApplyAsync(v -> {
+            for (CompletableFuture<Boolean> dependency : dependencies) {
+                if (!dependency.join()) {
+                    // A dependency stopped or failed, skip this stage
+                    return false;
+                }
+            }
+            return stage.execute();
+        }, executor);
+        return stage.future;
+    }
+
+    private class Stage {
+
+        private final String name;
+        private final CheckedSupplier<R> task;
+        private final String[] dependencies;
+
+        private CompletableFuture<Boolean> future;
+        private volatile R result;
+        private volatile Throwable error;
+
+        private Stage(String name, CheckedSupplier<R> task, String[] dependencies) {
+            this.name = name;
+            this.task = task;
+            this.dependencies = dependencies;
+        }
+
+        private boolean execute() {
+            long startTime = System.nanoTime();
+            try {
+                result = task.get();
+            } catch (Throwable t) {
+                error = t;
+            } finally {
+                timings.put(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+            }
+            return result == null && error == null;
+        }
+    }
+}
@@ -25,8 +25,7 @@ import com.discordsrv.common.profile.Profile;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Objects;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
 
 public class Someone {
@@ -47,6 +46,21 @@ public class Someone {
         return new Someone(playerUUID, null);
     }
 
+    /**
+     * Looks up the linked accounts for all the given players with a single bulk lookup.
+     * @return a list with the {@link Resolved} instance for linked players and an unresolved instance for players that aren't linked
+     */
+    public static CompletableFuture<List<Someone>> ofAll(DiscordSRV discordSRV, @NotNull Collection<UUID> playerUUIDs) {
+        return discordSRV.linkProvider().getUserIds(playerUUIDs).thenApply(userIds -> {
+            List<Someone> someones = new ArrayList<>(playerUUIDs.size());
+            for (UUID playerUUID : playerUUIDs) {
+                Long userId = userIds.get(playerUUID);
+                someones.add(userId != null ? of(playerUUID, userId) : of(playerUUID));
+            }
+            return someones;
+        });
+    }
+
     public static Someone of(@NotNull DiscordUser user) {
         return of(user.getId());
     }
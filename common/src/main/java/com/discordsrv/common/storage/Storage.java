@@ -19,10 +19,14 @@
 package com.discordsrv.common.storage;
 
 import com.discordsrv.common.linking.LinkStore;
+import com.discordsrv.common.messageforwarding.discord.StoredMirroredMessage;
 import org.jetbrains.annotations.Blocking;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Blocking
@@ -37,7 +41,27 @@ public interface Storage {
     @Nullable
     UUID getPlayerUUID(long userId);
 
+    /**
+     * Gets the user ids linked to the given players in bulk.
+     * @return the linked user ids by player {@link UUID}, players that aren't linked are not included
+     */
+    @NotNull
+    Map<UUID, Long> getUserIds(@NotNull Collection<UUID> players);
+
+    /**
+     * Gets the players linked to the given user ids in bulk.
+     * @return the linked player {@link UUID}s by user id, users that aren't linked are not included
+     */
+    @NotNull
+    Map<Long, UUID> getPlayerUUIDs(@NotNull Collection<Long> userIds);
+
     void createLink(@NotNull UUID player, long userId);
+
+    /**
+     * Creates all the given links (player {@link UUID} to user id) in a single batch.
+     */
+    void createLinks(@NotNull Map<UUID, Long> links);
+
     void removeLink(@NotNull UUID player, long userId);
 
     /**
@@ -49,4 +73,27 @@ public interface Storage {
 
     int getLinkedAccountCount();
 
+    /**
+     * Stores the given mirrored messages, replacing any existing entries for the same message ids.
+     */
+    void storeMirroredMessages(@NotNull Collection<StoredMirroredMessage> messages);
+
+    /**
+     * Gets all messages in the same group as the given message, including the message itself.
+     * @return the messages in the group, or an empty list if the message isn't stored
+     */
+    @NotNull
+    List<StoredMirroredMessage> getMirroredMessages(long messageId);
+
+    /**
+     * Removes all messages in the same group as the given message.
+     */
+    void removeMirroredMessages(long messageId);
+
+    /**
+     * Removes mirrored messages created before the given time.
+     * @return the amount of messages removed
+     */
+    int pruneMirroredMessages(long createdBefore);
+
 }
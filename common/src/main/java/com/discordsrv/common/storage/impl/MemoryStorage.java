@@ -18,13 +18,14 @@
 
 package com.discordsrv.common.storage.impl;
 
+import com.discordsrv.common.messageforwarding.discord.StoredMirroredMessage;
 import com.discordsrv.common.storage.Storage;
 import org.apache.commons.collections4.BidiMap;
 import org.apache.commons.collections4.bidimap.DualHashBidiMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.UUID;
+import java.util.*;
 
 public class MemoryStorage implements Storage {
 
@@ -32,6 +33,8 @@ public class MemoryStorage implements Storage {
 
     private final BidiMap<UUID, Long> linkedAccounts = new DualHashBidiMap<>();
     private final BidiMap<UUID, String> linkingCodes = new DualHashBidiMap<>();
+    private final Map<Long, StoredMirroredMessage> mirroredMessages = new HashMap<>();
+    private final Map<Long, Set<Long>> mirroredMessageGroups = new HashMap<>();
 
     public MemoryStorage() {}
 
@@ -41,6 +44,10 @@ public class MemoryStorage implements Storage {
     @Override
     public void close() {
         linkedAccounts.clear();
+        synchronized (mirroredMessages) {
+            mirroredMessages.clear();
+            mirroredMessageGroups.clear();
+        }
     }
 
     @Override
@@ -53,11 +60,40 @@ public class MemoryStorage implements Storage {
         return linkedAccounts.getKey(userId);
     }
 
+    @Override
+    public @NotNull Map<UUID, Long> getUserIds(@NotNull Collection<UUID> players) {
+        Map<UUID, Long> userIds = new HashMap<>();
+        for (UUID player : players) {
+            Long userId = linkedAccounts.get(player);
+            if (userId != null) {
+                userIds.put(player, userId);
+            }
+        }
+        return userIds;
+    }
+
+    @Override
+    public @NotNull Map<Long, UUID> getPlayerUUIDs(@NotNull Collection<Long> userIds) {
+        Map<Long, UUID> playerUUIDs = new HashMap<>();
+        for (Long userId : userIds) {
+            UUID player = linkedAccounts.getKey(userId);
+            if (player != null) {
+                playerUUIDs.put(userId, player);
+            }
+        }
+        return playerUUIDs;
+    }
+
     @Override
     public void createLink(@NotNull UUID player, long userId) {
         linkedAccounts.put(player, userId);
     }
 
+    @Override
+    public void createLinks(@NotNull Map<UUID, Long> links) {
+        linkedAccounts.putAll(links);
+    }
+
     @Override
     public void removeLink(@NotNull UUID player, long userId) {
         linkedAccounts.remove(player, userId);
@@ -82,4 +118,76 @@ public class MemoryStorage implements Storage {
     public int getLinkedAccountCount() {
         return linkedAccounts.size();
     }
+
+    @Override
+    public void storeMirroredMessages(@NotNull Collection<StoredMirroredMessage> messages) {
+        synchronized (mirroredMessages) {
+            for (StoredMirroredMessage message : messages) {
+                removeMirroredMessage(message.messageId());
+
+                mirroredMessages.put(message.messageId(), message);
+                mirroredMessageGroups.computeIfAbsent(message.groupId(), key -> new LinkedHashSet<>()).add(message.messageId());
+            }
+        }
+    }
+
+    @Override
+    public @NotNull List<StoredMirroredMessage> getMirroredMessages(long messageId) {
+        synchronized (mirroredMessages) {
+            StoredMirroredMessage message = mirroredMessages.get(messageId);
+            if (message == null) {
+                return Collections.emptyList();
+            }
+
+            List<StoredMirroredMessage> messages = new ArrayList<>();
+            for (long groupMessageId : mirroredMessageGroups.get(message.groupId())) {
+                messages.add(mirroredMessages.get(groupMessageId));
+            }
+            return messages;
+        }
+    }
+
+    @Override
+    public void removeMirroredMessages(long messageId) {
+        synchronized (mirroredMessages) {
+            StoredMirroredMessage message = mirroredMessages.get(messageId);
+            if (message == null) {
+                return;
+            }
+
+            Set<Long> group = mirroredMessageGroups.remove(message.groupId());
+            for (long groupMessageId : group) {
+                mirroredMessages.remove(groupMessageId);
+            }
+        }
+    }
+
+    @Override
+    public int pruneMirroredMessages(long createdBefore) {
+        synchronized (mirroredMessages) {
+            List<Long> expired = new ArrayList<>();
+            for (StoredMirroredMessage message : mirroredMessages.values()) {
+                if (message.createdAt() < createdBefore) {
+                    expired.add(message.messageId());
+                }
+            }
+            for (long messageId : expired) {
+                removeMirroredMessage(messageId);
+            }
+            return expired.size();
+        }
+    }
+
+    private void removeMirroredMessage(long messageId) {
+        StoredMirroredMessage message = mirroredMessages.remove(messageId);
+        if (message == null) {
+            return;
+        }
+
+        Set<Long> group = mirroredMessageGroups.get(message.groupId());
+        group.remove(messageId);
+        if (group.isEmpty()) {
+            mirroredMessageGroups.remove(message.groupId());
+        }
+    }
 }
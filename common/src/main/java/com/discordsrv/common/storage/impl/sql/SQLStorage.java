@@ -23,18 +23,25 @@ import com.discordsrv.common.exception.StorageException;
 import com.discordsrv.common.function.CheckedConsumer;
 import com.discordsrv.common.function.CheckedFunction;
 import com.discordsrv.common.linking.LinkStore;
+import com.discordsrv.common.messageforwarding.discord.StoredMirroredMessage;
 import com.discordsrv.common.storage.Storage;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.*;
-import java.util.Calendar;
-import java.util.UUID;
+import java.util.*;
 
 public abstract class SQLStorage implements Storage {
 
     protected static final String LINKED_ACCOUNTS_TABLE_NAME = "linked_accounts";
     protected static final String LINKING_CODES_TABLE_NAME = "linking_codes";
+    protected static final String MIRRORED_MESSAGES_TABLE_NAME = "mirrored_messages";
+    protected static final String SCHEMA_VERSION_TABLE_NAME = "schema_version";
+
+    /**
+     * The maximum amount of parameters in a single {@code in (...)} clause, larger lookups are split into multiple queries.
+     */
+    private static final int MAX_IN_PARAMETERS = 512;
 
     protected final DiscordSRV discordSRV;
 
@@ -46,6 +53,11 @@ public abstract class SQLStorage implements Storage {
     public abstract boolean isAutoCloseConnections();
     public abstract void createTables(Connection connection, String tablePrefix) throws SQLException;
 
+    /**
+     * Returns a connection from {@link #getConnection()} after it has been used, when connections aren't {@link #isAutoCloseConnections() auto closed}.
+     */
+    protected void releaseConnection(Connection connection) {}
+
     private void useConnection(CheckedConsumer<Connection> connectionConsumer) throws StorageException {
         useConnection(connection -> {
             connectionConsumer.accept(connection);
@@ -60,13 +72,35 @@ public abstract class SQLStorage implements Storage {
                     return connectionFunction.apply(connection);
                 }
             } else {
-                return connectionFunction.apply(getConnection());
+                Connection connection = getConnection();
+                try {
+                    return connectionFunction.apply(connection);
+                } finally {
+                    releaseConnection(connection);
+                }
             }
         } catch (Throwable e) {
             throw new StorageException(e);
         }
     }
 
+    /**
+     * Runs the given consumer in a single transaction, which is rolled back if the consumer fails.
+     */
+    private void inTransaction(Connection connection, CheckedConsumer<Connection> connectionConsumer) throws Throwable {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            connectionConsumer.accept(connection);
+            connection.commit();
+        } catch (Throwable t) {
+            connection.rollback();
+            throw t;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
     private void exceptEffectedRows(int rows, int expect) {
         if (rows != expect) {
             throw new StorageException("Excepted to effect " + expect + " rows, actually effected " + rows);
@@ -84,10 +118,148 @@ public abstract class SQLStorage implements Storage {
 
     @Override
     public void initialize() {
-        useConnection((CheckedConsumer<Connection>) connection -> createTables(
-                connection,
-                tablePrefix()
-        ));
+        useConnection((CheckedConsumer<Connection>) connection -> {
+            String tablePrefix = tablePrefix();
+            createTables(connection, tablePrefix);
+            migrate(connection, tablePrefix);
+        });
+    }
+
+    /**
+     * The migrations to bring the tables created by {@link #createTables(Connection, String)} up to date,
+     * the schema version is the amount of migrations that have been applied. Migrations may only be added to the end.
+     * Migrations must be safe to re-run, as a migration that fails midway is run again on the next start.
+     */
+    protected List<SchemaMigration> migrations() {
+        return Arrays.asList(
+                this::addLinkIndexes, // 1
+                this::createMirroredMessagesTable // 2
+        );
+    }
+
+    private void migrate(Connection connection, String tablePrefix) throws Throwable {
+        String versionTable = tablePrefix + SCHEMA_VERSION_TABLE_NAME;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists " + versionTable + " (VERSION int not null, APPLIED bigint not null)");
+        }
+
+        int version = 0;
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet resultSet = statement.executeQuery("select max(VERSION) from " + versionTable + ";")) {
+                if (resultSet.next()) {
+                    version = resultSet.getInt(1);
+                }
+            }
+        }
+
+        List<SchemaMigration> migrations = migrations();
+        for (int index = version; index < migrations.size(); index++) {
+            int newVersion = index + 1;
+            SchemaMigration migration = migrations.get(index);
+            discordSRV.logger().info("Upgrading storage schema to version " + newVersion);
+
+            // The migration and its version are committed together, MySQL commits schema changes
+            // immediately however, which is why migrations must still be safe to re-run
+            inTransaction(connection, transaction -> {
+                migration.migrate(transaction, tablePrefix);
+
+                try (PreparedStatement statement = transaction.prepareStatement("insert into " + versionTable + " (VERSION, APPLIED) values (?, ?);")) {
+                    statement.setInt(1, newVersion);
+                    statement.setLong(2, getTimeMS());
+                    exceptEffectedRows(statement.executeUpdate(), 1);
+                }
+            });
+        }
+    }
+
+    private void addLinkIndexes(Connection connection, String tablePrefix) throws SQLException {
+        String linkedAccounts = tablePrefix + LINKED_ACCOUNTS_TABLE_NAME;
+        String linkingCodes = tablePrefix + LINKING_CODES_TABLE_NAME;
+
+        try (Statement statement = connection.createStatement()) {
+            // Nothing prevented duplicate links before, keep the most recent link for each player and user
+            for (String column : new String[] {"PLAYER_UUID", "USER_ID"}) {
+                String duplicates = " from " + linkedAccounts + " where " + column + " is not null and ID not in "
+                        + "(select ID from (select max(ID) as ID from " + linkedAccounts
+                        + " where " + column + " is not null group by " + column + ") as LATEST)";
+
+                // Log every link that is removed, so that they can be restored by hand
+                try (ResultSet resultSet = statement.executeQuery("select PLAYER_UUID, USER_ID" + duplicates)) {
+                    while (resultSet.next()) {
+                        discordSRV.logger().warning("Removing linked account with a duplicate " + column + ": "
+                                                            + resultSet.getString("PLAYER_UUID") + " / "
+                                                            + Long.toUnsignedString(resultSet.getLong("USER_ID")));
+                    }
+                }
+
+                int removed = statement.executeUpdate("delete" + duplicates);
+                if (removed > 0) {
+                    discordSRV.logger().warning("Removed " + removed + " linked accounts with a duplicate " + column
+                                                        + ", only the most recent link was kept");
+                }
+            }
+            int removedCodes = statement.executeUpdate(
+                    "delete from " + linkingCodes + " where CODE in "
+                            + "(select CODE from (select CODE from " + linkingCodes + " group by CODE having count(*) > 1) as DUPLICATED)");
+            if (removedCodes > 0) {
+                discordSRV.logger().warning("Removed " + removedCodes + " duplicate linking codes");
+            }
+        }
+
+        createIndex(connection, true, tablePrefix + "LINKED_ACCOUNTS_PLAYER_UUID_IDX", linkedAccounts, "PLAYER_UUID");
+        createIndex(connection, true, tablePrefix + "LINKED_ACCOUNTS_USER_ID_IDX", linkedAccounts, "USER_ID");
+        createIndex(connection, true, tablePrefix + "LINKING_CODES_CODE_IDX", linkingCodes, "CODE");
+        createIndex(connection, false, tablePrefix + "LINKING_CODES_EXPIRY_IDX", linkingCodes, "EXPIRY");
+    }
+
+    private void createMirroredMessagesTable(Connection connection, String tablePrefix) throws SQLException {
+        String mirroredMessages = tablePrefix + MIRRORED_MESSAGES_TABLE_NAME;
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                    "create table if not exists " + mirroredMessages + " "
+                            + "(GROUP_ID bigint not null, "
+                            + "MESSAGE_ID bigint not null, "
+                            + "CHANNEL_ID bigint not null, "
+                            + "THREAD_ID bigint not null, "
+                            + "WEBHOOK_MESSAGE boolean not null, "
+                            + "ORIGINAL boolean not null, "
+                            + "CREATED bigint not null, "
+                            + "constraint " + tablePrefix + "MIRRORED_MESSAGES_PK primary key (MESSAGE_ID)"
+                            + ")");
+        }
+        createIndex(connection, false, tablePrefix + "MIRRORED_MESSAGES_GROUP_IDX", mirroredMessages, "GROUP_ID");
+        createIndex(connection, false, tablePrefix + "MIRRORED_MESSAGES_CREATED_IDX", mirroredMessages, "CREATED");
+    }
+
+    /**
+     * Creates an index unless it already exists, MySQL doesn't support {@code create index if not exists}.
+     */
+    private void createIndex(Connection connection, boolean unique, String indexName, String table, String column) throws SQLException {
+        if (indexExists(connection, table, indexName)) {
+            return;
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create " + (unique ? "unique " : "") + "index " + indexName + " on " + table + " (" + column + ")");
+        }
+    }
+
+    private boolean indexExists(Connection connection, String table, String indexName) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+
+        // Unquoted identifiers are stored in upper case by some databases
+        Set<String> tableNames = new LinkedHashSet<>(Arrays.asList(table, table.toUpperCase(Locale.ROOT)));
+        for (String tableName : tableNames) {
+            try (ResultSet resultSet = metaData.getIndexInfo(connection.getCatalog(), null, tableName, false, false)) {
+                while (resultSet.next()) {
+                    if (indexName.equalsIgnoreCase(resultSet.getString("INDEX_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
     }
 
     @Override
@@ -124,6 +296,77 @@ public abstract class SQLStorage implements Storage {
         });
     }
 
+    @Override
+    public @NotNull Map<UUID, Long> getUserIds(@NotNull Collection<UUID> players) {
+        if (players.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Object> values = new ArrayList<>(players.size());
+        for (UUID player : players) {
+            values.add(player.toString());
+        }
+
+        return useConnection(connection -> {
+            Map<UUID, Long> userIds = new HashMap<>(players.size());
+            selectLinksIn(connection, "PLAYER_UUID", values, resultSet -> userIds.put(
+                    UUID.fromString(resultSet.getString("PLAYER_UUID")),
+                    resultSet.getLong("USER_ID")
+            ));
+            return userIds;
+        });
+    }
+
+    @Override
+    public @NotNull Map<Long, UUID> getPlayerUUIDs(@NotNull Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Object> values = new ArrayList<>(userIds);
+        return useConnection(connection -> {
+            Map<Long, UUID> playerUUIDs = new HashMap<>(userIds.size());
+            selectLinksIn(connection, "USER_ID", values, resultSet -> {
+                String value = resultSet.getString("PLAYER_UUID");
+                if (value != null) {
+                    playerUUIDs.put(resultSet.getLong("USER_ID"), UUID.fromString(value));
+                }
+            });
+            return playerUUIDs;
+        });
+    }
+
+    /**
+     * Selects the links where the given column matches any of the given values, using as few queries as possible.
+     * The amount of parameters is padded to a power of two (by repeating the last value),
+     * to keep the amount of distinct statements for the driver's statement cache small.
+     */
+    private void selectLinksIn(
+            Connection connection,
+            String column,
+            List<Object> values,
+            CheckedConsumer<ResultSet> rowConsumer
+    ) throws Throwable {
+        String tableName = tablePrefix() + LINKED_ACCOUNTS_TABLE_NAME;
+        for (int start = 0; start < values.size(); start += MAX_IN_PARAMETERS) {
+            List<Object> chunk = values.subList(start, Math.min(start + MAX_IN_PARAMETERS, values.size()));
+            int parameters = chunk.size() == 1 ? 1 : Integer.highestOneBit(chunk.size() - 1) << 1;
+
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select PLAYER_UUID, USER_ID from " + tableName + " where " + column + " in ("
+                            + String.join(", ", Collections.nCopies(parameters, "?")) + ");")) {
+                for (int index = 0; index < parameters; index++) {
+                    statement.setObject(index + 1, chunk.get(Math.min(index, chunk.size() - 1)));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        rowConsumer.accept(resultSet);
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public void createLink(@NotNull UUID player, long userId) {
         useConnection(connection -> {
@@ -136,6 +379,24 @@ public abstract class SQLStorage implements Storage {
         });
     }
 
+    @Override
+    public void createLinks(@NotNull Map<UUID, Long> links) {
+        if (links.isEmpty()) {
+            return;
+        }
+
+        useConnection(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("insert into " + tablePrefix() + LINKED_ACCOUNTS_TABLE_NAME + " (PLAYER_UUID, USER_ID) values (?, ?);")) {
+                for (Map.Entry<UUID, Long> entry : links.entrySet()) {
+                    statement.setString(1, entry.getKey().toString());
+                    statement.setLong(2, entry.getValue());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
     @Override
     public void removeLink(@NotNull UUID player, long userId) {
         useConnection(connection -> {
@@ -214,4 +475,102 @@ public abstract class SQLStorage implements Storage {
             }
         });
     }
+
+    @Override
+    public void storeMirroredMessages(@NotNull Collection<StoredMirroredMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        // The same message may be included more than once, the last one is kept
+        Map<Long, StoredMirroredMessage> messagesById = new LinkedHashMap<>();
+        for (StoredMirroredMessage message : messages) {
+            messagesById.put(message.messageId(), message);
+        }
+
+        useConnection(connection -> inTransaction(connection, transaction -> {
+            // Remove existing entries for the same messages
+            try (PreparedStatement statement = transaction.prepareStatement("delete from " + tablePrefix() + MIRRORED_MESSAGES_TABLE_NAME + " where MESSAGE_ID = ?;")) {
+                for (StoredMirroredMessage message : messagesById.values()) {
+                    statement.setLong(1, message.messageId());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+
+            try (PreparedStatement statement = transaction.prepareStatement("insert into " + tablePrefix() + MIRRORED_MESSAGES_TABLE_NAME + " (GROUP_ID, MESSAGE_ID, CHANNEL_ID, THREAD_ID, WEBHOOK_MESSAGE, ORIGINAL, CREATED) values (?, ?, ?, ?, ?, ?, ?);")) {
+                for (StoredMirroredMessage message : messagesById.values()) {
+                    statement.setLong(1, message.groupId());
+                    statement.setLong(2, message.messageId());
+                    statement.setLong(3, message.channelId());
+                    statement.setLong(4, message.threadId());
+                    statement.setBoolean(5, message.isWebhookMessage());
+                    statement.setBoolean(6, message.isOriginal());
+                    statement.setLong(7, message.createdAt());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        }));
+    }
+
+    @Override
+    public @NotNull List<StoredMirroredMessage> getMirroredMessages(long messageId) {
+        return useConnection(connection -> {
+            String tableName = tablePrefix() + MIRRORED_MESSAGES_TABLE_NAME;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select M.GROUP_ID, M.MESSAGE_ID, M.CHANNEL_ID, M.THREAD_ID, M.WEBHOOK_MESSAGE, M.ORIGINAL, M.CREATED "
+                            + "from " + tableName + " M join " + tableName + " K on M.GROUP_ID = K.GROUP_ID where K.MESSAGE_ID = ?;")) {
+                statement.setLong(1, messageId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    List<StoredMirroredMessage> messages = new ArrayList<>();
+                    while (resultSet.next()) {
+                        messages.add(new StoredMirroredMessage(
+                                resultSet.getLong("GROUP_ID"),
+                                resultSet.getLong("CHANNEL_ID"),
+                                resultSet.getLong("THREAD_ID"),
+                                resultSet.getLong("MESSAGE_ID"),
+                                resultSet.getBoolean("WEBHOOK_MESSAGE"),
+                                resultSet.getBoolean("ORIGINAL"),
+                                resultSet.getLong("CREATED")
+                        ));
+                    }
+                    return messages;
+                }
+            }
+        });
+    }
+
+    @Override
+    public void removeMirroredMessages(long messageId) {
+        useConnection(connection -> {
+            Long groupId = null;
+            try (PreparedStatement statement = connection.prepareStatement("select GROUP_ID from " + tablePrefix() + MIRRORED_MESSAGES_TABLE_NAME + " where MESSAGE_ID = ?;")) {
+                statement.setLong(1, messageId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (resultSet.next()) {
+                        groupId = resultSet.getLong("GROUP_ID");
+                    }
+                }
+            }
+            if (groupId == null) {
+                return;
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement("delete from " + tablePrefix() + MIRRORED_MESSAGES_TABLE_NAME + " where GROUP_ID = ?;")) {
+                statement.setLong(1, groupId);
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    @Override
+    public int pruneMirroredMessages(long createdBefore) {
+        return useConnection(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("delete from " + tablePrefix() + MIRRORED_MESSAGES_TABLE_NAME + " where CREATED < ?;")) {
+                statement.setLong(1, createdBefore);
+                return statement.executeUpdate();
+            }
+        });
+    }
 }
@@ -0,0 +1,115 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.storage.impl.sql.file;
+
+import com.discordsrv.common.exception.StorageException;
+import com.discordsrv.common.function.CheckedSupplier;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed size pool of connections to an embedded database.
+ * H2 executes statements on the same connection one at a time, having multiple connections lets lookups run in parallel.
+ */
+public class H2ConnectionPool implements AutoCloseable {
+
+    public static final Duration DEFAULT_ACQUIRE_TIMEOUT = Duration.ofSeconds(30);
+
+    private final List<Connection> connections;
+    private final BlockingQueue<Connection> available;
+    private final Duration acquireTimeout;
+    private volatile boolean closed = false;
+
+    public H2ConnectionPool(int size, CheckedSupplier<Connection> connectionSupplier) {
+        this(size, DEFAULT_ACQUIRE_TIMEOUT, connectionSupplier);
+    }
+
+    public H2ConnectionPool(int size, Duration acquireTimeout, CheckedSupplier<Connection> connectionSupplier) {
+        this.acquireTimeout = acquireTimeout;
+        this.connections = new ArrayList<>(size);
+        this.available = new ArrayBlockingQueue<>(size);
+
+        try {
+            for (int i = 0; i < size; i++) {
+                Connection connection = connectionSupplier.get();
+                connections.add(connection);
+                available.add(connection);
+            }
+        } catch (Throwable e) {
+            close();
+            throw e instanceof StorageException ? (StorageException) e : new StorageException(e);
+        }
+    }
+
+    /**
+     * Takes a connection from the pool, waiting up to the acquire timeout for one to become available if all are in use.
+     * The connection must be returned with {@link #release(Connection)}.
+     * @throws StorageException if the pool is closed or no connection became available in time
+     */
+    public Connection acquire() {
+        if (closed) {
+            throw new StorageException("Connection pool is closed");
+        }
+
+        Connection connection;
+        try {
+            connection = available.poll(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException(e);
+        }
+        if (connection == null) {
+            throw new StorageException(closed
+                                       ? "Connection pool is closed"
+                                       : "Timed out waiting for a connection after " + acquireTimeout.toMillis() + "ms");
+        }
+        return connection;
+    }
+
+    public void release(Connection connection) {
+        if (closed) {
+            // Already closed by close()
+            return;
+        }
+        available.add(connection);
+    }
+
+    public int size() {
+        return connections.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Connection connection : connections) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {}
+        }
+        connections.clear();
+        available.clear();
+    }
+}
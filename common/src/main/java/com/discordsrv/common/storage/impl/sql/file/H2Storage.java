@@ -33,8 +33,13 @@ import java.util.Properties;
 
 public class H2Storage extends SQLStorage {
 
+    /**
+     * The amount of connections to the database, the database is shared between connections within the same JVM.
+     */
+    private static final int CONNECTION_POOL_SIZE = 4;
+
     private IsolatedClassLoader classLoader;
-    private Connection connection;
+    private H2ConnectionPool connectionPool;
 
     public H2Storage(DiscordSRV discordSRV) {
         super(discordSRV);
@@ -42,6 +47,11 @@ public class H2Storage extends SQLStorage {
 
     @Override
     public void initialize() {
+        connectionPool = createConnectionPool();
+        super.initialize();
+    }
+
+    protected H2ConnectionPool createConnectionPool() {
         try {
             classLoader = discordSRV.dependencyManager().h2().intoIsolated();
         } catch (IOException e) {
@@ -50,34 +60,34 @@ public class H2Storage extends SQLStorage {
 
         StorageConfig storageConfig = discordSRV.connectionConfig().storage;
 
+        Constructor<?> constructor;
         try {
             Class<?> clazz = classLoader.loadClass("org.h2.jdbc.JdbcConnection");
-            Constructor<?> constructor = clazz.getConstructor(
+            constructor = clazz.getConstructor(
                     String.class, // url
                     Properties.class, // info
                     String.class, // username
                     Object.class, // password
                     boolean.class // forbidCreation
             );
-            connection = (Connection) constructor.newInstance(
-                    "jdbc:h2:" + discordSRV.dataDirectory().resolve("h2-database").toAbsolutePath(),
-                    storageConfig.getDriverProperties(),
-                    null,
-                    null,
-                    false
-            );
         } catch (ReflectiveOperationException e) {
             throw new StorageException(e);
         }
-        super.initialize();
+
+        String url = "jdbc:h2:" + discordSRV.dataDirectory().resolve("h2-database").toAbsolutePath();
+        return new H2ConnectionPool(CONNECTION_POOL_SIZE, () -> (Connection) constructor.newInstance(
+                url,
+                storageConfig.getDriverProperties(),
+                null,
+                null,
+                false
+        ));
     }
 
     @Override
     public void close() {
-        if (connection != null) {
-            try {
-                connection.close();
-            } catch (SQLException ignored) {}
+        if (connectionPool != null) {
+            connectionPool.close();
         }
         if (classLoader != null) {
             try {
@@ -89,8 +99,13 @@ public class H2Storage extends SQLStorage {
     }
 
     @Override
-    public synchronized Connection getConnection() {
-        return connection;
+    public Connection getConnection() {
+        return connectionPool.acquire();
+    }
+
+    @Override
+    protected void releaseConnection(Connection connection) {
+        connectionPool.release(connection);
     }
 
     @Override
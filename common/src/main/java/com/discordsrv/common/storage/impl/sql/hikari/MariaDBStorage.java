@@ -26,6 +26,7 @@ import com.zaxxer.hikari.HikariConfig;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Map;
 
 public class MariaDBStorage extends HikariStorage {
 
@@ -63,5 +64,14 @@ public class MariaDBStorage extends HikariStorage {
 
         config.setDriverClassName("org.mariadb.jdbc.Driver");
         config.setJdbcUrl("jdbc:mariadb://" + address + "/" + storageConfig.remote.databaseName);
+        for (Map.Entry<Object, Object> entry : storageConfig.getDriverProperties().entrySet()) {
+            config.addDataSourceProperty((String) entry.getKey(), entry.getValue());
+        }
+
+        // https://mariadb.com/kb/en/about-mariadb-connector-j/#optional-url-parameters
+        config.addDataSourceProperty("cachePrepStmts", true);
+        config.addDataSourceProperty("prepStmtCacheSize", 250);
+        config.addDataSourceProperty("useServerPrepStmts", true);
+        config.addDataSourceProperty("useBulkStmts", true);
     }
 }
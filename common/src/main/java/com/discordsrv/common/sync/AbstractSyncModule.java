@@ -24,7 +24,6 @@ import com.discordsrv.common.DiscordSRV;
 import com.discordsrv.common.config.main.GroupSyncConfig;
 import com.discordsrv.common.config.main.generic.AbstractSyncConfig;
 import com.discordsrv.common.event.events.player.PlayerConnectedEvent;
-import com.discordsrv.common.future.util.CompletableFutureUtil;
 import com.discordsrv.common.logging.NamedLogger;
 import com.discordsrv.common.module.type.AbstractModule;
 import com.discordsrv.common.player.IPlayer;
@@ -66,9 +65,16 @@ public abstract class AbstractSyncModule<
     protected final Map<C, Future<?>> syncs = new LinkedHashMap<>();
     protected final Map<G, List<C>> configsForGame = new ConcurrentHashMap<>();
     protected final Map<D, List<C>> configsForDiscord = new ConcurrentHashMap<>();
+    protected final ResyncQueue<C> resyncQueue;
 
     public AbstractSyncModule(DT discordSRV, String loggerName) {
         super(discordSRV, new NamedLogger(discordSRV, loggerName));
+        this.resyncQueue = new ResyncQueue<>(
+                discordSRV,
+                logger(),
+                playerUUID -> discordSRV.playerProvider().player(playerUUID) != null,
+                (playerUUID, configs) -> resync(GenericSyncCauses.TIMER, configs, Someone.of(playerUUID))
+        );
     }
 
     protected abstract String syncName();
@@ -108,6 +114,7 @@ public abstract class AbstractSyncModule<
                 }
             });
             syncs.clear();
+            resyncQueue.clear();
             configsForGame.clear();
             configsForDiscord.clear();
 
@@ -134,7 +141,7 @@ public abstract class AbstractSyncModule<
                 if (timer != null && timer.enabled) {
                     int cycleTime = timer.cycleTime;
                     future = discordSRV.scheduler().runAtFixedRate(
-                            () -> resyncTimer(config),
+                            () -> resyncTimer(config, Duration.ofMinutes(cycleTime)),
                             Duration.ofMinutes(cycleTime),
                             Duration.ofMinutes(cycleTime)
                     );
@@ -155,10 +162,24 @@ public abstract class AbstractSyncModule<
         }
     }
 
-    private void resyncTimer(C config) {
+    private void resyncTimer(C config, Duration cycleTime) {
+        List<UUID> playerUUIDs = new ArrayList<>();
         for (IPlayer player : discordSRV.playerProvider().allPlayers()) {
-            resync(GenericSyncCauses.TIMER, config, Someone.of(player.uniqueId()));
+            playerUUIDs.add(player.uniqueId());
         }
+        if (playerUUIDs.isEmpty()) {
+            return;
+        }
+
+        // Look up all the linked accounts at once so the queued resyncs find them cached,
+        // the links are still resolved when each resync runs in case they changed in the meantime
+        discordSRV.linkProvider().getUserIds(playerUUIDs).whenComplete((userIds, t) -> {
+            if (t != null) {
+                logger().debug("Failed to look up linked accounts for " + syncName(), t);
+            }
+
+            resyncQueue.enqueue(playerUUIDs, config, cycleTime);
+        });
     }
 
     @Subscribe
@@ -201,6 +222,70 @@ public abstract class AbstractSyncModule<
      */
     protected abstract CompletableFuture<ISyncResult> applyDiscord(C config, long userId, @Nullable S newState);
 
+    /**
+     * Gets the current state of the provided configs for the specified user on Discord.
+     * Implementations can override this to look up the state for multiple configs at once.
+     *
+     * @param configs the configurations for the synchronizables
+     * @param userId the Discord user id
+     * @return futures for the state on Discord by configuration
+     */
+    protected Map<C, CompletableFuture<S>> getDiscord(Collection<C> configs, long userId) {
+        Map<C, CompletableFuture<S>> states = new LinkedHashMap<>();
+        for (C config : configs) {
+            states.put(config, getDiscord(config, userId));
+        }
+        return states;
+    }
+
+    /**
+     * Gets the current state of the provided configs for the specified player on Minecraft.
+     * Implementations can override this to look up the state for multiple configs at once.
+     *
+     * @param configs the configurations for the synchronizables
+     * @param playerUUID the Minecraft player {@link UUID}
+     * @return futures for the state on Minecraft by configuration
+     */
+    protected Map<C, CompletableFuture<S>> getGame(Collection<C> configs, UUID playerUUID) {
+        Map<C, CompletableFuture<S>> states = new LinkedHashMap<>();
+        for (C config : configs) {
+            states.put(config, getGame(config, playerUUID));
+        }
+        return states;
+    }
+
+    /**
+     * Applies the provided states for the provided configs for the provided Discord user.
+     * Implementations can override this to apply multiple changes at once.
+     *
+     * @param newStates the new states to apply by configuration
+     * @param userId the Discord user id
+     * @return futures with the results of the synchronization by configuration
+     */
+    protected Map<C, CompletableFuture<ISyncResult>> applyDiscord(Map<C, S> newStates, long userId) {
+        Map<C, CompletableFuture<ISyncResult>> results = new LinkedHashMap<>();
+        for (Map.Entry<C, S> entry : newStates.entrySet()) {
+            results.put(entry.getKey(), applyDiscord(entry.getKey(), userId, entry.getValue()));
+        }
+        return results;
+    }
+
+    /**
+     * Applies the provided states for the provided configs for the provided Minecraft player.
+     * Implementations can override this to apply multiple changes at once.
+     *
+     * @param newStates the new states to apply by configuration
+     * @param playerUUID the Minecraft player {@link UUID}
+     * @return futures with the results of the synchronization by configuration
+     */
+    protected Map<C, CompletableFuture<ISyncResult>> applyGame(Map<C, S> newStates, UUID playerUUID) {
+        Map<C, CompletableFuture<ISyncResult>> results = new LinkedHashMap<>();
+        for (Map.Entry<C, S> entry : newStates.entrySet()) {
+            results.put(entry.getKey(), applyGame(entry.getKey(), playerUUID, entry.getValue()));
+        }
+        return results;
+    }
+
     protected CompletableFuture<ISyncResult> applyDiscordIfDoesNotMatch(C config, long userId, @Nullable S newState) {
         return getDiscord(config, userId).thenCompose(currentState -> {
             ISyncResult result = doesStateMatch(newState, currentState);
@@ -330,33 +415,24 @@ public abstract class AbstractSyncModule<
     }
 
     public CompletableFuture<SyncSummary<C>> resyncAll(ISyncCause cause, Someone someone) {
-        return someone.withLinkedAccounts(discordSRV).thenApply(resolved -> {
-            if (resolved == null) {
-                return new SyncSummary<>(this, cause, someone).fail(GenericSyncResults.NOT_LINKED);
-            }
-
-            SyncSummary<C> summary = new SyncSummary<>(this, cause, resolved);
-            Set<C> configs = syncs.keySet();
+        UUID playerUUID = someone.playerUUID();
+        if (playerUUID != null) {
+            // Everything is being resynced, any pending timed resync would be redundant
+            resyncQueue.remove(playerUUID);
+        }
 
-            for (C config : configs) {
-                summary.appendResult(config, resync(config, resolved));
-            }
-            return summary;
-        }).whenComplete((summary, t) -> {
-            if (summary != null) {
-                logSummary(summary);
-            }
-        });
+        return resync(cause, syncs.keySet(), someone);
     }
 
-    protected CompletableFuture<SyncSummary<C>> resync(ISyncCause cause, C config, Someone someone) {
+    protected CompletableFuture<SyncSummary<C>> resync(ISyncCause cause, Collection<C> configs, Someone someone) {
         return someone.withLinkedAccounts(discordSRV).thenApply(resolved -> {
             if (resolved == null) {
                 return new SyncSummary<>(this, cause, someone).fail(GenericSyncResults.NOT_LINKED);
             }
 
-            return new SyncSummary<>(this, cause, resolved)
-                    .appendResult(config, resync(config, resolved));
+            SyncSummary<C> summary = new SyncSummary<>(this, cause, resolved);
+            resync(configs, resolved).forEach(summary::appendResult);
+            return summary;
         }).whenComplete((summary, t) -> {
             if (summary != null) {
                 logSummary(summary);
@@ -364,64 +440,123 @@ public abstract class AbstractSyncModule<
         });
     }
 
-    private CompletableFuture<ISyncResult> resync(C config, Someone.Resolved resolved) {
+    /**
+     * Resyncs the provided configs for the provided player and user. The current states for all the configs are looked up
+     * before any changes are made, so that the lookups and changes can be batched by {@link #getGame(Collection, UUID)},
+     * {@link #getDiscord(Collection, long)}, {@link #applyGame(Map, UUID)} and {@link #applyDiscord(Map, long)}.
+     */
+    private Map<C, CompletableFuture<ISyncResult>> resync(Collection<C> configs, Someone.Resolved resolved) {
         UUID playerUUID = resolved.playerUUID();
         long userId = resolved.userId();
 
-        CompletableFuture<S> gameGet = getGame(config, playerUUID);
-        CompletableFuture<S> discordGet = getDiscord(config, userId);
+        Map<C, CompletableFuture<S>> gameGets = getGame(configs, playerUUID);
+        Map<C, CompletableFuture<S>> discordGets = getDiscord(configs, userId);
 
-        return CompletableFutureUtil.combine(gameGet, discordGet).thenCompose((__) -> {
-            S gameState = gameGet.join();
-            S discordState = discordGet.join();
+        List<CompletableFuture<?>> gets = new ArrayList<>(gameGets.values());
+        gets.addAll(discordGets.values());
+        CompletableFuture<Void> allGets = CompletableFuture.allOf(
+                gets.stream().map(future -> future.handle((v, t) -> null)).toArray(CompletableFuture[]::new)
+        );
 
-            ISyncResult alreadyInSyncResult = doesStateMatch(gameState, discordState);
-            if (alreadyInSyncResult != null) {
-                return CompletableFuture.completedFuture(alreadyInSyncResult);
-            }
+        CompletableFuture<Map<C, CompletableFuture<ISyncResult>>> resultsFuture = allGets.thenApply(__ -> {
+            Map<C, CompletableFuture<ISyncResult>> results = new HashMap<>();
+            Map<C, S> gameChanges = new LinkedHashMap<>();
+            Map<C, S> discordChanges = new LinkedHashMap<>();
+            Map<C, ISyncResult> changeResults = new HashMap<>();
 
-            SyncSide side = config.tieBreaker;
-            SyncDirection direction = config.direction;
-            if (discordState != null) {
-                if (side == SyncSide.DISCORD) {
-                    // Has Discord, add game
-                    if (direction == SyncDirection.MINECRAFT_TO_DISCORD) {
-                        return CompletableFuture.completedFuture(GenericSyncResults.WRONG_DIRECTION);
-                    }
+            for (C config : configs) {
+                CompletableFuture<S> gameGet = gameGets.get(config);
+                CompletableFuture<S> discordGet = discordGets.get(config);
+                if (gameGet.isCompletedExceptionally()) {
+                    results.put(config, gameGet.thenApply(v -> null));
+                    continue;
+                }
+                if (discordGet.isCompletedExceptionally()) {
+                    results.put(config, discordGet.thenApply(v -> null));
+                    continue;
+                }
 
-                    return applyGame(config, playerUUID, discordState).thenApply(v -> GenericSyncResults.ADD_GAME);
-                } else {
-                    // Missing game, remove Discord
-                    if (direction == SyncDirection.DISCORD_TO_MINECRAFT) {
-                        return CompletableFuture.completedFuture(GenericSyncResults.WRONG_DIRECTION);
-                    }
+                S gameState = gameGet.join();
+                S discordState = discordGet.join();
 
-                    return applyDiscord(config, userId, null).thenApply(v -> GenericSyncResults.REMOVE_DISCORD);
+                ISyncResult alreadyInSyncResult = doesStateMatch(gameState, discordState);
+                if (alreadyInSyncResult != null) {
+                    results.put(config, CompletableFuture.completedFuture(alreadyInSyncResult));
+                    continue;
                 }
-            } else {
-                if (side == SyncSide.DISCORD) {
-                    // Missing Discord, remove game
-                    if (direction == SyncDirection.MINECRAFT_TO_DISCORD) {
-                        return CompletableFuture.completedFuture(GenericSyncResults.WRONG_DIRECTION);
-                    }
 
-                    return applyGame(config, playerUUID, null).thenApply(v -> GenericSyncResults.REMOVE_GAME);
+                SyncSide side = config.tieBreaker;
+                SyncDirection direction = config.direction;
+                ISyncResult result;
+                if (discordState != null) {
+                    if (side == SyncSide.DISCORD) {
+                        // Has Discord, add game
+                        if (direction == SyncDirection.MINECRAFT_TO_DISCORD) {
+                            result = GenericSyncResults.WRONG_DIRECTION;
+                        } else {
+                            gameChanges.put(config, discordState);
+                            result = GenericSyncResults.ADD_GAME;
+                        }
+                    } else {
+                        // Missing game, remove Discord
+                        if (direction == SyncDirection.DISCORD_TO_MINECRAFT) {
+                            result = GenericSyncResults.WRONG_DIRECTION;
+                        } else {
+                            discordChanges.put(config, null);
+                            result = GenericSyncResults.REMOVE_DISCORD;
+                        }
+                    }
                 } else {
-                    // Has game, add Discord
-                    if (direction == SyncDirection.DISCORD_TO_MINECRAFT) {
-                        return CompletableFuture.completedFuture(GenericSyncResults.WRONG_DIRECTION);
+                    if (side == SyncSide.DISCORD) {
+                        // Missing Discord, remove game
+                        if (direction == SyncDirection.MINECRAFT_TO_DISCORD) {
+                            result = GenericSyncResults.WRONG_DIRECTION;
+                        } else {
+                            gameChanges.put(config, null);
+                            result = GenericSyncResults.REMOVE_GAME;
+                        }
+                    } else {
+                        // Has game, add Discord
+                        if (direction == SyncDirection.DISCORD_TO_MINECRAFT) {
+                            result = GenericSyncResults.WRONG_DIRECTION;
+                        } else {
+                            discordChanges.put(config, gameState);
+                            result = GenericSyncResults.ADD_DISCORD;
+                        }
                     }
-
-                    return applyDiscord(config, userId, gameState).thenApply(v -> GenericSyncResults.ADD_DISCORD);
                 }
+                changeResults.put(config, result);
             }
-        }).exceptionally(t -> {
-            if (t instanceof SyncFail) {
-                return ((SyncFail) t).getResult();
-            } else {
-                throw (RuntimeException) t;
+
+            Map<C, CompletableFuture<ISyncResult>> applied = new HashMap<>();
+            if (!gameChanges.isEmpty()) {
+                applied.putAll(applyGame(gameChanges, playerUUID));
             }
+            if (!discordChanges.isEmpty()) {
+                applied.putAll(applyDiscord(discordChanges, userId));
+            }
+
+            for (Map.Entry<C, ISyncResult> entry : changeResults.entrySet()) {
+                ISyncResult result = entry.getValue();
+                CompletableFuture<ISyncResult> apply = applied.get(entry.getKey());
+                results.put(entry.getKey(), apply != null
+                                            ? apply.thenApply(v -> result)
+                                            : CompletableFuture.completedFuture(result));
+            }
+            return results;
         });
+
+        Map<C, CompletableFuture<ISyncResult>> results = new LinkedHashMap<>();
+        for (C config : configs) {
+            results.put(config, resultsFuture.thenCompose(futures -> futures.get(config)).exceptionally(t -> {
+                if (t instanceof SyncFail) {
+                    return ((SyncFail) t).getResult();
+                } else {
+                    throw (RuntimeException) t;
+                }
+            }));
+        }
+        return results;
     }
 
     private String formatResults(SyncSummary<C> summary, List<String> results) {
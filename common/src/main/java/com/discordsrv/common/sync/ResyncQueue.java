@@ -0,0 +1,243 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.sync;
+
+import com.discordsrv.common.DiscordSRV;
+import com.discordsrv.common.logging.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * Queue for timed resyncs, which spreads the resyncs for a timer cycle evenly over the cycle instead of running them all at once.
+ * Pending resyncs are deduplicated per player, and only a few resyncs run at the same time. Discord's rate limits delay the
+ * REST requests made by a resync, so waiting for resyncs to complete before starting more paces the queue to the rate limits.
+ * Players that are no longer online when their resync is due are skipped.
+ *
+ * @param <C> the configuration type for a single synchronizable
+ */
+public class ResyncQueue<C> {
+
+    private static final int MAX_IN_FLIGHT = 2;
+    private static final long MINIMUM_SPACING_MILLIS = 50;
+
+    private final DiscordSRV discordSRV;
+    private final Logger logger;
+    private final Predicate<UUID> onlineCheck;
+    private final BiFunction<UUID, Set<C>, CompletableFuture<?>> resyncFunction;
+
+    private final PriorityQueue<Entry<C>> queue = new PriorityQueue<>(Comparator.comparingLong((Entry<C> entry) -> entry.dueAt));
+    private final Map<UUID, Entry<C>> entries = new HashMap<>();
+    private ScheduledFuture<?> drainFuture;
+    private long drainAt;
+    private int drainId = 0;
+    private int inFlight = 0;
+    private long lastStart = 0;
+    private long lastLag = 0;
+
+    public ResyncQueue(
+            DiscordSRV discordSRV,
+            Logger logger,
+            Predicate<UUID> onlineCheck,
+            BiFunction<UUID, Set<C>, CompletableFuture<?>> resyncFunction
+    ) {
+        this.discordSRV = discordSRV;
+        this.logger = logger;
+        this.onlineCheck = onlineCheck;
+        this.resyncFunction = resyncFunction;
+    }
+
+    /**
+     * Queues the given config to be resynced for the given players, spread evenly over the given duration.
+     * Players that are already queued get the config added to their pending resync instead.
+     */
+    public void enqueue(@NotNull List<UUID> playerUUIDs, @NotNull C config, @NotNull Duration spreadOver) {
+        if (playerUUIDs.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long spacing = spreadOver.toMillis() / playerUUIDs.size();
+        synchronized (queue) {
+            for (int index = 0; index < playerUUIDs.size(); index++) {
+                UUID playerUUID = playerUUIDs.get(index);
+                long dueAt = now + spacing * index;
+
+                Entry<C> entry = entries.get(playerUUID);
+                if (entry == null) {
+                    entry = new Entry<>(playerUUID, dueAt);
+                    entries.put(playerUUID, entry);
+                    queue.add(entry);
+                } else if (dueAt < entry.dueAt) {
+                    queue.remove(entry);
+                    entry.dueAt = dueAt;
+                    queue.add(entry);
+                }
+                entry.configs.add(config);
+            }
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Removes the pending resync for the given player, used when the player has been resynced by other means.
+     */
+    public void remove(@NotNull UUID playerUUID) {
+        synchronized (queue) {
+            Entry<C> entry = entries.remove(playerUUID);
+            if (entry != null) {
+                queue.remove(entry);
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (queue) {
+            entries.clear();
+            queue.clear();
+            drainId++;
+            if (drainFuture != null) {
+                drainFuture.cancel(false);
+                drainFuture = null;
+            }
+        }
+    }
+
+    /**
+     * The amount of players waiting to be resynced.
+     */
+    public int depth() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * How far behind schedule the queue is, based on the most overdue pending resync or the last started resync.
+     */
+    public Duration lag() {
+        synchronized (queue) {
+            Entry<C> head = queue.peek();
+            long lag = head != null ? System.currentTimeMillis() - head.dueAt : 0;
+            return Duration.ofMillis(Math.max(lag, lastLag));
+        }
+    }
+
+    private void scheduleDrain() {
+        if (inFlight >= MAX_IN_FLIGHT) {
+            return;
+        }
+
+        Entry<C> head = queue.peek();
+        if (head == null) {
+            return;
+        }
+
+        long at = Math.max(head.dueAt, lastStart + MINIMUM_SPACING_MILLIS);
+        if (drainFuture != null) {
+            if (drainAt <= at) {
+                return;
+            }
+
+            // An earlier resync was queued, drain sooner
+            drainFuture.cancel(false);
+        }
+
+        int id = ++drainId;
+        drainAt = at;
+        drainFuture = discordSRV.scheduler().runLater(
+                () -> drain(id),
+                Duration.ofMillis(Math.max(at - System.currentTimeMillis(), 0))
+        );
+    }
+
+    private void drain(int id) {
+        Entry<C> entry;
+        synchronized (queue) {
+            if (id != drainId) {
+                // Replaced by another drain
+                return;
+            }
+            drainFuture = null;
+
+            long now = System.currentTimeMillis();
+            while (true) {
+                entry = queue.peek();
+                if (entry == null) {
+                    return;
+                }
+                if (entry.dueAt > now) {
+                    // The entry this drain was scheduled for was removed, wait for the next one
+                    scheduleDrain();
+                    return;
+                }
+
+                queue.poll();
+                entries.remove(entry.playerUUID);
+                if (onlineCheck.test(entry.playerUUID)) {
+                    break;
+                }
+                // Left before their turn, nothing to resync
+            }
+
+            inFlight++;
+            lastStart = now;
+            lastLag = Math.max(lastStart - entry.dueAt, 0);
+            scheduleDrain();
+        }
+
+        CompletableFuture<?> future;
+        try {
+            future = resyncFunction.apply(entry.playerUUID, entry.configs);
+        } catch (Throwable t) {
+            future = null;
+            logger.error("Failed to resync " + entry.playerUUID, t);
+        }
+
+        if (future == null) {
+            completed();
+        } else {
+            future.whenComplete((v, t) -> completed());
+        }
+    }
+
+    private void completed() {
+        synchronized (queue) {
+            inFlight--;
+            scheduleDrain();
+        }
+    }
+
+    private static class Entry<C> {
+
+        private final UUID playerUUID;
+        private final Set<C> configs = new LinkedHashSet<>();
+        private long dueAt;
+
+        public Entry(UUID playerUUID, long dueAt) {
+            this.playerUUID = playerUUID;
+            this.dueAt = dueAt;
+        }
+    }
+}
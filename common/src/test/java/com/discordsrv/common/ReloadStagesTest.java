@@ -0,0 +1,157 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common;
+
+import com.discordsrv.api.DiscordSRVApi;
+import com.discordsrv.api.event.bus.Subscribe;
+import com.discordsrv.api.event.events.lifecycle.DiscordSRVReadyEvent;
+import com.discordsrv.common.api.util.ApiInstanceUtil;
+import com.discordsrv.common.command.game.commands.subcommand.reload.ReloadResults;
+import com.discordsrv.common.config.connection.ConnectionConfig;
+import com.discordsrv.common.storage.Storage;
+import com.discordsrv.common.storage.StorageType;
+import com.discordsrv.common.storage.impl.MemoryStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReloadStagesTest {
+
+    private static final long DELAY = 500;
+    private static final Set<DiscordSRVApi.ReloadFlag> FLAGS = EnumSet.of(
+            DiscordSRVApi.ReloadFlag.STORAGE,
+            DiscordSRVApi.ReloadFlag.LINKED_ACCOUNT_PROVIDER,
+            DiscordSRVApi.ReloadFlag.DISCORD_CONNECTION
+    );
+
+    @AfterEach
+    public void restoreInstance() {
+        ApiInstanceUtil.setInstance(MockDiscordSRV.INSTANCE);
+    }
+
+    @Test
+    public void parallelTest() throws Throwable {
+        DelayedDiscordSRV discordSRV = new DelayedDiscordSRV(MemoryStorage.IDENTIFIER);
+        ReadyListener listener = new ReadyListener(discordSRV);
+        discordSRV.eventBus().subscribe(listener);
+
+        long startTime = System.currentTimeMillis();
+        List<DiscordSRVApi.ReloadResult> results = discordSRV.reload(FLAGS, true);
+        long time = System.currentTimeMillis() - startTime;
+        assertEquals(ReloadResults.SUCCESS, results.get(results.size() - 1));
+
+        // Storage and the Discord connection each take DELAY, in sequence they would take twice that
+        assertTrue(time >= DELAY, "Took " + time + "ms");
+        assertTrue(time < DELAY * 2, "Took " + time + "ms");
+
+        // Modules enable once ready, which must wait for storage
+        assertTrue(listener.ready, "Not ready");
+        assertTrue(listener.storageInitialized, "Ready before storage was initialized");
+
+        Map<String, Long> timings = discordSRV.reloadTimings();
+        assertTrue(timings.get("storage") >= DELAY);
+        assertTrue(timings.get("discordConnection") >= DELAY);
+
+        // A reload without any stages keeps the timings
+        discordSRV.reload(EnumSet.noneOf(DiscordSRVApi.ReloadFlag.class), false);
+        assertEquals(timings, discordSRV.reloadTimings());
+    }
+
+    @Test
+    public void failedStorageHoldsReadyTest() throws Throwable {
+        DelayedDiscordSRV discordSRV = new DelayedDiscordSRV("unknown");
+        ReadyListener listener = new ReadyListener(discordSRV);
+        discordSRV.eventBus().subscribe(listener);
+
+        List<DiscordSRVApi.ReloadResult> results = discordSRV.reload(FLAGS, true);
+        assertEquals(1, results.size());
+        assertEquals(ReloadResults.STORAGE_CONNECTION_FAILED, results.get(0));
+        assertFalse(listener.ready, "Ready without storage");
+    }
+
+    /**
+     * Runs the real reload stages, with storage and the Discord connection replaced by ones that take {@link #DELAY}.
+     */
+    public static class DelayedDiscordSRV extends MockDiscordSRV {
+
+        private final String storageBackend;
+        private volatile boolean storageInitialized;
+
+        private DelayedDiscordSRV(String storageBackend) {
+            this.storageBackend = storageBackend;
+        }
+
+        @Override
+        public ConnectionConfig connectionConfig() {
+            ConnectionConfig config = super.connectionConfig();
+            config.bot.token = "Not the default token";
+            if (storageBackend != null) {
+                config.storage.backend = storageBackend;
+            }
+            return config;
+        }
+
+        @Override
+        protected Storage createStorage(StorageType storageType) {
+            return new MemoryStorage() {
+                @Override
+                public void initialize() {
+                    try {
+                        Thread.sleep(DELAY);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    storageInitialized = true;
+                }
+            };
+        }
+
+        @Override
+        protected DiscordSRVApi.ReloadResult connectToDiscord(boolean initial) throws Throwable {
+            Thread.sleep(DELAY);
+            if (!status().isStartupError()) {
+                setStatus(Status.CONNECTED);
+            }
+            return null;
+        }
+    }
+
+    public static class ReadyListener {
+
+        private final DelayedDiscordSRV discordSRV;
+        private volatile boolean ready;
+        private volatile boolean storageInitialized;
+
+        public ReadyListener(DelayedDiscordSRV discordSRV) {
+            this.discordSRV = discordSRV;
+        }
+
+        @Subscribe
+        public void onReady(DiscordSRVReadyEvent event) {
+            storageInitialized = discordSRV.storageInitialized;
+            ready = true;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Stand-ins for interfaces that tests only need for their identity.
+ */
+public final class Stubs {
+
+    private Stubs() {}
+
+    /**
+     * Creates an instance of the given interface, which returns the given id from {@code getId} and {@code getIdLong},
+     * is only equal to itself and returns {@code null} from every other method.
+     */
+    public static <T> T stub(Class<T> type, long id) {
+        return type.cast(Proxy.newProxyInstance(
+                Stubs.class.getClassLoader(),
+                new Class[] {type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getId": return method.getReturnType() == String.class ? Long.toString(id) : id;
+                        case "getIdLong": return id;
+                        case "hashCode": return System.identityHashCode(proxy);
+                        case "equals": return proxy == args[0];
+                        case "toString": return type.getSimpleName() + " " + id;
+                        default: return null;
+                    }
+                }
+        ));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.channel;
+
+import com.discordsrv.api.channel.GameChannel;
+import com.discordsrv.common.MockDiscordSRV;
+import com.discordsrv.common.api.util.ApiInstanceUtil;
+import com.discordsrv.common.config.main.MainConfig;
+import com.discordsrv.common.config.main.channels.base.BaseChannelConfig;
+import com.discordsrv.common.config.main.channels.base.ChannelConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChannelConfigHelperTest {
+
+    private static final String OTHER = "other";
+
+    private MainConfig config;
+    private ChannelConfigHelper helper;
+
+    @BeforeEach
+    public void setup() throws SerializationException {
+        MockDiscordSRV discordSRV = new MockDiscordSRV() {
+            private MainConfig config;
+
+            @Override
+            public MainConfig config() {
+                if (config == null) {
+                    config = super.config();
+                    config.channels.put(OTHER, new ChannelConfig());
+                }
+                return config;
+            }
+        };
+        config = discordSRV.config();
+        helper = new ChannelConfigHelper(discordSRV);
+
+        assertEquals(new HashSet<>(Arrays.asList(GameChannel.DEFAULT_NAME, OTHER)), helper.reload());
+    }
+
+    @AfterEach
+    public void restoreInstance() {
+        ApiInstanceUtil.setInstance(MockDiscordSRV.INSTANCE);
+    }
+
+    private Set<BaseChannelConfig> channels() {
+        Set<BaseChannelConfig> channels = Collections.newSetFromMap(new IdentityHashMap<>());
+        channels.addAll(helper.getAllChannels());
+        return channels;
+    }
+
+    @Test
+    public void unchangedTest() throws SerializationException {
+        Set<BaseChannelConfig> before = channels();
+
+        assertEquals(Collections.emptySet(), helper.reload());
+        assertEquals(before, channels());
+    }
+
+    @Test
+    public void channelChangedTest() throws SerializationException {
+        Set<BaseChannelConfig> before = channels();
+
+        ((ChannelConfig) config.channels.get(OTHER)).destination.channelIds.add(1L);
+        assertEquals(Collections.singleton(OTHER), helper.reload());
+
+        // Only the changed channel was remapped
+        Set<BaseChannelConfig> after = channels();
+        after.retainAll(before);
+        assertEquals(1, after.size());
+    }
+
+    @Test
+    public void defaultChangedTest() throws SerializationException {
+        Set<BaseChannelConfig> before = channels();
+
+        BaseChannelConfig defaultConfig = config.channels.get(ChannelConfig.DEFAULT_KEY);
+        defaultConfig.mirroring.enabled = !defaultConfig.mirroring.enabled;
+        assertEquals(new HashSet<>(Arrays.asList(GameChannel.DEFAULT_NAME, OTHER)), helper.reload());
+
+        Set<BaseChannelConfig> after = channels();
+        after.retainAll(before);
+        assertTrue(after.isEmpty(), "Channels not remapped");
+    }
+
+    @Test
+    public void configUnchangedTest() throws SerializationException {
+        Set<BaseChannelConfig> before = channels();
+
+        // Changes aren't looked for when the main config file didn't change
+        ((ChannelConfig) config.channels.get(OTHER)).destination.channelIds.add(1L);
+        assertEquals(Collections.emptySet(), helper.reload(false));
+        assertEquals(before, channels());
+
+        assertEquals(Collections.singleton(OTHER), helper.reload(true));
+    }
+
+    @Test
+    public void removedTest() throws SerializationException {
+        config.channels.remove(OTHER);
+        assertEquals(Collections.singleton(OTHER), helper.reload());
+        assertEquals(1, helper.getAllChannels().size());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.config.configurate.manager;
+
+import com.discordsrv.common.config.connection.ConnectionConfig;
+import com.discordsrv.common.exception.ConfigException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConfigManagerReloadTest {
+
+    private static final FileTime OLD = FileTime.fromMillis(0);
+
+    @TempDir
+    public Path dataDirectory;
+
+    private ConnectionConfigManager<ConnectionConfig> manager() {
+        return new ConnectionConfigManager<ConnectionConfig>(dataDirectory) {
+            @Override
+            public ConnectionConfig createConfiguration() {
+                return new ConnectionConfig();
+            }
+        };
+    }
+
+    @Test
+    public void unchangedTest() throws ConfigException, IOException {
+        ConnectionConfigManager<ConnectionConfig> manager = manager();
+        manager.load();
+        assertTrue(manager.lastLoadChanged());
+
+        Path filePath = manager.filePath();
+        Files.setLastModifiedTime(filePath, OLD);
+        ConnectionConfig config = manager.config();
+
+        manager.load();
+        assertFalse(manager.lastLoadChanged());
+        assertSame(config, manager.config(), "Unchanged file loaded again");
+        assertEquals(OLD, Files.getLastModifiedTime(filePath), "Unchanged file saved again");
+    }
+
+    @Test
+    public void changedTest() throws ConfigException, IOException {
+        ConnectionConfigManager<ConnectionConfig> manager = manager();
+        manager.load();
+
+        Path filePath = manager.filePath();
+        Files.write(filePath, "\n# Changed\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        Files.setLastModifiedTime(filePath, OLD);
+        ConnectionConfig config = manager.config();
+
+        manager.load();
+        assertTrue(manager.lastLoadChanged());
+        assertNotSame(config, manager.config());
+        assertNotEquals(OLD, Files.getLastModifiedTime(filePath), "Changed file not saved");
+    }
+}
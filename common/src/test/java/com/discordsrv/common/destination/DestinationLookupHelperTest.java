@@ -0,0 +1,100 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.destination;
+
+import com.discordsrv.api.discord.entity.channel.DiscordGuildMessageChannel;
+import com.discordsrv.common.MockDiscordSRV;
+import com.discordsrv.common.Stubs;
+import com.discordsrv.common.config.main.generic.DestinationConfig;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.channel.Channel;
+import net.dv8tion.jda.api.events.channel.ChannelDeleteEvent;
+import net.dv8tion.jda.api.events.channel.update.ChannelUpdateArchivedEvent;
+import net.dv8tion.jda.api.events.channel.update.ChannelUpdateNameEvent;
+import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DestinationLookupHelperTest {
+
+    private final JDA jda = Stubs.stub(JDA.class, 1);
+    private final Channel channel = Stubs.stub(Channel.class, 1);
+    private final DestinationLookupHelper helper = new DestinationLookupHelper(MockDiscordSRV.INSTANCE);
+
+    @AfterEach
+    public void unsubscribe() {
+        MockDiscordSRV.INSTANCE.eventBus().unsubscribe(helper);
+    }
+
+    private List<DiscordGuildMessageChannel> lookup(DestinationConfig config) {
+        return helper.lookupDestination(config, false, false).join();
+    }
+
+    private void assertInvalidated(Runnable invalidate) {
+        DestinationConfig config = new DestinationConfig();
+
+        List<DiscordGuildMessageChannel> resolved = lookup(config);
+        assertSame(resolved, lookup(config), "Destination not cached");
+
+        invalidate.run();
+        assertNotSame(resolved, lookup(config), "Destination not invalidated");
+    }
+
+    @Test
+    public void deleteTest() {
+        assertInvalidated(() -> helper.onChannelDelete(new ChannelDeleteEvent(jda, 0, channel)));
+    }
+
+    @Test
+    public void archiveTest() {
+        assertInvalidated(() -> helper.onChannelUpdateArchived(new ChannelUpdateArchivedEvent(jda, 0, channel, false, true)));
+    }
+
+    @Test
+    public void renameTest() {
+        assertInvalidated(() -> helper.onChannelUpdateName(new ChannelUpdateNameEvent(jda, 0, channel, "old", "new")));
+    }
+
+    @Test
+    public void guildLeaveTest() {
+        assertInvalidated(() -> helper.onGuildLeave(new GuildLeaveEvent(jda, 0, Stubs.stub(Guild.class, 1))));
+    }
+
+    @Test
+    public void staleGenerationTest() {
+        DestinationConfig config = new DestinationConfig();
+        List<DiscordGuildMessageChannel> result = Collections.emptyList();
+
+        // A channel changes while the destination is being resolved
+        int generation = helper.generation();
+        helper.onChannelDelete(new ChannelDeleteEvent(jda, 0, channel));
+
+        assertFalse(helper.cacheResolved(config, result, generation));
+        assertNotSame(result, lookup(config));
+
+        assertTrue(helper.cacheResolved(config, result, helper.generation()));
+        assertSame(result, lookup(config));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.discord.api;
+
+import com.discordsrv.api.discord.entity.interaction.command.DiscordCommand;
+import com.discordsrv.api.discord.entity.interaction.component.ComponentIdentifier;
+import com.discordsrv.common.MockDiscordSRV;
+import com.discordsrv.common.logging.backend.impl.JavaLoggerImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandFingerprintsTest {
+
+    private static DiscordCommand command(String name, String description) {
+        return DiscordCommand.chatInput(ComponentIdentifier.of("DiscordSRV", name), name, description).build();
+    }
+
+    @Test
+    public void fingerprintTest() {
+        DiscordCommand one = command("one", "First");
+        DiscordCommand two = command("two", "Second");
+
+        String fingerprint = CommandFingerprints.fingerprint(1L, Arrays.asList(one, two));
+        assertEquals(fingerprint, CommandFingerprints.fingerprint(1L, Arrays.asList(two, one)));
+        assertNotEquals(fingerprint, CommandFingerprints.fingerprint(2L, Arrays.asList(one, two)));
+        assertNotEquals(fingerprint, CommandFingerprints.fingerprint(1L, Arrays.asList(one, command("two", "Changed"))));
+    }
+
+    @Test
+    public void unchangedRestartTest() {
+        List<DiscordCommand> commands = Collections.singletonList(command("test", "Test"));
+        String fingerprint = CommandFingerprints.fingerprint(1L, commands);
+        long guildId = System.nanoTime();
+
+        CommandFingerprints beforeRestart = new CommandFingerprints(MockDiscordSRV.INSTANCE, JavaLoggerImpl.getRoot());
+        assertFalse(beforeRestart.matches(guildId, fingerprint));
+        beforeRestart.put(guildId, fingerprint);
+
+        // A fresh instance reads what was saved, so no commands need to be written to Discord
+        CommandFingerprints afterRestart = new CommandFingerprints(MockDiscordSRV.INSTANCE, JavaLoggerImpl.getRoot());
+        assertTrue(afterRestart.matches(guildId, fingerprint));
+        assertFalse(afterRestart.matches(guildId, CommandFingerprints.fingerprint(1L, Collections.singletonList(command("test", "Changed")))));
+    }
+
+    @Test
+    public void removeTest() {
+        String fingerprint = CommandFingerprints.fingerprint(1L, Collections.singletonList(command("test", "Test")));
+        long guildId = System.nanoTime();
+
+        CommandFingerprints fingerprints = new CommandFingerprints(MockDiscordSRV.INSTANCE, JavaLoggerImpl.getRoot());
+        fingerprints.put(guildId, fingerprint);
+        fingerprints.remove(guildId);
+        assertFalse(fingerprints.matches(guildId, fingerprint));
+
+        // The removal is saved, so the commands are registered again after a restart
+        CommandFingerprints afterRestart = new CommandFingerprints(MockDiscordSRV.INSTANCE, JavaLoggerImpl.getRoot());
+        assertFalse(afterRestart.matches(guildId, fingerprint));
+    }
+}
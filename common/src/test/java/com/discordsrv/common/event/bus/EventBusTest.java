@@ -19,14 +19,18 @@
 package com.discordsrv.common.event.bus;
 
 import com.discordsrv.api.event.bus.EventBus;
+import com.discordsrv.api.event.bus.EventListener;
+import com.discordsrv.api.event.bus.EventPriority;
 import com.discordsrv.api.event.bus.Subscribe;
+import com.discordsrv.api.event.bus.internal.EventStateHolder;
+import com.discordsrv.api.event.events.Cancellable;
 import com.discordsrv.api.event.events.Event;
 import com.discordsrv.common.MockDiscordSRV;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class EventBusTest {
 
@@ -49,6 +53,35 @@ public class EventBusTest {
         assertTrue(listener.reached);
     }
 
+    @Test
+    public void subscribeAfterPublishTest() {
+        Listener lateListener = new Listener();
+        eventBus.publish(new Event() {});
+        eventBus.subscribe(lateListener);
+        try {
+            eventBus.publish(new Event() {});
+            assertTrue(lateListener.reached);
+        } finally {
+            eventBus.unsubscribe(lateListener);
+        }
+    }
+
+    @Test
+    public void cancelTest() {
+        CancellingListener cancellingListener = new CancellingListener();
+        eventBus.subscribe(cancellingListener);
+        try {
+            eventBus.publish(new CancellableEvent());
+        } finally {
+            eventBus.unsubscribe(cancellingListener);
+        }
+
+        assertFalse(cancellingListener.reachedIgnoringCancelled);
+        assertNotNull(cancellingListener.whoCancelled);
+        assertEquals("onEarly", cancellingListener.whoCancelled.methodName());
+        assertNull(EventStateHolder.CANCELLED.get());
+    }
+
     public static class Listener {
 
         public boolean reached = false;
@@ -58,4 +91,40 @@ public class EventBusTest {
             reached = true;
         }
     }
+
+    public static class CancellableEvent implements Cancellable {
+
+        private boolean cancelled;
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void setCancelled(boolean cancelled) {
+            this.cancelled = cancelled;
+        }
+    }
+
+    public static class CancellingListener {
+
+        public boolean reachedIgnoringCancelled = false;
+        public EventListener whoCancelled;
+
+        @Subscribe(priority = EventPriority.EARLY)
+        public void onEarly(CancellableEvent event) {
+            event.setCancelled(true);
+        }
+
+        @Subscribe(priority = EventPriority.LATE, ignoreCancelled = true)
+        public void onLateIgnoringCancelled(CancellableEvent event) {
+            reachedIgnoringCancelled = true;
+        }
+
+        @Subscribe(priority = EventPriority.LAST)
+        public void onLast(CancellableEvent event) {
+            whoCancelled = event.whoCancelled();
+        }
+    }
 }
@@ -0,0 +1,168 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.linking.requirelinking;
+
+import com.discordsrv.api.DiscordSRVApi;
+import com.discordsrv.common.DiscordSRV;
+import com.discordsrv.common.MockDiscordSRV;
+import com.discordsrv.common.api.util.ApiInstanceUtil;
+import com.discordsrv.common.config.connection.ConnectionConfig;
+import com.discordsrv.common.config.main.linking.ServerRequiredLinkingConfig;
+import com.discordsrv.common.linking.impl.StorageLinker;
+import com.discordsrv.common.player.IPlayer;
+import com.discordsrv.common.storage.Storage;
+import com.discordsrv.common.storage.StorageType;
+import com.discordsrv.common.storage.impl.MemoryStorage;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerRequireLinkingModuleTest {
+
+    private static final Component BLOCKED = Component.text("Blocked");
+
+    private static final long STORAGE_DELAY = 500;
+
+    @AfterEach
+    public void restoreInstance() {
+        ApiInstanceUtil.setInstance(MockDiscordSRV.INSTANCE);
+    }
+
+    private static class TestModule extends ServerRequireLinkingModule<DiscordSRV> {
+
+        private final ServerRequiredLinkingConfig config = new ServerRequiredLinkingConfig();
+
+        public TestModule(DiscordSRV discordSRV) {
+            super(discordSRV);
+        }
+
+        @Override
+        public ServerRequiredLinkingConfig config() {
+            return config;
+        }
+
+        @Override
+        public void recheck(IPlayer player) {}
+    }
+
+    private static class DelayedModule extends TestModule {
+
+        private final long delayMillis;
+
+        public DelayedModule(long delayMillis) {
+            super(MockDiscordSRV.INSTANCE);
+            this.delayMillis = delayMillis;
+            config().allowOnTimeout = true;
+        }
+
+        @Override
+        public CompletableFuture<Component> getBlockReason(UUID playerUUID, String playerName, boolean join) {
+            // Acts like a slow storage lookup
+            return discordSRV.scheduler().supplyLater(() -> BLOCKED, Duration.ofMillis(delayMillis));
+        }
+    }
+
+    /**
+     * Uses storage for linked accounts, with storage taking {@link #STORAGE_DELAY} to look up a linked account.
+     */
+    private static class SlowStorageDiscordSRV extends MockDiscordSRV {
+
+        @Override
+        public ConnectionConfig connectionConfig() {
+            ConnectionConfig config = super.connectionConfig();
+            config.bot.token = "Not the default token";
+            return config;
+        }
+
+        @Override
+        protected Storage createStorage(StorageType storageType) {
+            return new MemoryStorage() {
+                @Override
+                public @Nullable Long getUserId(@NotNull UUID player) {
+                    try {
+                        Thread.sleep(STORAGE_DELAY);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return super.getUserId(player);
+                }
+            };
+        }
+    }
+
+    @Test
+    public void preparedDoesNotBlockTest() {
+        DelayedModule module = new DelayedModule(500);
+        UUID playerUUID = UUID.randomUUID();
+
+        CompletableFuture<Component> verdict = module.prepareBlockReason(playerUUID, "Player", true);
+        assertTimeoutPreemptively(Duration.ofMillis(100), () -> {
+            // Still waiting on the lookup: fall back to the timeout behaviour
+            assertNull(module.getPreparedBlockReason(playerUUID, "Player"));
+        });
+
+        assertEquals(BLOCKED, verdict.join());
+        assertTimeoutPreemptively(Duration.ofMillis(100), () -> {
+            assertEquals(BLOCKED, module.getPreparedBlockReason(playerUUID, "Player"));
+        });
+    }
+
+    @Test
+    public void timeoutTest() throws Exception {
+        DelayedModule module = new DelayedModule(5000);
+        module.config().checkTimeoutMillis = 100;
+
+        CompletableFuture<Component> verdict = module.prepareBlockReason(UUID.randomUUID(), "Player", true);
+        assertNull(verdict.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void loginWithSlowStorageTest() throws Throwable {
+        SlowStorageDiscordSRV discordSRV = new SlowStorageDiscordSRV();
+        discordSRV.reload(EnumSet.of(DiscordSRVApi.ReloadFlag.STORAGE, DiscordSRVApi.ReloadFlag.LINKED_ACCOUNT_PROVIDER), true);
+        assertInstanceOf(StorageLinker.class, discordSRV.linkProvider());
+
+        TestModule module = new TestModule(discordSRV);
+        UUID playerUUID = UUID.randomUUID();
+
+        // PlayerLoginEvent & PlayerJoinEvent without a check from AsyncPlayerPreLoginEvent, and freeze on join
+        assertTimeoutPreemptively(Duration.ofMillis(100), () -> {
+            assertNotNull(module.getLoginBlockReason(playerUUID, "Player", true, false));
+            assertFalse(module.getOrPrepareBlockReason(playerUUID, "Player", false).isDone());
+        });
+
+        // AsyncPlayerPreLoginEvent waits for storage, after which the main thread events see the result
+        UUID otherPlayerUUID = UUID.randomUUID();
+        Component kickReason = module.getLoginBlockReason(otherPlayerUUID, "OtherPlayer", true, true);
+        assertNotNull(kickReason);
+        assertTimeoutPreemptively(Duration.ofMillis(100), () -> {
+            assertEquals(kickReason, module.getLoginBlockReason(otherPlayerUUID, "OtherPlayer", true, false));
+        });
+    }
+}
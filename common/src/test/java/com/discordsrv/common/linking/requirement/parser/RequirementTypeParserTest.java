@@ -35,11 +35,13 @@ import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class RequirementTypeParserTest {
 
+    private final AtomicInteger expensiveChecks = new AtomicInteger();
     private final RequirementParser requirementParser = RequirementParser.getInstance();
     private final RequiredLinkingModule<?> module = new RequiredLinkingModule<DiscordSRV>(MockDiscordSRV.INSTANCE) {
         @Override
@@ -75,6 +77,28 @@ public class RequirementTypeParserTest {
                     return CompletableFuture.completedFuture(value);
                 }
             },
+            new RequirementType<Boolean>(module) {
+                @Override
+                public String name() {
+                    return "Expensive";
+                }
+
+                @Override
+                public int cost() {
+                    return 10;
+                }
+
+                @Override
+                public Boolean parse(String input) {
+                    return Boolean.parseBoolean(input);
+                }
+
+                @Override
+                public CompletableFuture<Boolean> isMet(Boolean value, Someone.Resolved someone) {
+                    expensiveChecks.incrementAndGet();
+                    return CompletableFuture.completedFuture(value);
+                }
+            },
             new RequirementType<Object>(module) {
                 @Override
                 public String name() {
@@ -155,6 +179,24 @@ public class RequirementTypeParserTest {
         assertTrue(parse("F(true) && (F(false) || F(true))"));
     }
 
+    @Test
+    public void orShortCircuit() {
+        assertTrue(parse("Expensive(false) || F(true)"));
+        assertEquals(0, expensiveChecks.get());
+    }
+
+    @Test
+    public void andShortCircuit() {
+        assertFalse(parse("Expensive(true) && F(false)"));
+        assertEquals(0, expensiveChecks.get());
+    }
+
+    @Test
+    public void expensiveChecked() {
+        assertTrue(parse("Expensive(true) && F(true)"));
+        assertEquals(1, expensiveChecks.get());
+    }
+
     private void assertExceptionMessageStartsWith(String exceptionMessage, Executable executable) {
         try {
             executable.execute();
@@ -0,0 +1,177 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.messageforwarding.discord;
+
+import com.discordsrv.api.discord.entity.message.ReceivedDiscordMessage;
+import com.discordsrv.common.logging.backend.impl.JavaLoggerImpl;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MirrorAttachmentDownloaderTest {
+
+    private static final int SIZE = 4 * 1024 * 1024;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    @TempDir
+    Path spoolDirectory;
+    private HttpServer server;
+    private MirrorAttachmentDownloader downloader;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/large", exchange -> {
+            exchange.sendResponseHeaders(200, SIZE);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                byte[] chunk = new byte[64 * 1024];
+                for (int written = 0; written < SIZE; written += chunk.length) {
+                    if (written == SIZE / 2) {
+                        // Hold the download halfway until the test allows it to continue
+                        release.await(10, TimeUnit.SECONDS);
+                    }
+                    outputStream.write(chunk);
+                }
+            } catch (InterruptedException ignored) {}
+        });
+        server.start();
+
+        downloader = new MirrorAttachmentDownloader(new OkHttpClient(), JavaLoggerImpl.getRoot(), spoolDirectory, SIZE + SIZE / 2);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        release.countDown();
+        downloader.shutdown();
+        server.stop(0);
+    }
+
+    private ReceivedDiscordMessage.Attachment attachment(String fileName) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/large";
+        return new ReceivedDiscordMessage.Attachment(fileName, url, url, SIZE);
+    }
+
+    @Test
+    public void nonBlockingTest() throws IOException {
+        long start = System.nanoTime();
+        CompletableFuture<MirrorAttachmentDownloader.SpooledAttachment> future = downloader.download(attachment("large.bin"), 0);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertFalse(future.isDone(), "Download should not complete while the server is holding the response");
+        assertTrue(elapsedMillis < 1000, "Starting a download took " + elapsedMillis + "ms");
+
+        release.countDown();
+        try (MirrorAttachmentDownloader.SpooledAttachment spooled = future.join()) {
+            assertNotNull(spooled);
+
+            long total = 0;
+            try (InputStream stream = spooled.openStream()) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = stream.read(buffer)) != -1) {
+                    total += read;
+                }
+            }
+            assertEquals(SIZE, total);
+        }
+        assertEquals(0, downloader.inFlightBytes());
+        assertEquals(0, spoolFileCount());
+    }
+
+    private long spoolFileCount() throws IOException {
+        try (Stream<Path> files = Files.list(spoolDirectory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void inFlightLimitTest() {
+        CompletableFuture<MirrorAttachmentDownloader.SpooledAttachment> first = downloader.download(attachment("first.bin"), 0);
+        CompletableFuture<MirrorAttachmentDownloader.SpooledAttachment> second = downloader.download(attachment("second.bin"), 0);
+
+        // The second download would exceed the in-flight limit
+        assertTrue(second.isDone());
+        assertNull(second.join());
+
+        release.countDown();
+        MirrorAttachmentDownloader.SpooledAttachment spooled = first.join();
+        assertNotNull(spooled);
+        spooled.close();
+        assertEquals(0, downloader.inFlightBytes());
+    }
+
+    @Test
+    public void maximumSizeTest() {
+        release.countDown();
+        // Reported as smaller than it actually is
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/large";
+        ReceivedDiscordMessage.Attachment attachment = new ReceivedDiscordMessage.Attachment("small.bin", url, url, 1024);
+
+        assertNull(downloader.download(attachment, 1024).join());
+        assertEquals(0, downloader.inFlightBytes());
+    }
+
+    @Test
+    public void shutdownCompletesQueuedTest() {
+        downloader.shutdown();
+        downloader = new MirrorAttachmentDownloader(new OkHttpClient(), JavaLoggerImpl.getRoot(), spoolDirectory, Long.MAX_VALUE);
+
+        // Every thread is busy with a download the server is holding, the last one is queued
+        List<CompletableFuture<MirrorAttachmentDownloader.SpooledAttachment>> running = new ArrayList<>();
+        for (int i = 0; i < MirrorAttachmentDownloader.THREADS; i++) {
+            running.add(downloader.download(attachment("running" + i + ".bin"), 0));
+        }
+        CompletableFuture<MirrorAttachmentDownloader.SpooledAttachment> queued = downloader.download(attachment("queued.bin"), 0);
+        assertFalse(queued.isDone());
+
+        downloader.shutdown();
+        assertTrue(queued.isDone());
+        assertNull(queued.join());
+
+        release.countDown();
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (CompletableFuture<MirrorAttachmentDownloader.SpooledAttachment> future : running) {
+                MirrorAttachmentDownloader.SpooledAttachment spooled = future.join();
+                if (spooled != null) {
+                    spooled.close();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.messageforwarding.discord;
+
+import com.discordsrv.common.MockDiscordSRV;
+import com.discordsrv.common.logging.backend.impl.JavaLoggerImpl;
+import com.discordsrv.common.storage.Storage;
+import com.discordsrv.common.storage.impl.MemoryStorage;
+import com.discordsrv.common.storage.impl.sql.file.H2ConnectionPool;
+import com.discordsrv.common.storage.impl.sql.file.H2Storage;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MirroredMessageStoreTest {
+
+    private static StoredMirroredMessage message(long groupId, long messageId) {
+        return new StoredMirroredMessage(groupId, 1, -1, messageId, false, groupId == messageId, System.currentTimeMillis());
+    }
+
+    @Test
+    public void failedFlushIsRetriedTest() {
+        FailingStorage storage = new FailingStorage();
+        MirroredMessageStore store = new MirroredMessageStore(MockDiscordSRV.INSTANCE, JavaLoggerImpl.getRoot()) {
+            @Override
+            protected Storage storage() {
+                return storage;
+            }
+        };
+
+        store.store(Arrays.asList(message(1, 1), message(1, 2)));
+        store.remove(1);
+        store.store(Arrays.asList(message(3, 3), message(3, 4)));
+
+        storage.failing = true;
+        store.flush();
+        assertTrue(storage.getMirroredMessages(3).isEmpty());
+
+        // Queued while storage was unavailable
+        store.store(Arrays.asList(message(5, 5), message(5, 6)));
+
+        storage.failing = false;
+        store.flush();
+        assertTrue(storage.getMirroredMessages(1).isEmpty(), "Removal kept its order");
+        assertEquals(2, storage.getMirroredMessages(3).size());
+        assertEquals(2, storage.getMirroredMessages(5).size());
+    }
+
+    @Test
+    public void duplicateGroupTest() {
+        String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        H2Storage storage = new H2Storage(MockDiscordSRV.INSTANCE) {
+            @Override
+            protected H2ConnectionPool createConnectionPool() {
+                return new H2ConnectionPool(1, () -> DriverManager.getConnection(url));
+            }
+        };
+        storage.initialize();
+
+        try {
+            MirroredMessageStore store = new MirroredMessageStore(MockDiscordSRV.INSTANCE, JavaLoggerImpl.getRoot()) {
+                @Override
+                protected Storage storage() {
+                    return storage;
+                }
+            };
+
+            // The same group stored for multiple destinations within one flush
+            store.store(Arrays.asList(message(1, 1), message(1, 2)));
+            store.store(Arrays.asList(message(1, 1), message(1, 2)));
+            store.flush();
+
+            List<StoredMirroredMessage> group = storage.getMirroredMessages(2);
+            assertEquals(2, group.size());
+
+            // Later writes aren't held up
+            store.store(Arrays.asList(message(3, 3), message(3, 4)));
+            store.flush();
+            assertEquals(2, storage.getMirroredMessages(3).size());
+        } finally {
+            storage.close();
+        }
+    }
+
+    @Test
+    public void failedFlushIsDiscardedTest() {
+        FailingStorage storage = new FailingStorage();
+        MirroredMessageStore store = new MirroredMessageStore(MockDiscordSRV.INSTANCE, JavaLoggerImpl.getRoot()) {
+            @Override
+            protected Storage storage() {
+                return storage;
+            }
+        };
+
+        store.store(Arrays.asList(message(1, 1), message(1, 2)));
+        storage.failing = true;
+        for (int i = 0; i < MirroredMessageStore.MAX_WRITE_ATTEMPTS; i++) {
+            store.flush();
+        }
+
+        storage.failing = false;
+        store.store(Arrays.asList(message(3, 3), message(3, 4)));
+        store.flush();
+        assertTrue(storage.getMirroredMessages(1).isEmpty(), "Discarded after the maximum attempts");
+        assertEquals(2, storage.getMirroredMessages(3).size());
+    }
+
+    private static class FailingStorage extends MemoryStorage {
+
+        private boolean failing;
+
+        @Override
+        public void storeMirroredMessages(@NotNull Collection<StoredMirroredMessage> messages) {
+            if (failing) {
+                throw new IllegalStateException("Storage unavailable");
+            }
+            super.storeMirroredMessages(messages);
+        }
+    }
+}
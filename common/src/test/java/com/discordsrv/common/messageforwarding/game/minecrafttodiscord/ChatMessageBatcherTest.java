@@ -0,0 +1,157 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.messageforwarding.game.minecrafttodiscord;
+
+import com.discordsrv.api.discord.entity.channel.DiscordGuildMessageChannel;
+import com.discordsrv.api.discord.entity.message.ReceivedDiscordMessage;
+import com.discordsrv.api.discord.entity.message.SendableDiscordMessage;
+import com.discordsrv.common.MockDiscordSRV;
+import com.discordsrv.common.Stubs;
+import com.discordsrv.common.config.main.channels.MinecraftToDiscordChatConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChatMessageBatcherTest {
+
+    private static SendableDiscordMessage message(String content, String username) {
+        return SendableDiscordMessage.builder().setContent(content).setWebhookUsername(username).build();
+    }
+
+    private static MinecraftToDiscordChatConfig.Batching config(long lingerMillis) {
+        MinecraftToDiscordChatConfig.Batching config = new MinecraftToDiscordChatConfig.Batching();
+        config.enabled = true;
+        config.lingerMillis = lingerMillis;
+        return config;
+    }
+
+    /**
+     * Records sent messages, sends only complete when {@link #complete(int)} is called.
+     */
+    private static class StubSender {
+
+        private final List<SendableDiscordMessage> sent = new CopyOnWriteArrayList<>();
+        private final List<CompletableFuture<ReceivedDiscordMessage>> futures = new CopyOnWriteArrayList<>();
+
+        private CompletableFuture<ReceivedDiscordMessage> send(DiscordGuildMessageChannel channel, SendableDiscordMessage message) {
+            CompletableFuture<ReceivedDiscordMessage> future = new CompletableFuture<>();
+            sent.add(message);
+            futures.add(future);
+            return future;
+        }
+
+        private ReceivedDiscordMessage complete(int index) {
+            ReceivedDiscordMessage message = Stubs.stub(ReceivedDiscordMessage.class, index);
+            futures.get(index).complete(message);
+            return message;
+        }
+    }
+
+    private final DiscordGuildMessageChannel channel = Stubs.stub(DiscordGuildMessageChannel.class, 1);
+
+    @Test
+    public void coalesceTest() throws Exception {
+        StubSender sender = new StubSender();
+        ChatMessageBatcher batcher = new ChatMessageBatcher(MockDiscordSRV.INSTANCE, sender::send);
+
+        CompletableFuture<ReceivedDiscordMessage> a = batcher.queue(channel, message("a", "Player"), config(200));
+        CompletableFuture<ReceivedDiscordMessage> b = batcher.queue(channel, message("b", "Player"), config(200));
+        CompletableFuture<ReceivedDiscordMessage> c = batcher.queue(channel, message("c", "Other"), config(200));
+        assertTrue(sender.sent.isEmpty(), "Nothing sent before the linger time");
+
+        // The first batch is sent after lingering, the other batch waits for it
+        waitFor(() -> sender.sent.size() == 1);
+        assertEquals("a\nb", sender.sent.get(0).getContent());
+        assertEquals("Player", sender.sent.get(0).getWebhookUsername());
+
+        ReceivedDiscordMessage first = sender.complete(0);
+        assertSame(first, a.get(1, TimeUnit.SECONDS));
+        assertSame(first, b.get(1, TimeUnit.SECONDS));
+
+        waitFor(() -> sender.sent.size() == 2);
+        assertEquals("c", sender.sent.get(1).getContent());
+        ReceivedDiscordMessage second = sender.complete(1);
+        assertSame(second, c.get(1, TimeUnit.SECONDS));
+
+        waitFor(() -> batcher.queueCount() == 0);
+    }
+
+    @Test
+    public void drainWhileSendingTest() throws Exception {
+        StubSender sender = new StubSender();
+        ChatMessageBatcher batcher = new ChatMessageBatcher(MockDiscordSRV.INSTANCE, sender::send);
+
+        CompletableFuture<ReceivedDiscordMessage> a = batcher.queue(channel, message("a", "Player"), config(0));
+        waitFor(() -> sender.sent.size() == 1);
+
+        // Queued while the first message is in flight
+        CompletableFuture<ReceivedDiscordMessage> b = batcher.queue(channel, message("b", "Player"), config(0));
+        CompletableFuture<ReceivedDiscordMessage> c = batcher.queue(channel, message("c", "Player"), config(0));
+        Thread.sleep(100);
+        assertEquals(1, sender.sent.size());
+
+        ReceivedDiscordMessage first = sender.complete(0);
+        assertSame(first, a.get(1, TimeUnit.SECONDS));
+
+        waitFor(() -> sender.sent.size() == 2);
+        assertEquals("b\nc", sender.sent.get(1).getContent());
+        ReceivedDiscordMessage second = sender.complete(1);
+        assertSame(second, b.get(1, TimeUnit.SECONDS));
+        assertSame(second, c.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void flushTest() throws Exception {
+        StubSender sender = new StubSender();
+        ChatMessageBatcher batcher = new ChatMessageBatcher(MockDiscordSRV.INSTANCE, sender::send);
+
+        batcher.queue(channel, message("a", "Player"), config(0));
+        waitFor(() -> sender.sent.size() == 1);
+
+        batcher.queue(channel, message("b", "Player"), config(0));
+        batcher.queue(channel, message("c", "Other"), config(0));
+
+        // Every queued batch is sent right away, without waiting for the message in flight
+        batcher.flush();
+        assertEquals(3, sender.sent.size());
+        assertEquals("b", sender.sent.get(1).getContent());
+        assertEquals("c", sender.sent.get(2).getContent());
+
+        // Completing the message in flight doesn't send anything more
+        sender.complete(0);
+        waitFor(() -> batcher.queueCount() == 0);
+        assertEquals(3, sender.sent.size());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timed out");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
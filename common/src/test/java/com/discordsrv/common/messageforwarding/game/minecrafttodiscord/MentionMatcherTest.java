@@ -0,0 +1,148 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.messageforwarding.game.minecrafttodiscord;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MentionMatcherTest {
+
+    private static MentionCachingModule.CachedMention mention(String search, long id) {
+        return new MentionCachingModule.CachedMention(search, "<@" + id + ">", id);
+    }
+
+    private static String replace(MentionMatcher matcher, String text) {
+        MentionCachingModule.CachedMention[] longestByStart = new MentionCachingModule.CachedMention[text.length()];
+        matcher.findLongest(text, longestByStart);
+        return MentionMatcher.replace(text, longestByStart);
+    }
+
+    @Test
+    public void replaceTest() {
+        MentionMatcher matcher = new MentionMatcher();
+        matcher.put(mention("@Vankka", 1));
+        matcher.put(mention("@Scarsz", 2));
+
+        assertEquals("hi <@1> and <@2>!", replace(matcher, "hi @Vankka and @Scarsz!"));
+        assertEquals("no mentions here", replace(matcher, "no mentions here"));
+    }
+
+    @Test
+    public void longestMatchTest() {
+        MentionMatcher matcher = new MentionMatcher();
+        matcher.put(mention("@user1", 1));
+        matcher.put(mention("@user12", 2));
+        matcher.put(mention("@ser12", 3));
+
+        assertEquals("<@2> <@1>", replace(matcher, "@user12 @user1"));
+    }
+
+    @Test
+    public void suffixMatchTest() {
+        MentionMatcher matcher = new MentionMatcher();
+        matcher.put(mention("@abcd", 1));
+        matcher.put(mention("@bc", 2));
+
+        // Requires following failure links
+        assertEquals("@ab<@2>", replace(matcher, "@ab@bc"));
+    }
+
+    @Test
+    public void updateTest() {
+        MentionMatcher matcher = new MentionMatcher();
+        matcher.put(mention("@old", 1));
+        assertEquals("<@1>", replace(matcher, "@old"));
+
+        matcher.put(mention("@new", 1));
+        assertEquals("@old <@1>", replace(matcher, "@old @new"));
+
+        matcher.remove(1);
+        assertEquals("@new", replace(matcher, "@new"));
+    }
+
+    @Test
+    public void compactTest() {
+        MentionMatcher matcher = new MentionMatcher();
+        for (int i = 0; i < 200; i++) {
+            matcher.put(mention("@user" + i, i));
+        }
+        for (int i = 0; i < 190; i++) {
+            matcher.remove(i);
+        }
+
+        assertEquals(10, matcher.size());
+        assertEquals("@user5 <@195>", replace(matcher, "@user5 @user195"));
+    }
+
+    @Test
+    public void collidingIdsTest() {
+        MentionMatcher matcher = new MentionMatcher();
+        // Ids that are multiples of the table size, to exercise probing
+        for (int i = 0; i < 100; i++) {
+            matcher.put(mention("@user" + i, i * 1024L));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            matcher.remove(i * 1024L);
+        }
+        matcher.replace(mention("@renamed", 1024L));
+
+        assertEquals(50, matcher.size());
+        assertEquals("@user0 <@1024> @user1 <@3072>", replace(matcher, "@user0 @renamed @user1 @user3"));
+    }
+
+    @Test
+    public void additionalMentionsTest() {
+        MentionMatcher matcher = new MentionMatcher();
+        matcher.put(mention("@user", 1));
+
+        String text = "@username";
+        MentionCachingModule.CachedMention[] longestByStart = new MentionCachingModule.CachedMention[text.length()];
+        MentionMatcher.findLongest(Collections.singletonList(mention("@username", 2)), text, longestByStart);
+        matcher.findLongest(text, longestByStart);
+
+        assertEquals("<@2>", MentionMatcher.replace(text, longestByStart));
+    }
+
+    @Test
+    public void rebuildTest() {
+        List<Runnable> rebuilds = new ArrayList<>();
+        MentionMatcher matcher = new MentionMatcher(rebuilds::add);
+        matcher.put(mention("@Vankka", 1));
+        matcher.put(mention("@Scarsz", 2));
+        matcher.remove(2);
+
+        // Changes are only visible to searches once rebuilt, multiple changes are rebuilt once
+        assertEquals("@Vankka", replace(matcher, "@Vankka"));
+        assertEquals(1, rebuilds.size());
+
+        rebuilds.remove(0).run();
+        assertEquals("<@1> @Scarsz", replace(matcher, "@Vankka @Scarsz"));
+
+        matcher.put(mention("@Scarsz", 2));
+        assertEquals(1, rebuilds.size());
+        assertEquals("<@1> @Scarsz", replace(matcher, "@Vankka @Scarsz"));
+        rebuilds.remove(0).run();
+        assertEquals("<@1> <@2>", replace(matcher, "@Vankka @Scarsz"));
+    }
+}
@@ -24,6 +24,9 @@ import com.discordsrv.api.placeholder.annotation.PlaceholderPrefix;
 import com.discordsrv.common.MockDiscordSRV;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class PlaceholderServiceTest {
@@ -70,6 +73,27 @@ public class PlaceholderServiceTest {
         assertEquals("b", service.replacePlaceholders("%empty|static_method%", PlaceholderContext.class));
     }
 
+    @Test
+    public void multipleTest() {
+        assertEquals("a, b & a", service.replacePlaceholders("%static_field%, %static_method% & %static_field%", PlaceholderContext.class));
+    }
+
+    @Test
+    public void unknownAmongKnownTest() {
+        assertEquals("%invalid% a", service.replacePlaceholders("%invalid% %static_field%", PlaceholderContext.class));
+    }
+
+    @Test
+    public void lookupCacheTest() {
+        CountingContext countingContext = new CountingContext();
+        Set<Object> context = Collections.singleton(countingContext);
+
+        String output = service.withLookupCache(() -> service.replacePlaceholders("%count% %count%", context)
+                + service.replacePlaceholders("%count%", context));
+        assertEquals("1 11", output);
+        assertEquals("2", service.replacePlaceholders("%count%", context));
+    }
+
     @Test
     public void prefixFailTest() {
         assertEquals("%placeholder%", service.replacePlaceholders("%placeholder%", PrefixContext.class));
@@ -128,4 +152,14 @@ public class PlaceholderServiceTest {
         @Placeholder("noprefix")
         public static String noPrefix = "value";
     }
+
+    public static class CountingContext {
+
+        private int count = 0;
+
+        @Placeholder("count")
+        public String count() {
+            return String.valueOf(++count);
+        }
+    }
 }
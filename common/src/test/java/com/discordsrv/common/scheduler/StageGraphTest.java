@@ -0,0 +1,104 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.scheduler;
+
+import com.discordsrv.common.MockDiscordSRV;
+import com.discordsrv.common.function.CheckedSupplier;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StageGraphTest {
+
+    private static final long DELAY = 300;
+    private static final Executor EXECUTOR = MockDiscordSRV.INSTANCE.scheduler()::run;
+
+    private static <R> CheckedSupplier<R> delayed() {
+        return () -> {
+            Thread.sleep(DELAY);
+            return null;
+        };
+    }
+
+    @Test
+    public void parallelTest() throws Exception {
+        StageGraph<String> stages = new StageGraph<>();
+        stages.add("security", delayed());
+        // Like storage, dependencies & the Discord connection
+        stages.add("storage", delayed(), "security");
+        stages.add("dependencies", delayed(), "security");
+        stages.add("connection", delayed(), "security");
+        stages.add("commands", delayed(), "storage", "connection");
+
+        long startTime = System.currentTimeMillis();
+        assertNull(stages.run(EXECUTOR).get());
+        long time = System.currentTimeMillis() - startTime;
+
+        // 5 stages in sequence would take 5 * DELAY, only 3 are on the longest path
+        assertTrue(time >= DELAY * 3, "Took " + time + "ms");
+        assertTrue(time < DELAY * 5, "Took " + time + "ms");
+
+        Map<String, Long> timings = stages.timings();
+        assertEquals(6, timings.size());
+        assertTrue(timings.get("storage") >= DELAY);
+    }
+
+    @Test
+    public void stopTest() throws Exception {
+        AtomicBoolean ran = new AtomicBoolean(false);
+
+        StageGraph<String> stages = new StageGraph<>();
+        stages.add("first", () -> "stopped");
+        stages.add("independent", delayed());
+        stages.add("dependent", () -> {
+            ran.set(true);
+            return null;
+        }, "first");
+
+        assertEquals("stopped", stages.run(EXECUTOR).get());
+        assertFalse(ran.get());
+        assertFalse(stages.timings().containsKey("dependent"));
+        assertTrue(stages.timings().containsKey("independent"));
+    }
+
+    @Test
+    public void exceptionTest() {
+        StageGraph<String> stages = new StageGraph<>();
+        stages.add("failing", () -> {
+            throw new IllegalStateException("Failed");
+        });
+        stages.add("dependent", delayed(), "failing");
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> stages.run(EXECUTOR).get());
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    public void missingDependencyTest() throws Exception {
+        StageGraph<String> stages = new StageGraph<>();
+        stages.add("stage", () -> "ran", "missing");
+
+        assertEquals("ran", stages.run(EXECUTOR).get());
+    }
+}
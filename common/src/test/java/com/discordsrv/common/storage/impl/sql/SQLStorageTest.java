@@ -0,0 +1,121 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.storage.impl.sql;
+
+import com.discordsrv.common.MockDiscordSRV;
+import com.discordsrv.common.exception.StorageException;
+import com.discordsrv.common.storage.impl.sql.file.H2ConnectionPool;
+import com.discordsrv.common.storage.impl.sql.file.H2Storage;
+import org.junit.jupiter.api.Test;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SQLStorageTest {
+
+    private static final UUID PLAYER_1 = UUID.randomUUID();
+    private static final UUID PLAYER_2 = UUID.randomUUID();
+
+    private static String url() {
+        return "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private static H2Storage storage(String url, SchemaMigration... extraMigrations) {
+        return new H2Storage(MockDiscordSRV.INSTANCE) {
+            @Override
+            protected H2ConnectionPool createConnectionPool() {
+                return new H2ConnectionPool(1, () -> DriverManager.getConnection(url));
+            }
+
+            @Override
+            protected List<SchemaMigration> migrations() {
+                List<SchemaMigration> migrations = new ArrayList<>(super.migrations());
+                for (SchemaMigration migration : extraMigrations) {
+                    migrations.add(migration);
+                }
+                return migrations;
+            }
+        };
+    }
+
+    /**
+     * Creates the tables as they were before any migrations, with duplicate links.
+     */
+    private static void createDuplicateLinks(String url) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url)) {
+            storage(url).createTables(connection, "");
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("insert into " + SQLStorage.LINKED_ACCOUNTS_TABLE_NAME + " (PLAYER_UUID, USER_ID) values "
+                                                + "('" + PLAYER_1 + "', 1), ('" + PLAYER_1 + "', 2), ('" + PLAYER_2 + "', 2)");
+            }
+        }
+    }
+
+    private static int count(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url)) {
+            try (Statement statement = connection.createStatement()) {
+                try (ResultSet resultSet = statement.executeQuery(sql)) {
+                    assertTrue(resultSet.next());
+                    return resultSet.getInt(1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void duplicateLinksTest() throws SQLException {
+        String url = url();
+        createDuplicateLinks(url);
+
+        H2Storage storage = storage(url);
+        storage.initialize();
+        try {
+            // The most recent link is kept for each player and user
+            assertNull(storage.getUserId(PLAYER_1));
+            assertEquals(2L, storage.getUserId(PLAYER_2));
+            assertEquals(1, count(url, "select count(*) from " + SQLStorage.LINKED_ACCOUNTS_TABLE_NAME));
+        } finally {
+            storage.close();
+        }
+    }
+
+    @Test
+    public void failedMigrationIsRolledBackTest() throws SQLException {
+        String url = url();
+        createDuplicateLinks(url);
+
+        H2Storage storage = storage(url, (connection, tablePrefix) -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("delete from " + tablePrefix + SQLStorage.LINKED_ACCOUNTS_TABLE_NAME);
+            }
+            throw new SQLException("Migration failed");
+        });
+        assertThrows(StorageException.class, storage::initialize);
+        storage.close();
+
+        // The earlier migrations were committed, the failed one is not recorded and its changes are gone
+        int migrations = storage(url).migrations().size();
+        assertEquals(migrations, count(url, "select max(VERSION) from " + SQLStorage.SCHEMA_VERSION_TABLE_NAME));
+        assertEquals(1, count(url, "select count(*) from " + SQLStorage.LINKED_ACCOUNTS_TABLE_NAME));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.storage.impl.sql.file;
+
+import com.discordsrv.common.exception.StorageException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class H2ConnectionPoolTest {
+
+    private static Connection connection() {
+        return (Connection) Proxy.newProxyInstance(
+                H2ConnectionPoolTest.class.getClassLoader(),
+                new Class[] {Connection.class},
+                (proxy, method, args) -> null
+        );
+    }
+
+    @Test
+    public void acquireTimeoutTest() {
+        H2ConnectionPool pool = new H2ConnectionPool(1, Duration.ofMillis(100), H2ConnectionPoolTest::connection);
+        Connection connection = pool.acquire();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(StorageException.class, pool::acquire));
+
+        pool.release(connection);
+        assertSame(connection, pool.acquire());
+    }
+
+    @Test
+    public void acquireAfterCloseTest() {
+        H2ConnectionPool pool = new H2ConnectionPool(2, H2ConnectionPoolTest::connection);
+        Connection connection = pool.acquire();
+        pool.close();
+        pool.release(connection);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(StorageException.class, pool::acquire));
+    }
+}
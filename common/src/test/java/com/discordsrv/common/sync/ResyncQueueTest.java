@@ -0,0 +1,150 @@
+/*
+ * This file is part of DiscordSRV, licensed under the GPLv3 License
+ * Copyright (c) 2016-2024 Austin "Scarsz" Shapiro, Henri "Vankka" Schubin and DiscordSRV contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.discordsrv.common.sync;
+
+import com.discordsrv.common.MockDiscordSRV;
+import com.discordsrv.common.logging.backend.impl.JavaLoggerImpl;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResyncQueueTest {
+
+    @Test
+    public void deduplicateTest() throws InterruptedException {
+        Map<UUID, Set<String>> resynced = Collections.synchronizedMap(new HashMap<>());
+        CountDownLatch latch = new CountDownLatch(2);
+        ResyncQueue<String> queue = new ResyncQueue<>(MockDiscordSRV.INSTANCE, JavaLoggerImpl.getRoot(), playerUUID -> true, (playerUUID, configs) -> {
+            assertNull(resynced.put(playerUUID, new HashSet<>(configs)));
+            latch.countDown();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        UUID one = UUID.randomUUID();
+        UUID two = UUID.randomUUID();
+        // The second player is due halfway through, leaving time to queue another config for them
+        queue.enqueue(Arrays.asList(two, one), "first", Duration.ofMillis(1000));
+        queue.enqueue(Collections.singletonList(one), "second", Duration.ofMillis(1000));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(0, queue.depth());
+        assertEquals(new HashSet<>(Arrays.asList("first", "second")), resynced.get(one));
+        assertEquals(Collections.singleton("first"), resynced.get(two));
+    }
+
+    @Test
+    public void inFlightLimitTest() throws InterruptedException {
+        AtomicInteger started = new AtomicInteger();
+        CompletableFuture<Void> blocker = new CompletableFuture<>();
+        ResyncQueue<String> queue = new ResyncQueue<>(MockDiscordSRV.INSTANCE, JavaLoggerImpl.getRoot(), playerUUID -> true, (playerUUID, configs) -> {
+            started.incrementAndGet();
+            return blocker;
+        });
+
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            players.add(UUID.randomUUID());
+        }
+        queue.enqueue(players, "config", Duration.ZERO);
+
+        // Resyncs that don't complete hold up the rest of the queue
+        Thread.sleep(500);
+        assertEquals(2, started.get());
+        assertEquals(3, queue.depth());
+
+        blocker.complete(null);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (queue.depth() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, queue.depth());
+    }
+
+    @Test
+    public void removedHeadTest() throws InterruptedException {
+        Map<UUID, Long> resynced = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(2);
+        ResyncQueue<String> queue = new ResyncQueue<>(MockDiscordSRV.INSTANCE, JavaLoggerImpl.getRoot(), playerUUID -> true, (playerUUID, configs) -> {
+            resynced.put(playerUUID, System.currentTimeMillis());
+            latch.countDown();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        UUID one = UUID.randomUUID();
+        UUID two = UUID.randomUUID();
+        UUID three = UUID.randomUUID();
+        long start = System.currentTimeMillis();
+        queue.enqueue(Arrays.asList(one, two, three), "config", Duration.ofMillis(1200));
+
+        // The drain scheduled for the second player must not run the third player early
+        Thread.sleep(100);
+        queue.remove(two);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertFalse(resynced.containsKey(two));
+        assertTrue(resynced.get(three) - start >= 750, "Resynced before due");
+    }
+
+    @Test
+    public void earlierEntryTest() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        UUID early = UUID.randomUUID();
+        ResyncQueue<String> queue = new ResyncQueue<>(MockDiscordSRV.INSTANCE, JavaLoggerImpl.getRoot(), playerUUID -> true, (playerUUID, configs) -> {
+            if (playerUUID.equals(early)) {
+                latch.countDown();
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+
+        // The first player is resynced right away, leaving a drain pending for the second
+        queue.enqueue(Arrays.asList(UUID.randomUUID(), UUID.randomUUID()), "config", Duration.ofMillis(10000));
+        Thread.sleep(100);
+
+        queue.enqueue(Collections.singletonList(early), "config", Duration.ZERO);
+        assertTrue(latch.await(1, TimeUnit.SECONDS), "Earlier entry waited for the pending drain");
+        queue.clear();
+    }
+
+    @Test
+    public void offlineTest() throws InterruptedException {
+        UUID online = UUID.randomUUID();
+        UUID offline = UUID.randomUUID();
+        Set<UUID> resynced = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(1);
+        ResyncQueue<String> queue = new ResyncQueue<>(MockDiscordSRV.INSTANCE, JavaLoggerImpl.getRoot(), online::equals, (playerUUID, configs) -> {
+            resynced.add(playerUUID);
+            latch.countDown();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        queue.enqueue(Arrays.asList(offline, online), "config", Duration.ofMillis(200));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(Collections.singleton(online), resynced);
+        assertEquals(0, queue.depth());
+    }
+}